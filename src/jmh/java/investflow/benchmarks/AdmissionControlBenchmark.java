@@ -0,0 +1,146 @@
+package investflow.benchmarks;
+
+import investflow.admission.AdaptiveConcurrencyLimiter;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load at {@code loadFactor} times capacity against a simulated database: it has
+ * {@link #DATABASE_CORES} cores shared by every running query, so a query takes
+ * {@link #SERVICE_TIME} alone and proportionally longer once queries outnumber cores, the way a
+ * connection pool in front of a saturated database behaves. Clients give up after
+ * {@link #CLIENT_DEADLINE}. Each invocation offers load for {@link #LOAD_DURATION} and reports
+ * {@code p99Millis} of the calls that were served, {@code goodputPerSecond} of calls served
+ * within the deadline, and {@code shedPerSecond}. Without admission control latency grows
+ * without bound at 3x and goodput collapses; with the adaptive limiter the excess is shed, p99
+ * stays within a few service times and goodput stays near capacity.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class AdmissionControlBenchmark {
+
+    static final int DATABASE_CORES = 4;
+
+    static final Duration SERVICE_TIME = Duration.ofMillis(10);
+
+    static final Duration CLIENT_DEADLINE = Duration.ofMillis(250);
+
+    static final Duration LOAD_DURATION = Duration.ofSeconds(2);
+
+    @Param({"none", "adaptive"})
+    public String admission;
+
+    @Param({"1", "3"})
+    public int loadFactor;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+
+        public long p99Millis;
+
+        public long goodputPerSecond;
+
+        public long shedPerSecond;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            p99Millis = 0;
+            goodputPerSecond = 0;
+            shedPerSecond = 0;
+        }
+    }
+
+    @Benchmark
+    public void offerLoad(Outcome outcome) throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = admission.equals("adaptive")
+                ? new AdaptiveConcurrencyLimiter(10, 1, 100, 2.0, 0.9)
+                : null;
+        SimulatedDatabase database = new SimulatedDatabase();
+
+        long intervalNanos = SERVICE_TIME.toNanos() / (DATABASE_CORES * loadFactor);
+        int requests = (int) (LOAD_DURATION.toNanos() / intervalNanos);
+        AtomicLongArray latencies = new AtomicLongArray(requests);
+        AtomicInteger shed = new AtomicInteger();
+
+        ExecutorService clients = Executors.newCachedThreadPool();
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            long arrival = start + i * intervalNanos;
+            parkUntil(arrival);
+            int request = i;
+            clients.execute(() -> {
+                if (limiter != null && !limiter.tryAcquire()) {
+                    shed.incrementAndGet();
+                    latencies.set(request, -1);
+                    return;
+                }
+                long admitted = System.nanoTime();
+                database.query();
+                long finished = System.nanoTime();
+                if (limiter != null) {
+                    limiter.onSuccess(finished - admitted);
+                }
+                latencies.set(request, finished - arrival);
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(5, TimeUnit.MINUTES);
+
+        long[] served = new long[requests];
+        int count = 0;
+        long good = 0;
+        for (int i = 0; i < requests; i++) {
+            long latency = latencies.get(i);
+            if (latency >= 0) {
+                served[count++] = latency;
+                if (latency <= CLIENT_DEADLINE.toNanos()) {
+                    good++;
+                }
+            }
+        }
+        Arrays.sort(served, 0, count);
+        long seconds = LOAD_DURATION.toSeconds();
+        outcome.p99Millis = count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(served[(int) (count * 0.99)]);
+        outcome.goodputPerSecond = good / seconds;
+        outcome.shedPerSecond = shed.get() / seconds;
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Processor sharing over {@link #DATABASE_CORES}: a query's duration is fixed when it starts,
+     * from the number of queries running at that moment.
+     */
+    private static final class SimulatedDatabase {
+
+        private final AtomicInteger running = new AtomicInteger();
+
+        void query() {
+            int concurrent = running.incrementAndGet();
+            try {
+                long duration = SERVICE_TIME.toNanos() * Math.max(concurrent, DATABASE_CORES) / DATABASE_CORES;
+                parkUntil(System.nanoTime() + duration);
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package investflow.benchmarks;
+
+import investflow.exceptions.AdmissionRejectedException;
+import investflow.services.PortfolioService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link AdmissionControlBenchmark}'s open-loop load, offered to the real {@link PortfolioService}
+ * instead of a simulated database: every call is a {@code findTableStamp} aggregate over
+ * {@link #SEEDED_PORTFOLIOS} rows in H2, through the admission aspect, the transaction and a
+ * {@link #POOL_SIZE}-connection pool whose waits time out after {@link #CLIENT_DEADLINE}. Capacity
+ * is measured closed-loop before the trial. Reports the same {@code p99Millis},
+ * {@code goodputPerSecond} and {@code shedPerSecond}, plus {@code timedOutPerSecond} for calls
+ * that gave up waiting for a connection.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class AdmissionControlServiceBenchmark {
+
+    static final int SEEDED_PORTFOLIOS = 50_000;
+
+    static final int POOL_SIZE = 4;
+
+    static final Duration CLIENT_DEADLINE = Duration.ofMillis(250);
+
+    static final Duration LOAD_DURATION = Duration.ofSeconds(2);
+
+    static final Duration CALIBRATION = Duration.ofSeconds(1);
+
+    @Param({"none", "adaptive"})
+    public String admission;
+
+    @Param({"1", "3"})
+    public int loadFactor;
+
+    private ConfigurableApplicationContext context;
+
+    private PortfolioService portfolioService;
+
+    private long capacityPerSecond;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+
+        public long p99Millis;
+
+        public long goodputPerSecond;
+
+        public long shedPerSecond;
+
+        public long timedOutPerSecond;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            p99Millis = 0;
+            goodputPerSecond = 0;
+            shedPerSecond = 0;
+            timedOutPerSecond = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = BenchmarkContexts.start("admission-benchmark",
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "spring.datasource.hikari.connection-timeout=" + CLIENT_DEADLINE.toMillis(),
+                "investflow.admission.enabled=" + admission.equals("adaptive"),
+                "investflow.admission.initial-limit=" + POOL_SIZE,
+                "investflow.admission.min-limit=1",
+                "investflow.admission.max-limit=" + POOL_SIZE);
+        portfolioService = context.getBean(PortfolioService.class);
+        BenchmarkContexts.seed(portfolioService, "Admission", SEEDED_PORTFOLIOS);
+        capacityPerSecond = measureCapacity();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void offerLoad(Outcome outcome) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / (capacityPerSecond * loadFactor);
+        int requests = (int) (LOAD_DURATION.toNanos() / intervalNanos);
+        AtomicLongArray latencies = new AtomicLongArray(requests);
+        AtomicInteger shed = new AtomicInteger();
+        AtomicInteger timedOut = new AtomicInteger();
+
+        ExecutorService clients = Executors.newCachedThreadPool();
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            long arrival = start + i * intervalNanos;
+            parkUntil(arrival);
+            int request = i;
+            clients.execute(() -> {
+                try {
+                    portfolioService.findTableStamp();
+                    latencies.set(request, System.nanoTime() - arrival);
+                } catch (AdmissionRejectedException e) {
+                    shed.incrementAndGet();
+                    latencies.set(request, -1);
+                } catch (RuntimeException e) {
+                    timedOut.incrementAndGet();
+                    latencies.set(request, -1);
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(5, TimeUnit.MINUTES);
+
+        long[] served = new long[requests];
+        int count = 0;
+        long good = 0;
+        for (int i = 0; i < requests; i++) {
+            long latency = latencies.get(i);
+            if (latency >= 0) {
+                served[count++] = latency;
+                if (latency <= CLIENT_DEADLINE.toNanos()) {
+                    good++;
+                }
+            }
+        }
+        Arrays.sort(served, 0, count);
+        long seconds = LOAD_DURATION.toSeconds();
+        outcome.p99Millis = count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(served[(int) (count * 0.99)]);
+        outcome.goodputPerSecond = good / seconds;
+        outcome.shedPerSecond = shed.get() / seconds;
+        outcome.timedOutPerSecond = timedOut.get() / seconds;
+    }
+
+    /**
+     * Calls per second with {@link #POOL_SIZE} callers back to back, i.e. without queueing.
+     */
+    private long measureCapacity() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        long deadline = System.nanoTime() + CALIBRATION.toNanos();
+        ExecutorService callers = Executors.newFixedThreadPool(POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            callers.execute(() -> {
+                while (System.nanoTime() - deadline < 0) {
+                    portfolioService.findTableStamp();
+                    calls.incrementAndGet();
+                }
+            });
+        }
+        callers.shutdown();
+        callers.awaitTermination(1, TimeUnit.MINUTES);
+        return Math.max(1, calls.get() / CALIBRATION.toSeconds());
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package investflow.benchmarks;
+
+import investflow.Application;
+import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.ResponseBatchItemDTO;
+import investflow.services.PortfolioService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application against an in-memory H2 database in MySQL mode, so benchmarks run
+ * without Docker.
+ */
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {}
+
+    static ConfigurableApplicationContext start(String databaseName, String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN"
+        ));
+        properties.addAll(List.of(extraProperties));
+
+        return new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties.toArray(String[]::new))
+                .run();
+    }
+
+    /**
+     * Creates {@code count} portfolios and returns their ids.
+     */
+    static int[] seed(PortfolioService portfolioService, String namePrefix, int count) {
+        int[] ids = new int[count];
+        int created = 0;
+
+        while (created < count) {
+            int chunk = Math.min(1_000, count - created);
+            List<CreatePortfolioDTO> batch = new ArrayList<>(chunk);
+            for (int i = 0; i < chunk; i++) {
+                int n = created + i;
+                batch.add(new CreatePortfolioDTO(namePrefix + " " + n, 100.0 + n % 900, 12 + n % 348));
+            }
+            for (ResponseBatchItemDTO item : portfolioService.saveAll(batch).items()) {
+                ids[created++] = item.portfolio().id();
+            }
+        }
+        return ids;
+    }
+}
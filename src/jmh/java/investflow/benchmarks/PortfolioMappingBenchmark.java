@@ -0,0 +1,61 @@
+package investflow.benchmarks;
+
+import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.mappers.PortfolioRequestMapper;
+import investflow.mappers.PortfolioResponseMapper;
+import investflow.mappers.PortfolioResponseMapperImpl;
+import investflow.models.Portfolio;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PortfolioMappingBenchmark {
+
+    private final PortfolioResponseMapper responseMapper = new PortfolioResponseMapperImpl();
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private CreatePortfolioDTO request;
+
+    private Portfolio entity;
+
+    private ResponsePortfolioDTO response;
+
+    @Setup
+    public void setUp() {
+        request = new CreatePortfolioDTO("Conservative Portfolio", 500.0, 12);
+        entity = Portfolio.builder()
+                .id(1)
+                .name(request.name())
+                .monthlyAmount(request.monthlyAmount())
+                .durationMonths(request.durationMonths())
+                .createdAt(LocalDate.of(2024, 1, 31))
+                .updatedAt(LocalDate.of(2024, 2, 1))
+                .build();
+        response = responseMapper.toDTO(entity);
+    }
+
+    @Benchmark
+    public Portfolio requestToEntity() {
+        return PortfolioRequestMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public ResponsePortfolioDTO entityToResponse() {
+        return responseMapper.toDTO(entity);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() {
+        return jsonMapper.writeValueAsBytes(response);
+    }
+}
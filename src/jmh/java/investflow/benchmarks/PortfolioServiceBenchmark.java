@@ -0,0 +1,147 @@
+package investflow.benchmarks;
+
+import investflow.config.CacheConfig;
+import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.dtos.ResponsePortfolioPageDTO;
+import investflow.mappers.PortfolioResponseMapper;
+import investflow.models.Portfolio;
+import investflow.repositories.PortfolioRepository;
+import investflow.services.PortfolioService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service and persistence hot paths. The {@code *EntityAndMapper} benchmarks reproduce the
+ * original read path (managed entity plus MapStruct mapping) next to the DTO projection queries
+ * that replaced it, so allocation per operation can be compared with {@code -prof gc}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PortfolioServiceBenchmark {
+
+    static final int SEEDED_PORTFOLIOS = 10_000;
+
+    static final int PAGE_SIZE = 50;
+
+    private final AtomicInteger createdNames = new AtomicInteger();
+
+    private ConfigurableApplicationContext context;
+
+    private PortfolioService portfolioService;
+
+    private PortfolioRepository portfolioRepository;
+
+    private PortfolioResponseMapper responseMapper;
+
+    private EntityManager entityManager;
+
+    private Cache portfolioCache;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private int[] ids;
+
+    @State(Scope.Thread)
+    public static class RandomId {
+
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        int next(int[] ids) {
+            return ids[random.nextInt(ids.length)];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("service-benchmark");
+        portfolioService = context.getBean(PortfolioService.class);
+        portfolioRepository = context.getBean(PortfolioRepository.class);
+        responseMapper = context.getBean(PortfolioResponseMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        portfolioCache = context.getBean(CacheManager.class).getCache(CacheConfig.PORTFOLIOS);
+
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        ids = BenchmarkContexts.seed(portfolioService, "Seeded", SEEDED_PORTFOLIOS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponsePortfolioDTO save() {
+        return portfolioService.save(new CreatePortfolioDTO("Benchmark " + createdNames.incrementAndGet(), 500.0, 12));
+    }
+
+    /**
+     * Served from the portfolio cache once warm; {@link #findByIdUncached} is the database path.
+     */
+    @Benchmark
+    public ResponsePortfolioDTO findByIdCached(RandomId randomId) {
+        return portfolioService.findById(randomId.next(ids));
+    }
+
+    @Benchmark
+    public ResponsePortfolioDTO findByIdUncached(RandomId randomId) {
+        int id = randomId.next(ids);
+        portfolioCache.evict(id);
+        return portfolioService.findById(id);
+    }
+
+    @Benchmark
+    public ResponsePortfolioDTO findByIdEntityAndMapper(RandomId randomId) {
+        int id = randomId.next(ids);
+        return readOnlyTransaction.execute(status ->
+                portfolioRepository.findById(id).map(responseMapper::toDTO).orElseThrow());
+    }
+
+    @Benchmark
+    public ResponsePortfolioDTO findByIdProjection(RandomId randomId) {
+        int id = randomId.next(ids);
+        return readOnlyTransaction.execute(status -> portfolioRepository.findDTOById(id).orElseThrow());
+    }
+
+    @Benchmark
+    public ResponsePortfolioPageDTO findAllPage() {
+        return portfolioService.findAll(null, PAGE_SIZE);
+    }
+
+    /**
+     * Limited like the projection below, so neither side pays for a count query.
+     */
+    @Benchmark
+    public List<ResponsePortfolioDTO> findAllPageEntityAndMapper() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("select p from Portfolio p where p.id > 0 order by p.id", Portfolio.class)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(responseMapper::toDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ResponsePortfolioDTO> findAllPageProjection() {
+        return readOnlyTransaction.execute(status ->
+                portfolioRepository.findDTOsByIdGreaterThan(0, Limit.of(PAGE_SIZE)));
+    }
+}
@@ -0,0 +1,83 @@
+package investflow.benchmarks;
+
+import investflow.dtos.PatchPortfolioDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.exceptions.PortfolioVersionConflictException;
+import investflow.repositories.PortfolioRepository;
+import investflow.services.PortfolioService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many writers patching a small set of hot rows through the optimistic-locking path. Each
+ * operation re-reads the current version and retries until its update wins, so throughput
+ * includes the cost of lost races and {@code conflicts} reports how many there were.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PortfolioUpdateContentionBenchmark {
+
+    @Param({"1", "8", "1000"})
+    public int hotRows;
+
+    private ConfigurableApplicationContext context;
+
+    private PortfolioService portfolioService;
+
+    private PortfolioRepository portfolioRepository;
+
+    private int[] ids;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Writer {
+
+        private final SplittableRandom random = new SplittableRandom();
+
+        public long conflicts;
+
+        int nextId(int[] ids) {
+            return ids[random.nextInt(ids.length)];
+        }
+
+        double nextAmount() {
+            return 100.0 + random.nextInt(10_000);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("contention-benchmark-" + hotRows);
+        portfolioService = context.getBean(PortfolioService.class);
+        portfolioRepository = context.getBean(PortfolioRepository.class);
+
+        ids = BenchmarkContexts.seed(portfolioService, "Hot", hotRows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponsePortfolioDTO patchWithRetry(Writer writer) {
+        int id = writer.nextId(ids);
+        while (true) {
+            long version = portfolioRepository.findDTOById(id).orElseThrow().version();
+            PatchPortfolioDTO changes = new PatchPortfolioDTO(null, writer.nextAmount(), null, version);
+            try {
+                return portfolioService.patch(id, changes);
+            } catch (PortfolioVersionConflictException e) {
+                writer.conflicts++;
+            }
+        }
+    }
+}
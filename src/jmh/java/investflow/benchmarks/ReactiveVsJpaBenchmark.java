@@ -0,0 +1,93 @@
+package investflow.benchmarks;
+
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.services.PortfolioService;
+import investflow.services.ReactivePortfolioService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares the JPA and R2DBC implementations on the same in-memory H2 database: a point lookup
+ * and a full scan of every portfolio.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReactiveVsJpaBenchmark {
+
+    static final int SEEDED_PORTFOLIOS = 10_000;
+
+    private ConfigurableApplicationContext context;
+
+    private PortfolioService jpaService;
+
+    private ReactivePortfolioService reactiveService;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private int[] ids;
+
+    @State(Scope.Thread)
+    public static class RandomId {
+
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        int next(int[] ids) {
+            return ids[random.nextInt(ids.length)];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start("reactive-benchmark",
+                "spring.profiles.active=reactive",
+                "investflow.r2dbc.url=r2dbc:h2:mem:///reactive-benchmark?options=DB_CLOSE_DELAY=-1",
+                "investflow.r2dbc.username=sa",
+                "investflow.r2dbc.password=");
+        jpaService = context.getBean(PortfolioService.class);
+        reactiveService = context.getBean(ReactivePortfolioService.class);
+
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        ids = BenchmarkContexts.seed(jpaService, "Seeded", SEEDED_PORTFOLIOS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponsePortfolioDTO jpaFindById(RandomId randomId) {
+        return jpaService.findById(randomId.next(ids));
+    }
+
+    @Benchmark
+    public ResponsePortfolioDTO reactiveFindById(RandomId randomId) {
+        return reactiveService.findById(randomId.next(ids)).block();
+    }
+
+    @Benchmark
+    public long jpaScanAll() {
+        return readOnlyTransaction.execute(status -> {
+            try (Stream<ResponsePortfolioDTO> portfolios = jpaService.streamAll()) {
+                return portfolios.count();
+            }
+        });
+    }
+
+    @Benchmark
+    public long reactiveScanAll() {
+        return reactiveService.findAll().count().block();
+    }
+}
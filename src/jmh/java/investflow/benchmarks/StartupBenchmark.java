@@ -0,0 +1,174 @@
+package investflow.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cold start of a fresh JVM, as a new pod sees it: time until the health endpoint answers, and
+ * latency of the first portfolio page once it does. {@code baseline} starts the jar as configured
+ * today; {@code faststartup} adds the AOT code, the CDS archive and the faststartup profile. Both
+ * launch the extracted jar from {@code target/faststartup} against the same H2 file database, so
+ * build with {@code -Pfaststartup} first.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"baseline", "faststartup"})
+    public String mode;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    private Path directory;
+
+    private String classpath;
+
+    private String databaseUrl;
+
+    private Process process;
+
+    private int port;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        directory = Path.of(System.getProperty("investflow.faststartup.dir", "target/faststartup")).toAbsolutePath();
+        Path jar;
+        try (Stream<Path> files = Files.list(directory)) {
+            jar = files.filter(file -> file.toString().endsWith(".jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No extracted jar in " + directory
+                            + "; build with -Pfaststartup"));
+        }
+        String h2 = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+                .filter(entry -> Path.of(entry).getFileName().toString().startsWith("h2-"))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("H2 is not on the benchmark classpath"));
+        // The CDS archive stays valid as long as the runtime classpath extends the one it was recorded with.
+        classpath = jar + File.pathSeparator + h2;
+
+        Path database = Files.createDirectories(Path.of("target", "startup-benchmark")).toAbsolutePath();
+        databaseUrl = "jdbc:h2:file:" + database.resolve("investflow") + ";MODE=MySQL";
+
+        // Create the schema once so the faststartup profile has something to validate.
+        process = launch(List.of(), List.of("--spring.jpa.hibernate.ddl-auto=create"));
+        awaitReady();
+        stop();
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            process = null;
+        }
+    }
+
+    @Benchmark
+    public int startup() throws Exception {
+        process = launchMode();
+        return awaitReady();
+    }
+
+    @State(Scope.Thread)
+    public static class Started {
+
+        @Setup(Level.Invocation)
+        public void start(StartupBenchmark benchmark) throws Exception {
+            benchmark.process = benchmark.launchMode();
+            benchmark.awaitReady();
+        }
+    }
+
+    @Benchmark
+    public int firstRequest(Started started) throws Exception {
+        return httpClient.send(request("/portfolios?size=20"), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+    }
+
+    private Process launchMode() throws IOException {
+        return "faststartup".equals(mode)
+                ? launch(List.of("-XX:SharedArchiveFile=" + directory.resolve("application.jsa"),
+                        "-Dspring.aot.enabled=true"), List.of("--spring.profiles.active=faststartup"))
+                : launch(List.of(), List.of());
+    }
+
+    private Process launch(List<String> jvmOptions, List<String> arguments) throws IOException {
+        port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmOptions);
+        command.addAll(List.of("-cp", classpath, "investflow.Application",
+                "--server.port=" + port,
+                "--spring.datasource.url=" + databaseUrl,
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--logging.level.root=WARN"));
+        command.addAll(arguments);
+
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(
+                        Path.of("target", "startup-benchmark", mode + ".log").toFile()))
+                .start();
+    }
+
+    private int awaitReady() throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue()
+                        + "; see target/startup-benchmark/" + mode + ".log");
+            }
+            try {
+                HttpResponse<Void> response = httpClient.send(request("/actuator/health"),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return response.statusCode();
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Application did not become healthy within " + STARTUP_TIMEOUT);
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package investflow.loadtest;
+
+import investflow.projections.PercentileSketch;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator against a running instance. Every client sends one request at
+ * a time for the given duration: 90% {@code GET /portfolios/{id}} over a seeded set of ids and
+ * 10% {@code POST /portfolios}. Prints throughput, p50/p99 latency and the count of 503 and other
+ * failed responses.
+ *
+ * <p>To compare platform and virtual threads, start the application once normally and once with
+ * {@code --spring.profiles.active=virtual} (Java 21+), then run against each:
+ * <pre>
+ * mvn -Pjmh test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=investflow.loadtest.PortfolioLoadTest \
+ *     -Dexec.args="http://localhost:8080 1000 60"
+ * </pre>
+ */
+public final class PortfolioLoadTest {
+
+    private static final int SEEDED_PORTFOLIOS = 500;
+
+    private PortfolioLoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 60);
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        int[] ids = seed(http, baseUrl);
+
+        Result result = run(http, baseUrl, ids, clients, duration);
+        System.out.printf("clients=%d duration=%ds requests=%d rps=%.0f p50=%.2fms p99=%.2fms rejected503=%d failed=%d%n",
+                clients, duration.toSeconds(), result.requests(), result.requests() / (double) duration.toSeconds(),
+                result.latencies().quantile(0.50) / 1_000.0, result.latencies().quantile(0.99) / 1_000.0,
+                result.rejected(), result.failed());
+    }
+
+    record Result(long requests, long rejected, long failed, PercentileSketch latencies) {}
+
+    static Result run(HttpClient http, String baseUrl, int[] ids, int clients, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong created = new AtomicLong(System.currentTimeMillis());
+        AtomicLong requests = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        List<PercentileSketch> sketches = new ArrayList<>(clients);
+        CountDownLatch done = new CountDownLatch(clients);
+
+        for (int client = 0; client < clients; client++) {
+            PercentileSketch sketch = new PercentileSketch();
+            sketches.add(sketch);
+            SplittableRandom random = new SplittableRandom(client);
+
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = random.nextInt(10) == 0
+                                ? createRequest(baseUrl, "Load " + created.incrementAndGet())
+                                : HttpRequest.newBuilder(URI.create(baseUrl + "/portfolios/" + ids[random.nextInt(ids.length)])).build();
+
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        sketch.add((System.nanoTime() - start) / 1_000.0);
+
+                        requests.incrementAndGet();
+                        if (status == 503) {
+                            rejected.incrementAndGet();
+                        } else if (status < 200 || status >= 300) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-client-" + client);
+            worker.start();
+        }
+        done.await();
+
+        PercentileSketch latencies = new PercentileSketch();
+        sketches.forEach(latencies::merge);
+        return new Result(requests.get(), rejected.get(), failed.get(), latencies);
+    }
+
+    private static int[] seed(HttpClient http, String baseUrl) throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        long suffix = System.currentTimeMillis();
+        for (int i = 0; i < SEEDED_PORTFOLIOS; i++) {
+            body.append(i == 0 ? "" : ",")
+                    .append("{\"name\":\"Seed ").append(suffix).append('-').append(i)
+                    .append("\",\"monthlyAmount\":500.0,\"durationMonths\":120}");
+        }
+        body.append(']');
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/portfolios/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        JsonNode items = JsonMapper.builder().build()
+                .readTree(http.send(request, HttpResponse.BodyHandlers.ofString()).body())
+                .get("items");
+
+        int[] ids = new int[items.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = items.get(i).get("portfolio").get("id").asInt();
+        }
+        return ids;
+    }
+
+    private static HttpRequest createRequest(String baseUrl, String name) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/portfolios"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"name\":\"" + name + "\",\"monthlyAmount\":250.0,\"durationMonths\":60}"))
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package investflow.admission;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit sized from observed latency, in the style of TCP Vegas with AIMD. The shortest
+ * round trip of the last {@link #BASELINE_WINDOW} calls or the window before is taken as the
+ * latency without queueing. While calls finish within {@code tolerance} times that baseline, the
+ * limit grows by one per limit's worth of calls, but only while the calls in flight actually use
+ * half of it. Each operation keeps its own baseline, so a cheap lookup is never held to the
+ * latency of a full-table aggregate, nor the other way round. When a call takes longer, or fails because the database ran out of connections or
+ * time, the limit is multiplied by {@code backoffRatio}, at most once per round trip. Calls over
+ * the limit are rejected at once instead of queueing for a connection.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    static final int BASELINE_WINDOW = 1_000;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double tolerance;
+
+    private final double backoffRatio;
+
+    private final LongSupplier nanoTime;
+
+    private double limit;
+
+    private int inFlight;
+
+    private long rejected;
+
+    private final Map<Object, RttBaseline> baselines = new HashMap<>();
+
+    private long nextDecreaseAt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, tolerance, backoffRatio, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double backoffRatio,
+                               LongSupplier nanoTime) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limit bounds: " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.nanoTime = nanoTime;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.nextDecreaseAt = nanoTime.getAsLong();
+    }
+
+    /**
+     * Takes a permit if fewer calls than the current limit are in flight. Every granted permit
+     * must be given back through exactly one of {@link #onSuccess}, {@link #onDropped} or
+     * {@link #onIgnored}.
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            rejected++;
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public synchronized void onSuccess(long rttNanos) {
+        onSuccess(this, rttNanos);
+    }
+
+    /**
+     * @param operation identifies the kind of call, whose latencies alone make its baseline
+     */
+    public synchronized void onSuccess(Object operation, long rttNanos) {
+        boolean saturated = inFlight * 2 >= limit;
+        inFlight--;
+
+        long baseline = baselines.computeIfAbsent(operation, key -> new RttBaseline()).sample(rttNanos);
+        if (rttNanos > baseline * tolerance) {
+            decrease(rttNanos);
+        } else if (saturated) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    /**
+     * The call failed because a resource ran out, which counts as a congestion signal.
+     */
+    public synchronized void onDropped(long rttNanos) {
+        inFlight--;
+        decrease(rttNanos);
+    }
+
+    /**
+     * The call failed for its own reasons; its latency says nothing about load.
+     */
+    public synchronized void onIgnored() {
+        inFlight--;
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized long rejected() {
+        return rejected;
+    }
+
+    private void decrease(long rttNanos) {
+        long now = nanoTime.getAsLong();
+        if (now - nextDecreaseAt >= 0) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+            nextDecreaseAt = now + rttNanos;
+        }
+    }
+
+    /**
+     * Shortest round trip of one operation over its current and previous window of samples.
+     */
+    private static final class RttBaseline {
+
+        private long windowMinRtt = Long.MAX_VALUE;
+
+        private long previousWindowMinRtt = Long.MAX_VALUE;
+
+        private int windowSamples;
+
+        long sample(long rttNanos) {
+            windowMinRtt = Math.min(windowMinRtt, rttNanos);
+            if (++windowSamples == BASELINE_WINDOW) {
+                previousWindowMinRtt = windowMinRtt;
+                windowMinRtt = Long.MAX_VALUE;
+                windowSamples = 0;
+            }
+            return Math.min(windowMinRtt, previousWindowMinRtt);
+        }
+    }
+}
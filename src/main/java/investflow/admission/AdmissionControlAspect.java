@@ -0,0 +1,61 @@
+package investflow.admission;
+
+import investflow.exceptions.AdmissionRejectedException;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Admits {@link AdmissionControlled} calls against their bulkhead's limiter. It runs inside the
+ * cache interceptor, so cache hits neither take a permit nor skew the latency baseline, and ahead
+ * of the transaction, so a rejected call never waits for a connection. Latency baselines are kept
+ * per service method. Connection-pool timeouts, query timeouts and lost connections feed back
+ * into the limiter as congestion.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class AdmissionControlAspect {
+
+    private final Map<Bulkhead, AdaptiveConcurrencyLimiter> limiters;
+
+    private final Duration retryAfter;
+
+    public AdmissionControlAspect(Map<Bulkhead, AdaptiveConcurrencyLimiter> limiters, Duration retryAfter) {
+        this.limiters = limiters;
+        this.retryAfter = retryAfter;
+    }
+
+    public AdaptiveConcurrencyLimiter limiter(Bulkhead bulkhead) {
+        return limiters.get(bulkhead);
+    }
+
+    @Around("@annotation(admission)")
+    public Object admit(ProceedingJoinPoint joinPoint, AdmissionControlled admission) throws Throwable {
+        AdaptiveConcurrencyLimiter limiter = limiters.get(admission.value());
+        if (!limiter.tryAcquire()) {
+            throw new AdmissionRejectedException(admission.value(), retryAfter);
+        }
+
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            limiter.onSuccess(((MethodSignature) joinPoint.getSignature()).getMethod(), System.nanoTime() - start);
+            return result;
+        } catch (CannotCreateTransactionException | QueryTimeoutException | TransientDataAccessResourceException e) {
+            limiter.onDropped(System.nanoTime() - start);
+            throw e;
+        } catch (Throwable e) {
+            limiter.onIgnored();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package investflow.admission;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method whose calls must be admitted by the {@link Bulkhead}'s adaptive
+ * concurrency limit when admission control is enabled.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AdmissionControlled {
+
+    Bulkhead value();
+}
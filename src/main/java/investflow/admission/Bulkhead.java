@@ -0,0 +1,10 @@
+package investflow.admission;
+
+/**
+ * Service calls are admitted against one concurrency limit per bulkhead, so a burst of writes
+ * holding row locks cannot starve reads, and the other way round.
+ */
+public enum Bulkhead {
+    READS,
+    WRITES
+}
@@ -0,0 +1,29 @@
+package investflow.analytics;
+
+/**
+ * Duration ranges used for the analytics breakdown. The names must match the labels produced by
+ * the {@code CASE} expression in {@code PortfolioRepository.DURATION_BUCKET}.
+ */
+public enum DurationBucket {
+
+    UP_TO_1_YEAR(12),
+    UP_TO_3_YEARS(36),
+    UP_TO_5_YEARS(60),
+    UP_TO_10_YEARS(120),
+    OVER_10_YEARS(Integer.MAX_VALUE);
+
+    private final int maxMonths;
+
+    DurationBucket(int maxMonths) {
+        this.maxMonths = maxMonths;
+    }
+
+    public static DurationBucket of(int durationMonths) {
+        for (DurationBucket bucket : values()) {
+            if (durationMonths <= bucket.maxMonths) {
+                return bucket;
+            }
+        }
+        return OVER_10_YEARS;
+    }
+}
@@ -0,0 +1,89 @@
+package investflow.analytics;
+
+import investflow.dtos.ResponseAnalyticsDTO;
+import investflow.dtos.ResponseDurationBucketDTO;
+import investflow.dtos.ResponsePortfolioTotalsDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals over all portfolios, overall and per {@link DurationBucket}. Updates go to
+ * striped adders so concurrent saves and deletes do not contend on a single field; a snapshot
+ * sums the stripes and is not atomic across counters while updates are in flight.
+ */
+public class PortfolioTotals {
+
+    private final Counters overall = new Counters();
+
+    private final Counters[] buckets = new Counters[DurationBucket.values().length];
+
+    public PortfolioTotals() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Counters();
+        }
+    }
+
+    public void add(double monthlyAmount, int durationMonths) {
+        update(1, monthlyAmount, durationMonths);
+    }
+
+    public void remove(double monthlyAmount, int durationMonths) {
+        update(-1, -monthlyAmount, durationMonths);
+    }
+
+    /**
+     * Starts from the given totals, typically recomputed by the database. Totals are replaced by
+     * swapping in a new instance rather than resetting counters in place, which concurrent
+     * updates could interleave with.
+     */
+    public static PortfolioTotals of(ResponseAnalyticsDTO analytics) {
+        PortfolioTotals totals = new PortfolioTotals();
+        totals.overall.add(analytics.totals().count(), analytics.totals().totalMonthlyAmount(),
+                analytics.totals().totalCommittedCapital());
+        for (ResponseDurationBucketDTO bucket : analytics.durations()) {
+            totals.buckets[DurationBucket.valueOf(bucket.bucket()).ordinal()]
+                    .add(bucket.count(), bucket.totalMonthlyAmount(), bucket.totalCommittedCapital());
+        }
+        return totals;
+    }
+
+    public ResponseAnalyticsDTO snapshot() {
+        List<ResponseDurationBucketDTO> durations = new ArrayList<>(buckets.length);
+        for (DurationBucket bucket : DurationBucket.values()) {
+            Counters counters = buckets[bucket.ordinal()];
+            long count = counters.count.sum();
+            if (count > 0) {
+                durations.add(new ResponseDurationBucketDTO(bucket.name(), count,
+                        counters.monthlyAmount.sum(), counters.committedCapital.sum()));
+            }
+        }
+
+        ResponsePortfolioTotalsDTO totals = new ResponsePortfolioTotalsDTO(overall.count.sum(),
+                overall.monthlyAmount.sum(), overall.committedCapital.sum());
+        return new ResponseAnalyticsDTO(totals, durations);
+    }
+
+    private void update(int count, double monthlyAmount, int durationMonths) {
+        double committedCapital = monthlyAmount * durationMonths;
+        overall.add(count, monthlyAmount, committedCapital);
+        buckets[DurationBucket.of(durationMonths).ordinal()].add(count, monthlyAmount, committedCapital);
+    }
+
+    private static final class Counters {
+
+        private final LongAdder count = new LongAdder();
+
+        private final DoubleAdder monthlyAmount = new DoubleAdder();
+
+        private final DoubleAdder committedCapital = new DoubleAdder();
+
+        void add(long count, double monthlyAmount, double committedCapital) {
+            this.count.add(count);
+            this.monthlyAmount.add(monthlyAmount);
+            this.committedCapital.add(committedCapital);
+        }
+    }
+}
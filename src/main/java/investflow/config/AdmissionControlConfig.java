@@ -0,0 +1,82 @@
+package investflow.config;
+
+import investflow.admission.AdaptiveConcurrencyLimiter;
+import investflow.admission.AdmissionControlAspect;
+import investflow.admission.Bulkhead;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.interceptor.BeanFactoryCacheOperationSourceAdvisor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Sheds excess load on {@code PortfolioService} when {@code investflow.admission.enabled} is set,
+ * as it is in the {@code admission} profile. Rejected calls surface as 503 with Retry-After, and
+ * each bulkhead's limit, calls in flight and rejections are exported as metrics.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "investflow.admission", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlConfig {
+
+    static final String LIMIT_METRIC_NAME = "portfolio.admission.limit";
+
+    static final String IN_FLIGHT_METRIC_NAME = "portfolio.admission.in.flight";
+
+    static final String REJECTED_METRIC_NAME = "portfolio.admission.rejected";
+
+    @Bean
+    public AdmissionControlAspect admissionControlAspect(AdmissionControlProperties properties) {
+        Map<Bulkhead, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(Bulkhead.class);
+        for (Bulkhead bulkhead : Bulkhead.values()) {
+            limiters.put(bulkhead, new AdaptiveConcurrencyLimiter(properties.initialLimit(), properties.minLimit(),
+                    properties.maxLimit(), properties.tolerance(), properties.backoffRatio()));
+        }
+        return new AdmissionControlAspect(limiters, properties.retryAfter());
+    }
+
+    /**
+     * Moves the cache interceptor outside the admission aspect, so cache hits neither take a
+     * permit nor drag the latency baseline down. Without admission control the default advice
+     * order is left alone.
+     */
+    @Bean
+    public static BeanPostProcessor cacheAdvisorOrderPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof BeanFactoryCacheOperationSourceAdvisor cacheAdvisor) {
+                    cacheAdvisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder admissionMetrics(AdmissionControlAspect admissionControlAspect) {
+        return registry -> {
+            for (Bulkhead bulkhead : Bulkhead.values()) {
+                AdaptiveConcurrencyLimiter limiter = admissionControlAspect.limiter(bulkhead);
+                String tag = bulkhead.name().toLowerCase();
+                Gauge.builder(LIMIT_METRIC_NAME, limiter, AdaptiveConcurrencyLimiter::limit)
+                        .tag("bulkhead", tag)
+                        .register(registry);
+                Gauge.builder(IN_FLIGHT_METRIC_NAME, limiter, AdaptiveConcurrencyLimiter::inFlight)
+                        .tag("bulkhead", tag)
+                        .register(registry);
+                FunctionCounter.builder(REJECTED_METRIC_NAME, limiter, AdaptiveConcurrencyLimiter::rejected)
+                        .tag("bulkhead", tag)
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package investflow.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Tuning shared by the read and write bulkheads; each gets its own limit within these bounds.
+ */
+@ConfigurationProperties(prefix = "investflow.admission")
+public record AdmissionControlProperties(
+        boolean enabled,
+        int initialLimit,
+        int minLimit,
+        int maxLimit,
+        double tolerance,
+        double backoffRatio,
+        Duration retryAfter
+) {
+    public AdmissionControlProperties {
+        if (minLimit <= 0) {
+            minLimit = 4;
+        }
+        if (maxLimit <= 0) {
+            maxLimit = 200;
+        }
+        if (initialLimit <= 0) {
+            initialLimit = 20;
+        }
+        if (tolerance <= 1.0) {
+            tolerance = 2.0;
+        }
+        if (backoffRatio <= 0.0 || backoffRatio >= 1.0) {
+            backoffRatio = 0.9;
+        }
+        if (retryAfter == null) {
+            retryAfter = Duration.ofSeconds(1);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package investflow.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(PortfolioCacheProperties.class)
+public class CacheConfig {
+
+    public static final String PORTFOLIOS = "portfolios";
+
+    /**
+     * Bounded, TTL-evicting cache of portfolios by id. Puts and evictions issued inside a
+     * transaction are deferred until it commits, so a rolled back write never reaches the cache.
+     * Stats are recorded so the actuator exposes hit, miss and eviction counts per cache.
+     */
+    @Bean
+    public CacheManager cacheManager(PortfolioCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(PORTFOLIOS);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.timeToLive())
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,36 @@
+package investflow.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's {@link DataSource} in a {@link ConnectionPermitDataSource} when
+ * {@code investflow.datasource.max-concurrent-connections} is set, as it is in the
+ * {@code virtual} profile.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "investflow.datasource", name = "max-concurrent-connections")
+@EnableConfigurationProperties(ConnectionPermitProperties.class)
+public class ConnectionPermitConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionPermitPostProcessor(ObjectProvider<ConnectionPermitProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionPermitDataSource)) {
+                    ConnectionPermitProperties permitProperties = properties.getObject();
+                    return new ConnectionPermitDataSource(dataSource,
+                            permitProperties.maxConcurrentConnections(), permitProperties.acquireTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package investflow.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "investflow.datasource")
+public record ConnectionPermitProperties(
+        int maxConcurrentConnections,
+        Duration acquireTimeout
+) {
+    public ConnectionPermitProperties {
+        if (acquireTimeout == null) {
+            acquireTimeout = Duration.ofSeconds(2);
+        }
+    }
+}
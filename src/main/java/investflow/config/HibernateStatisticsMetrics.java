@@ -0,0 +1,62 @@
+package investflow.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes Hibernate's session factory statistics. The meters only read Hibernate's own
+ * counters when scraped, so nothing is added to the request path beyond Hibernate's bookkeeping,
+ * which is enabled with {@code hibernate.generate_statistics} in the {@code statistics} profile.
+ * Without it no meters are bound.
+ */
+@Component
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public HibernateStatisticsMetrics(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+
+        counter(registry, "hibernate.sessions.open", statistics, Statistics::getSessionOpenCount);
+        counter(registry, "hibernate.transactions", statistics, Statistics::getTransactionCount);
+        counter(registry, "hibernate.optimistic.failures", statistics, Statistics::getOptimisticFailureCount);
+        counter(registry, "hibernate.flushes", statistics, Statistics::getFlushCount);
+        counter(registry, "hibernate.statements.prepared", statistics, Statistics::getPrepareStatementCount);
+        counter(registry, "hibernate.query.executions", statistics, Statistics::getQueryExecutionCount);
+
+        FunctionCounter.builder("hibernate.entities", statistics, Statistics::getEntityLoadCount)
+                .tag("operation", "load").register(registry);
+        FunctionCounter.builder("hibernate.entities", statistics, Statistics::getEntityInsertCount)
+                .tag("operation", "insert").register(registry);
+        FunctionCounter.builder("hibernate.entities", statistics, Statistics::getEntityUpdateCount)
+                .tag("operation", "update").register(registry);
+        FunctionCounter.builder("hibernate.entities", statistics, Statistics::getEntityDeleteCount)
+                .tag("operation", "delete").register(registry);
+
+        Gauge.builder("hibernate.query.executions.max", statistics, Statistics::getQueryExecutionMaxTime)
+                .baseUnit(TimeUnit.MILLISECONDS.name().toLowerCase())
+                .register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, String name, Statistics statistics,
+                                ToDoubleFunction<Statistics> count) {
+        FunctionCounter.builder(name, statistics, count).register(registry);
+    }
+}
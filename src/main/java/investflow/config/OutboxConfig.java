@@ -0,0 +1,30 @@
+package investflow.config;
+
+import investflow.outbox.FileOutboxSink;
+import investflow.outbox.InMemoryOutboxSink;
+import investflow.outbox.OutboxSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import tools.jackson.databind.json.JsonMapper;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    /**
+     * Built-in sinks selected by {@code investflow.outbox.sink}; defining another
+     * {@link OutboxSink} bean replaces them.
+     */
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink outboxSink(OutboxProperties properties, JsonMapper jsonMapper) {
+        return switch (properties.sink()) {
+            case MEMORY -> new InMemoryOutboxSink(properties.memoryCapacity());
+            case FILE -> new FileOutboxSink(properties.file(), jsonMapper);
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package investflow.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "investflow.outbox")
+public record OutboxProperties(
+        Sink sink,
+        Path file,
+        int memoryCapacity,
+        int batchSize,
+        Duration retention
+) {
+    public enum Sink {
+        MEMORY,
+        FILE
+    }
+
+    public OutboxProperties {
+        if (sink == null) {
+            sink = Sink.MEMORY;
+        }
+        if (file == null) {
+            file = Path.of("outbox", "portfolio-changes.ndjson");
+        }
+        if (memoryCapacity <= 0) {
+            memoryCapacity = 10_000;
+        }
+        if (batchSize <= 0) {
+            batchSize = 500;
+        }
+        if (retention == null) {
+            retention = Duration.ofDays(7);
+        }
+    }
+}
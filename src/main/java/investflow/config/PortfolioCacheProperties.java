@@ -0,0 +1,20 @@
+package investflow.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "investflow.cache.portfolios")
+public record PortfolioCacheProperties(
+        long maximumSize,
+        Duration timeToLive
+) {
+    public PortfolioCacheProperties {
+        if (maximumSize <= 0) {
+            maximumSize = 10_000;
+        }
+        if (timeToLive == null) {
+            timeToLive = Duration.ofMinutes(10);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package investflow.config;
+
+import investflow.dtos.ResponseImportReportDTO;
+import investflow.exceptions.PortfolioImportException;
+import investflow.services.PortfolioImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Imports {@code investflow.imports.file} instead of serving requests, then exits. A failed run
+ * logs the committed offset; passing it back as {@code investflow.imports.start-offset} resumes
+ * after the last committed chunk.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "investflow.imports", name = "file")
+@EnableConfigurationProperties(PortfolioImportProperties.class)
+public class PortfolioImportConfig {
+
+    @Bean
+    public ApplicationRunner portfolioImportRunner(PortfolioImportService importService,
+                                                   PortfolioImportProperties properties,
+                                                   ApplicationContext context) {
+        return args -> {
+            int exitCode = 0;
+            try {
+                ResponseImportReportDTO report = importService.importFile(
+                        properties.file(), properties.format(), properties.startOffset());
+                report.errors().forEach(error -> log.warn("Rejected: {}", error));
+            } catch (PortfolioImportException e) {
+                log.error("Rerun with investflow.imports.start-offset={} to resume", e.getCommittedOffset());
+                exitCode = 1;
+            }
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package investflow.config;
+
+import investflow.imports.ImportFormat;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@ConfigurationProperties(prefix = "investflow.imports")
+public record PortfolioImportProperties(
+        Path file,
+        ImportFormat format,
+        long startOffset
+) {
+    public PortfolioImportProperties {
+        if (format == null) {
+            format = ImportFormat.CSV;
+        }
+        if (startOffset < 0) {
+            startOffset = 0;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package investflow.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ProjectionSimulationProperties.class)
+public class ProjectionSimulationConfig {
+}
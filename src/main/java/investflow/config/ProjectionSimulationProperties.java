@@ -0,0 +1,14 @@
+package investflow.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "investflow.projections.simulation")
+public record ProjectionSimulationProperties(
+        int threads
+) {
+    public ProjectionSimulationProperties {
+        if (threads <= 0) {
+            threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package investflow.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ProjectionSnapshotProperties.class)
+public class ProjectionSnapshotConfig {
+}
@@ -0,0 +1,26 @@
+package investflow.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "investflow.projections.snapshots")
+public record ProjectionSnapshotProperties(
+        Double annualRate,
+        int threads,
+        int queueCapacity,
+        int rebuildChunkSize
+) {
+    public ProjectionSnapshotProperties {
+        if (annualRate == null) {
+            annualRate = 0.08;
+        }
+        if (threads <= 0) {
+            threads = 2;
+        }
+        if (queueCapacity <= 0) {
+            queueCapacity = 1_000;
+        }
+        if (rebuildChunkSize <= 0) {
+            rebuildChunkSize = 1_000;
+        }
+    }
+}
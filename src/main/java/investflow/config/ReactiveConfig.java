@@ -0,0 +1,49 @@
+package investflow.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * R2DBC wiring for the {@code reactive} profile. The reactive transaction manager is deliberately
+ * not a bean: a second {@code TransactionManager} would make {@code @Transactional} on the JPA
+ * services ambiguous, so reactive transactions go through {@link TransactionalOperator} instead.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(ReactiveProperties.class)
+public class ReactiveConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool reactiveConnectionFactory(ReactiveProperties properties) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.url()).mutate();
+        if (properties.username() != null) {
+            options.option(ConnectionFactoryOptions.USER, properties.username());
+        }
+        if (properties.password() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.password());
+        }
+
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                .maxSize(properties.maxPoolSize())
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(ConnectionPool reactiveConnectionFactory) {
+        return DatabaseClient.create(reactiveConnectionFactory);
+    }
+
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionPool reactiveConnectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(reactiveConnectionFactory));
+    }
+}
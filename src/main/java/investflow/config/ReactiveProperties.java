@@ -0,0 +1,17 @@
+package investflow.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "investflow.r2dbc")
+public record ReactiveProperties(
+        String url,
+        String username,
+        String password,
+        int maxPoolSize
+) {
+    public ReactiveProperties {
+        if (maxPoolSize <= 0) {
+            maxPoolSize = 20;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package investflow.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Read-only side of the routing: hands out replica connections unless the current caller has
+ * just written, in which case it reads from the primary until replication has had time to catch up.
+ */
+public class ReadOnlyRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+
+    private final ReadReplicaPool replicas;
+
+    private final ReadYourWrites readYourWrites;
+
+    public ReadOnlyRoutingDataSource(DataSource primary, ReadReplicaPool replicas, ReadYourWrites readYourWrites) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readYourWrites.isSticky()) {
+            return primary.getConnection();
+        }
+        return replicas.getConnection(primary);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+}
@@ -0,0 +1,79 @@
+package investflow.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to read replicas when {@code investflow.datasource.routing.enabled}
+ * is set, as it is in the {@code replicas} profile. The application's {@link DataSource} is wrapped
+ * in a {@link LazyConnectionDataSourceProxy}: the physical connection is only fetched at the first
+ * statement, after the transaction manager has marked it read-only, so
+ * {@code @Transactional(readOnly = true)} service methods read from a replica and everything else
+ * goes to the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "investflow.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadReplicaPool readReplicaPool(ReadReplicaProperties properties) {
+        List<DataSource> replicas = properties.replicas().stream()
+                .map(replica -> replicaDataSource(replica, properties))
+                .toList();
+        return new ReadReplicaPool(replicas, properties.unhealthyBackoff());
+    }
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReadReplicaProperties properties) {
+        return new ReadYourWrites(properties.readYourWritesWindow());
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadYourWrites readYourWrites, ReadReplicaProperties properties) {
+        return new ReadYourWritesFilter(readYourWrites, properties.readYourWritesWindow());
+    }
+
+    @Bean
+    public static BeanPostProcessor readReplicaRoutingPostProcessor(ObjectProvider<ReadReplicaPool> replicas,
+                                                                    ObjectProvider<ReadYourWrites> readYourWrites) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource primary && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                    LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+                    routing.setReadOnlyDataSource(
+                            new ReadOnlyRoutingDataSource(primary, replicas.getObject(), readYourWrites.getObject()));
+                    return routing;
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * A replica that is down should cost a read about {@code connectionTimeout} before the
+     * primary takes over, not Hikari's 30 second default.
+     */
+    private static DataSource replicaDataSource(ReadReplicaProperties.Replica replica,
+                                                ReadReplicaProperties properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(replica.url());
+        dataSource.setUsername(replica.username());
+        dataSource.setPassword(replica.password());
+        dataSource.setMaximumPoolSize(properties.maxPoolSize());
+        dataSource.setConnectionTimeout(properties.connectionTimeout().toMillis());
+        dataSource.setValidationTimeout(properties.connectionTimeout().toMillis());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
@@ -0,0 +1,112 @@
+package investflow.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Round-robin over the replica pools. A replica that fails to hand out a connection is skipped
+ * for {@code unhealthyBackoff} and the next one is tried; when none is available the read falls
+ * back to the primary, so a replica outage costs latency rather than failed requests.
+ * {@link #checkHealth()} probes every replica in the background, so an outage is usually noticed
+ * before a read runs into it and a recovered replica is used again without waiting out the backoff.
+ */
+@Slf4j
+public class ReadReplicaPool implements AutoCloseable {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 1;
+
+    private final List<Replica> replicas;
+
+    private final long unhealthyBackoffMillis;
+
+    private final Clock clock;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadReplicaPool(List<DataSource> replicas, Duration unhealthyBackoff) {
+        this(replicas, unhealthyBackoff, Clock.systemUTC());
+    }
+
+    ReadReplicaPool(List<DataSource> replicas, Duration unhealthyBackoff, Clock clock) {
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.unhealthyBackoffMillis = unhealthyBackoff.toMillis();
+        this.clock = clock;
+    }
+
+    public Connection getConnection(DataSource fallback) throws SQLException {
+        int size = replicas.size();
+        if (size > 0) {
+            long now = clock.millis();
+            int start = Math.floorMod(next.getAndIncrement(), size);
+            for (int offset = 0; offset < size; offset++) {
+                int index = (start + offset) % size;
+                Replica replica = replicas.get(index);
+                if (replica.downUntil > now) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    markDown(index, replica, now, e);
+                }
+            }
+        }
+        return fallback.getConnection();
+    }
+
+    @Scheduled(fixedDelayString = "${investflow.datasource.routing.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        for (int index = 0; index < replicas.size(); index++) {
+            Replica replica = replicas.get(index);
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    throw new SQLException("Connection failed validation");
+                }
+                if (replica.downUntil > clock.millis()) {
+                    log.info("Read replica {} is available again", index);
+                }
+                replica.downUntil = 0;
+            } catch (SQLException e) {
+                markDown(index, replica, clock.millis(), e);
+            }
+        }
+    }
+
+    public int availableReplicas() {
+        long now = clock.millis();
+        return (int) replicas.stream().filter(replica -> replica.downUntil <= now).count();
+    }
+
+    private void markDown(int index, Replica replica, long now, SQLException e) {
+        replica.downUntil = now + unhealthyBackoffMillis;
+        log.warn("Read replica {} is unavailable; skipping it for {} ms", index, unhealthyBackoffMillis, e);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+
+        private volatile long downUntil;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
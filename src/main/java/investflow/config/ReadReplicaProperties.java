@@ -0,0 +1,41 @@
+package investflow.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "investflow.datasource.routing")
+public record ReadReplicaProperties(
+        boolean enabled,
+        List<Replica> replicas,
+        int maxPoolSize,
+        Duration unhealthyBackoff,
+        Duration connectionTimeout,
+        Duration readYourWritesWindow
+) {
+    public ReadReplicaProperties {
+        if (replicas == null) {
+            replicas = List.of();
+        }
+        if (maxPoolSize <= 0) {
+            maxPoolSize = 10;
+        }
+        if (unhealthyBackoff == null) {
+            unhealthyBackoff = Duration.ofSeconds(30);
+        }
+        if (connectionTimeout == null) {
+            connectionTimeout = Duration.ofSeconds(1);
+        }
+        if (readYourWritesWindow == null) {
+            readYourWritesWindow = Duration.ofSeconds(5);
+        }
+    }
+
+    public record Replica(
+            String url,
+            String username,
+            String password
+    ) {
+    }
+}
@@ -0,0 +1,73 @@
+package investflow.config;
+
+import investflow.events.PortfolioDeletedEvent;
+import investflow.events.PortfolioSavedEvent;
+import investflow.events.PortfolioUpdatedEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.function.LongConsumer;
+
+/**
+ * Tracks, per caller, until when reads must stay on the primary. Committed portfolio writes open
+ * a window of {@code readYourWritesWindow}; a request scope (see {@link ReadYourWritesFilter})
+ * carries that window across requests from the same client. Writes made outside a scope, such as
+ * those of scheduled jobs on pooled threads, leave nothing behind on the thread.
+ */
+public class ReadYourWrites {
+
+    private final ThreadLocal<Scope> scope = new ThreadLocal<>();
+
+    private final long windowMillis;
+
+    private final Clock clock;
+
+    public ReadYourWrites(Duration window) {
+        this(window, Clock.systemUTC());
+    }
+
+    ReadYourWrites(Duration window, Clock clock) {
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Starts a scope on the current thread. A client-supplied deadline is capped at one window
+     * from now so a forged value cannot pin a client to the primary.
+     */
+    public void open(long stickyUntil, LongConsumer onWrite) {
+        scope.set(new Scope(Math.min(stickyUntil, clock.millis() + windowMillis), onWrite));
+    }
+
+    public void close() {
+        scope.remove();
+    }
+
+    public boolean isSticky() {
+        Scope current = scope.get();
+        return current != null && current.stickyUntil > clock.millis();
+    }
+
+    @TransactionalEventListener({PortfolioSavedEvent.class, PortfolioUpdatedEvent.class, PortfolioDeletedEvent.class})
+    public void onWrite() {
+        Scope current = scope.get();
+        if (current == null) {
+            return;
+        }
+        current.stickyUntil = clock.millis() + windowMillis;
+        current.onWrite.accept(current.stickyUntil);
+    }
+
+    private static final class Scope {
+
+        private long stickyUntil;
+
+        private final LongConsumer onWrite;
+
+        Scope(long stickyUntil, LongConsumer onWrite) {
+            this.stickyUntil = stickyUntil;
+            this.onWrite = onWrite;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package investflow.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Carries the read-your-writes window between requests in a short-lived cookie, so a client that
+ * saves a portfolio and lists portfolios right after reads its own write from the primary.
+ * Clients that drop cookies still get the window within a single request.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "investflow-primary-until";
+
+    private final ReadYourWrites readYourWrites;
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(ReadYourWrites readYourWrites, Duration window) {
+        this.readYourWrites = readYourWrites;
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        readYourWrites.open(stickyUntil(request), stickyUntil -> {
+            if (!response.isCommitted()) {
+                response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE_NAME, Long.toString(stickyUntil))
+                        .path("/")
+                        .maxAge(window)
+                        .httpOnly(true)
+                        .sameSite("Lax")
+                        .build()
+                        .toString());
+            }
+        });
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            readYourWrites.close();
+        }
+    }
+
+    private static long stickyUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+}
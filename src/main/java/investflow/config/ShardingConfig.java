@@ -0,0 +1,170 @@
+package investflow.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import investflow.repositories.PortfolioOutboxRepository;
+import investflow.repositories.PortfolioRepository;
+import investflow.services.PortfolioService;
+import investflow.services.impl.PortfolioServiceImpl;
+import investflow.services.impl.ShardedPortfolioService;
+import investflow.sharding.PortfolioIdGenerator;
+import investflow.sharding.PortfolioShardRouter;
+import investflow.sharding.ShardContext;
+import investflow.sharding.ShardOutboxForwarder;
+import investflow.sharding.ShardRebalancer;
+import investflow.sharding.ShardRoutingDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SchemaValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spreads portfolios over several databases when {@code investflow.sharding.enabled} is set, as it
+ * is in the {@code sharding} profile. The application's {@link DataSource} becomes shard 0 of a
+ * {@link ShardRoutingDataSource}, and a {@link ShardedPortfolioService} in front of
+ * {@link PortfolioServiceImpl} picks the shard for each call.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "investflow.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    static final int ID_BLOCK_POOL_SIZE = 2;
+
+    @Bean
+    public PortfolioShardRouter portfolioShardRouter(ShardingProperties properties) {
+        return new PortfolioShardRouter(properties.shardCount(), properties.bucketAssignments(),
+                properties.fanOutThreads());
+    }
+
+    /**
+     * Claims id blocks through a pool of its own on the home shard; it is not a bean, so the
+     * application's {@link DataSource} is unaffected. New buckets are seeded from the highest id
+     * on any shard, read on the fan-out threads.
+     */
+    @Bean
+    public PortfolioIdGenerator portfolioIdGenerator(Environment environment, PortfolioShardRouter router,
+                                                     ObjectProvider<PortfolioRepository> portfolioRepository) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("portfolio-id-blocks");
+        dataSource.setJdbcUrl(environment.getRequiredProperty("spring.datasource.url"));
+        dataSource.setUsername(environment.getProperty("spring.datasource.username"));
+        dataSource.setPassword(environment.getProperty("spring.datasource.password"));
+        dataSource.setMaximumPoolSize(ID_BLOCK_POOL_SIZE);
+        return new PortfolioIdGenerator(dataSource, () -> router.onEachShard(
+                        shard -> portfolioRepository.getObject().findMaxId()).stream()
+                .mapToInt(Integer::intValue)
+                .max()
+                .orElse(0));
+    }
+
+    @Bean
+    @Primary
+    public PortfolioService shardedPortfolioService(PortfolioServiceImpl portfolioService,
+                                                    PortfolioRepository portfolioRepository,
+                                                    PortfolioShardRouter router) {
+        return new ShardedPortfolioService(portfolioService, portfolioRepository, router);
+    }
+
+    @Bean
+    public ShardOutboxForwarder shardOutboxForwarder(PortfolioOutboxRepository outboxRepository,
+                                                     PortfolioShardRouter router,
+                                                     PlatformTransactionManager transactionManager,
+                                                     OutboxProperties outboxProperties) {
+        return new ShardOutboxForwarder(outboxRepository, router, transactionManager, outboxProperties.batchSize());
+    }
+
+    @Bean
+    public static BeanPostProcessor shardRoutingPostProcessor(ObjectProvider<ShardingProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource home && !(bean instanceof ShardRoutingDataSource)) {
+                    ShardingProperties shardingProperties = properties.getObject();
+                    List<DataSource> shards = new ArrayList<>();
+                    shards.add(home);
+                    shardingProperties.shards().forEach(
+                            shard -> shards.add(shardDataSource(shard, shardingProperties.maxPoolSize())));
+                    return new ShardRoutingDataSource(shards);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Schema management only reaches the home shard; this creates the tables on any other shard
+     * that does not have them yet.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "investflow.sharding", name = "initialize-schema", havingValue = "true")
+    public SmartInitializingSingleton shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                             DataSource dataSource) {
+        return () -> {
+            int shardCount = shardRouting(dataSource).shardCount();
+            for (int shard = ShardContext.HOME_SHARD + 1; shard < shardCount; shard++) {
+                int target = shard;
+                ShardContext.callOn(target, () -> {
+                    try {
+                        entityManagerFactory.getSchemaManager().validate();
+                    } catch (SchemaValidationException e) {
+                        log.info("Creating the schema on shard {}: {}", target, e.getMessage());
+                        entityManagerFactory.getSchemaManager().create(false);
+                    }
+                    return null;
+                });
+            }
+        };
+    }
+
+    /**
+     * Runs the {@link ShardRebalancer} instead of serving requests, then exits.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "investflow.sharding", name = "rebalance", havingValue = "true")
+    public ApplicationRunner shardRebalanceRunner(DataSource dataSource, PortfolioShardRouter router,
+                                                  ApplicationContext context) {
+        return args -> {
+            long moved = new ShardRebalancer(shardRouting(dataSource), router).rebalance();
+            log.info("Moved {} portfolios to their assigned shards", moved);
+            System.exit(SpringApplication.exit(context));
+        };
+    }
+
+    /**
+     * Other post-processors may have wrapped the routing data source since.
+     */
+    private static ShardRoutingDataSource shardRouting(DataSource dataSource) {
+        try {
+            return dataSource.unwrap(ShardRoutingDataSource.class);
+        } catch (SQLException e) {
+            throw new IllegalStateException("The application's DataSource is not sharded", e);
+        }
+    }
+
+    private static DataSource shardDataSource(ShardingProperties.Shard shard, int maxPoolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(shard.url());
+        dataSource.setUsername(shard.username());
+        dataSource.setPassword(shard.password());
+        dataSource.setMaximumPoolSize(maxPoolSize);
+        return dataSource;
+    }
+}
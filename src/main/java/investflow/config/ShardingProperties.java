@@ -0,0 +1,47 @@
+package investflow.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shard 0, the home shard, is {@code spring.datasource}; {@code shards} lists the others. Buckets
+ * go to {@code bucket % shardCount} unless {@code bucketAssignments} moves them elsewhere.
+ */
+@ConfigurationProperties(prefix = "investflow.sharding")
+public record ShardingProperties(
+        boolean enabled,
+        List<Shard> shards,
+        Map<Integer, Integer> bucketAssignments,
+        int maxPoolSize,
+        int fanOutThreads,
+        boolean initializeSchema,
+        boolean rebalance
+) {
+    public ShardingProperties {
+        if (shards == null) {
+            shards = List.of();
+        }
+        if (bucketAssignments == null) {
+            bucketAssignments = Map.of();
+        }
+        if (maxPoolSize <= 0) {
+            maxPoolSize = 10;
+        }
+        if (fanOutThreads <= 0) {
+            fanOutThreads = 4 * (shards.size() + 1);
+        }
+    }
+
+    public int shardCount() {
+        return shards.size() + 1;
+    }
+
+    public record Shard(
+            String url,
+            String username,
+            String password
+    ) {
+    }
+}
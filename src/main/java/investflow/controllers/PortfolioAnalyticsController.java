@@ -0,0 +1,24 @@
+package investflow.controllers;
+
+import investflow.dtos.ResponseAnalyticsDTO;
+import investflow.services.PortfolioAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/portfolios/analytics")
+@RequiredArgsConstructor
+public class PortfolioAnalyticsController {
+
+    private final PortfolioAnalyticsService analyticsService;
+
+    @GetMapping
+    public ResponseAnalyticsDTO summary(@RequestParam(defaultValue = "false") boolean fresh) {
+        return fresh ? analyticsService.computeFromDatabase() : analyticsService.summary();
+    }
+
+    @PostMapping("/resync")
+    public ResponseAnalyticsDTO resync() {
+        return analyticsService.resync();
+    }
+}
@@ -0,0 +1,20 @@
+package investflow.controllers;
+
+import investflow.dtos.ResponsePortfolioChangesDTO;
+import investflow.services.PortfolioChangeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/portfolios/changes")
+@RequiredArgsConstructor
+public class PortfolioChangesController {
+
+    private final PortfolioChangeService changeService;
+
+    @GetMapping
+    public ResponsePortfolioChangesDTO findChanges(@RequestParam(required = false) Long after,
+                                                   @RequestParam(defaultValue = "500") int limit) {
+        return changeService.findChanges(after, limit);
+    }
+}
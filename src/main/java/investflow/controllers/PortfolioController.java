@@ -0,0 +1,209 @@
+package investflow.controllers;
+
+import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.PatchPortfolioDTO;
+import investflow.dtos.PortfolioStampDTO;
+import investflow.dtos.ResponseBatchDTO;
+import investflow.dtos.ResponseBulkDeleteDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.dtos.ResponsePortfolioPageDTO;
+import investflow.dtos.ResponsePortfolioSearchDTO;
+import investflow.dtos.ResponseProjectionDTO;
+import investflow.dtos.ResponseProjectionRebuildDTO;
+import investflow.dtos.ResponseSimulationDTO;
+import investflow.dtos.SearchPortfolioDTO;
+import investflow.dtos.UpdatePortfolioDTO;
+import investflow.exports.ExportFormat;
+import investflow.search.PortfolioSortField;
+import investflow.services.PortfolioBulkDeleteService;
+import investflow.services.PortfolioExportService;
+import investflow.services.PortfolioService;
+import investflow.services.ProjectionService;
+import investflow.services.ProjectionSnapshotService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/portfolios")
+@RequiredArgsConstructor
+public class PortfolioController {
+
+    private final PortfolioService portfolioService;
+
+    private final ProjectionService projectionService;
+
+    private final PortfolioExportService exportService;
+
+    private final ProjectionSnapshotService snapshotService;
+
+    private final PortfolioBulkDeleteService bulkDeleteService;
+
+    @PostMapping
+    public ResponseEntity<ResponsePortfolioDTO> create(@Valid @RequestBody CreatePortfolioDTO dto) {
+        ResponsePortfolioDTO created = portfolioService.save(dto);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(created.id())
+                .toUri();
+
+        return ResponseEntity.created(location).body(created);
+    }
+
+    @PostMapping("/batch")
+    public ResponseBatchDTO createAll(@RequestBody List<@Valid CreatePortfolioDTO> dtos) {
+        return portfolioService.saveAll(dtos);
+    }
+
+    /**
+     * Conditional requests are checked against the row's version and {@code updatedAt}, read
+     * without loading the portfolio, and answered with 304 before anything is serialized.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ResponsePortfolioDTO> findById(@PathVariable Integer id, WebRequest request) {
+        if (PortfolioETags.isConditional(request)) {
+            PortfolioStampDTO stamp = portfolioService.findStampById(id);
+            if (request.checkNotModified(PortfolioETags.of(stamp.id(), stamp.version()),
+                    PortfolioETags.lastModified(stamp.updatedAt()))) {
+                return null;
+            }
+        }
+
+        ResponsePortfolioDTO portfolio = portfolioService.findById(id);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(PortfolioETags.of(portfolio.id(), portfolio.version()));
+        long lastModified = PortfolioETags.lastModified(portfolio.updatedAt());
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return response.body(portfolio);
+    }
+
+    /**
+     * Pages are validated against the ids and versions of their rows, read without loading the
+     * page; an unchanged one is answered with 304 before the page query runs.
+     */
+    @GetMapping
+    public ResponseEntity<ResponsePortfolioPageDTO> findAll(@RequestParam(required = false) Integer after,
+                                                            @RequestParam(defaultValue = "50") int size,
+                                                            WebRequest request) {
+        if (PortfolioETags.isConditional(request)
+                && request.checkNotModified(PortfolioETags.of(portfolioService.findPageStamp(after, size)))) {
+            return null;
+        }
+
+        ResponsePortfolioPageDTO page = portfolioService.findAll(after, size);
+        return ResponseEntity.ok().eTag(PortfolioETags.of(page.content(), page.nextCursor())).body(page);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ResponsePortfolioSearchDTO> search(SearchPortfolioDTO criteria,
+                                                             @RequestParam(defaultValue = "ID") PortfolioSortField sort,
+                                                             @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                             @RequestParam(required = false) String cursor,
+                                                             @RequestParam(defaultValue = "50") int size,
+                                                             WebRequest request) {
+        if (PortfolioETags.isConditional(request) && request.checkNotModified(PortfolioETags.of(
+                portfolioService.searchStamp(criteria, sort, direction, cursor, size)))) {
+            return null;
+        }
+
+        ResponsePortfolioSearchDTO page = portfolioService.search(criteria, sort, direction, cursor, size);
+        return ResponseEntity.ok().eTag(PortfolioETags.of(page.content(), page.nextCursor())).body(page);
+    }
+
+    /**
+     * The export is a full scan, so reading the table stamp up front to validate it adds little.
+     * The stamp is read in the snapshot the rows are streamed from, so the ETag always describes
+     * the body that follows it.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "NDJSON") ExportFormat format,
+                                                        WebRequest request) {
+        PortfolioExportService.Snapshot snapshot = exportService.openSnapshot();
+        try {
+            String eTag = PortfolioETags.of(snapshot.stamp());
+            if (PortfolioETags.isConditional(request) && request.checkNotModified(eTag)) {
+                snapshot.close();
+                return null;
+            }
+            StreamingResponseBody body = out -> {
+                try (snapshot) {
+                    snapshot.export(format, out);
+                }
+            };
+
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .contentType(MediaType.parseMediaType(format.contentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=portfolios." + format.fileExtension())
+                    .body(body);
+        } catch (RuntimeException e) {
+            snapshot.close();
+            throw e;
+        }
+    }
+
+    @PutMapping("/{id}")
+    public ResponsePortfolioDTO update(@PathVariable Integer id, @Valid @RequestBody UpdatePortfolioDTO dto) {
+        return portfolioService.update(id, dto);
+    }
+
+    @PatchMapping("/{id}")
+    public ResponsePortfolioDTO patch(@PathVariable Integer id, @Valid @RequestBody PatchPortfolioDTO dto) {
+        return portfolioService.patch(id, dto);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteById(@PathVariable Integer id) {
+        portfolioService.deleteById(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/batch/delete")
+    public ResponseBulkDeleteDTO deleteAll(@RequestBody List<Integer> ids) {
+        return bulkDeleteService.deleteAllById(ids);
+    }
+
+    @DeleteMapping
+    public ResponseBulkDeleteDTO deleteCreatedBefore(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdBefore) {
+        return bulkDeleteService.deleteCreatedBefore(createdBefore);
+    }
+
+    @GetMapping("/{id}/projection")
+    public ResponseProjectionDTO project(@PathVariable Integer id,
+                                         @RequestParam(required = false) Double annualRate,
+                                         @RequestParam(defaultValue = "false") boolean schedule) {
+        if (annualRate == null && !schedule) {
+            return snapshotService.findSnapshot(id);
+        }
+        return projectionService.project(id, annualRate != null ? annualRate : snapshotService.annualRate(), schedule);
+    }
+
+    @PostMapping("/projections/rebuild")
+    public ResponseProjectionRebuildDTO rebuildProjections(@RequestParam double annualRate) {
+        return snapshotService.rebuild(annualRate);
+    }
+
+    @GetMapping("/{id}/simulate")
+    public ResponseSimulationDTO simulate(@PathVariable Integer id,
+                                          @RequestParam double expectedReturn,
+                                          @RequestParam double volatility,
+                                          @RequestParam(defaultValue = "10000") int paths,
+                                          @RequestParam(required = false) Long seed) {
+        return projectionService.simulate(id, paths, expectedReturn, volatility, seed);
+    }
+}
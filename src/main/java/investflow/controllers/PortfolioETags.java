@@ -0,0 +1,77 @@
+package investflow.controllers;
+
+import investflow.dtos.PortfolioPageStampDTO;
+import investflow.dtos.PortfolioTableStampDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Validators for conditional portfolio requests. A row's version increments on every change, so
+ * {@code id-version} is a strong ETag for its representation.
+ */
+final class PortfolioETags {
+
+    private PortfolioETags() {}
+
+    static String of(Integer id, Long version) {
+        return id + "-" + version;
+    }
+
+    static String of(PortfolioTableStampDTO stamp) {
+        return "t" + stamp.count() + "-" + stamp.maxId() + "-" + stamp.idSum() + "-" + stamp.versionSum();
+    }
+
+    /**
+     * A page is fully described by the versions of the rows it holds and whether another page
+     * follows; the cursor is derived from its last row, which cannot change without its version
+     * changing. The same ETag therefore comes out of a page and of its
+     * {@link #of(PortfolioPageStampDTO) stamp}.
+     */
+    static String of(List<ResponsePortfolioDTO> content, Object nextCursor) {
+        return page(content.stream().map(portfolio -> of(portfolio.id(), portfolio.version())), nextCursor != null);
+    }
+
+    static String of(PortfolioPageStampDTO stamp) {
+        return page(stamp.content().stream().map(row -> of(row.id(), row.version())), stamp.more());
+    }
+
+    private static String page(Stream<String> rows, boolean more) {
+        StringBuilder validator = new StringBuilder();
+        rows.forEach(row -> validator.append(row).append(','));
+        validator.append(more);
+        return "p" + DigestUtils.md5DigestAsHex(validator.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * {@code updatedAt} only has day precision, so a row stamped today may still change later
+     * today. The latest instant it can have changed is the end of that day, capped at now: a
+     * client revalidating with that value gets 304 only once the day is over and the row has not
+     * been touched since. Returns -1 when there is no {@code updatedAt}.
+     */
+    static long lastModified(LocalDate updatedAt) {
+        return lastModified(updatedAt, Clock.systemDefaultZone());
+    }
+
+    static long lastModified(LocalDate updatedAt, Clock clock) {
+        if (updatedAt == null) {
+            return -1;
+        }
+        ZoneId zone = clock.getZone();
+        long endOfDay = updatedAt.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli() - 1;
+        return Math.min(endOfDay, clock.millis());
+    }
+
+    static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+}
@@ -0,0 +1,51 @@
+package investflow.controllers;
+
+import investflow.exceptions.AdmissionRejectedException;
+import investflow.exceptions.InvalidPortfolioRequestException;
+import investflow.exceptions.PortfolioAlreadyExistsException;
+import investflow.exceptions.PortfolioNotFoundException;
+import investflow.exceptions.PortfolioVersionConflictException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class PortfolioExceptionHandler {
+
+    @ExceptionHandler(PortfolioNotFoundException.class)
+    public ProblemDetail handleNotFound(PortfolioNotFoundException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    @ExceptionHandler(PortfolioAlreadyExistsException.class)
+    public ProblemDetail handleAlreadyExists(PortfolioAlreadyExistsException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    @ExceptionHandler(PortfolioVersionConflictException.class)
+    public ProblemDetail handleVersionConflict(PortfolioVersionConflictException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ProblemDetail handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "Portfolio conflicts with existing data");
+    }
+
+    @ExceptionHandler(InvalidPortfolioRequestException.class)
+    public ProblemDetail handleInvalidRequest(InvalidPortfolioRequestException ex) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(AdmissionRejectedException.class)
+    public ResponseEntity<ProblemDetail> handleAdmissionRejected(AdmissionRejectedException ex) {
+        long retryAfterSeconds = Math.max(1, ex.getRetryAfter().toSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage()));
+    }
+}
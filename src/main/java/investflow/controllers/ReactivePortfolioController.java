@@ -0,0 +1,48 @@
+package investflow.controllers;
+
+import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.services.ReactivePortfolioService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive endpoints for the {@code reactive} profile. The application stays on the servlet
+ * stack, which subscribes to the returned publishers and streams {@code Flux} results as NDJSON.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/reactive/portfolios")
+@RequiredArgsConstructor
+public class ReactivePortfolioController {
+
+    private final ReactivePortfolioService portfolioService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ResponsePortfolioDTO> create(@Valid @RequestBody CreatePortfolioDTO dto) {
+        return portfolioService.save(dto);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponsePortfolioDTO> findById(@PathVariable Integer id) {
+        return portfolioService.findById(id);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ResponsePortfolioDTO> findAll() {
+        return portfolioService.findAll();
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteById(@PathVariable Integer id) {
+        return portfolioService.deleteById(id);
+    }
+}
@@ -0,0 +1,24 @@
+package investflow.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Partial update; {@code null} fields are left unchanged.
+ */
+public record PatchPortfolioDTO(
+        @Size(min = 2, max = 50)
+        @Pattern(regexp = ".*\\S.*")
+        String name,
+
+        @Positive
+        Double monthlyAmount,
+
+        @Positive
+        Integer durationMonths,
+
+        @NotNull
+        Long version
+) {}
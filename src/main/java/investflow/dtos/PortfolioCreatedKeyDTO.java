@@ -0,0 +1,8 @@
+package investflow.dtos;
+
+import java.time.LocalDate;
+
+public record PortfolioCreatedKeyDTO(
+        LocalDate createdAt,
+        Integer id
+) {}
@@ -0,0 +1,12 @@
+package investflow.dtos;
+
+import java.util.List;
+
+/**
+ * The ids and versions of the rows on a page, and whether another page follows: everything a
+ * page's representation depends on.
+ */
+public record PortfolioPageStampDTO(
+        List<PortfolioStampDTO> content,
+        boolean more
+) {}
@@ -0,0 +1,9 @@
+package investflow.dtos;
+
+import java.time.LocalDate;
+
+public record PortfolioStampDTO(
+        Integer id,
+        Long version,
+        LocalDate updatedAt
+) {}
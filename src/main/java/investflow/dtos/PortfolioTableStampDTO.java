@@ -0,0 +1,12 @@
+package investflow.dtos;
+
+/**
+ * Aggregate fingerprint of the portfolio table: inserts change {@code count} and {@code idSum},
+ * deletes change both as well, and every update increments {@code versionSum}.
+ */
+public record PortfolioTableStampDTO(
+        Long count,
+        Integer maxId,
+        Long idSum,
+        Long versionSum
+) {}
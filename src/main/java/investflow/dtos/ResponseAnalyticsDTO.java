@@ -0,0 +1,8 @@
+package investflow.dtos;
+
+import java.util.List;
+
+public record ResponseAnalyticsDTO(
+        ResponsePortfolioTotalsDTO totals,
+        List<ResponseDurationBucketDTO> durations
+) {}
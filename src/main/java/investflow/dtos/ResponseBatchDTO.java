@@ -0,0 +1,9 @@
+package investflow.dtos;
+
+import java.util.List;
+
+public record ResponseBatchDTO(
+        int succeeded,
+        int failed,
+        List<ResponseBatchItemDTO> items
+) {}
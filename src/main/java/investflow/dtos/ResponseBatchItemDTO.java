@@ -0,0 +1,8 @@
+package investflow.dtos;
+
+public record ResponseBatchItemDTO(
+        int index,
+        String name,
+        ResponsePortfolioDTO portfolio,
+        String error
+) {}
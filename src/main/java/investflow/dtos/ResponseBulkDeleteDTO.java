@@ -0,0 +1,7 @@
+package investflow.dtos;
+
+public record ResponseBulkDeleteDTO(
+        long deleted,
+        int chunks,
+        long elapsedMillis
+) {}
@@ -0,0 +1,8 @@
+package investflow.dtos;
+
+public record ResponseDurationBucketDTO(
+        String bucket,
+        Long count,
+        Double totalMonthlyAmount,
+        Double totalCommittedCapital
+) {}
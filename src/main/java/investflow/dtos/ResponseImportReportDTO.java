@@ -0,0 +1,12 @@
+package investflow.dtos;
+
+import java.util.List;
+
+public record ResponseImportReportDTO(
+        long rowsRead,
+        long imported,
+        long rejected,
+        long committedOffset,
+        double rowsPerSecond,
+        List<String> errors
+) {}
@@ -0,0 +1,13 @@
+package investflow.dtos;
+
+import investflow.outbox.PortfolioChangeType;
+
+import java.time.Instant;
+
+public record ResponsePortfolioChangeDTO(
+        Long sequence,
+        Integer portfolioId,
+        PortfolioChangeType type,
+        ResponsePortfolioDTO portfolio,
+        Instant occurredAt
+) {}
@@ -0,0 +1,8 @@
+package investflow.dtos;
+
+import java.util.List;
+
+public record ResponsePortfolioChangesDTO(
+        List<ResponsePortfolioChangeDTO> content,
+        Long nextCursor
+) {}
@@ -8,5 +8,6 @@ public record ResponsePortfolioDTO(
         Double monthlyAmount,
         int durationMonths,
         LocalDate createdAt,
-        LocalDate updatedAt
+        LocalDate updatedAt,
+        Long version
 ) {}
@@ -0,0 +1,7 @@
+package investflow.dtos;
+
+public record ResponsePortfolioTotalsDTO(
+        Long count,
+        Double totalMonthlyAmount,
+        Double totalCommittedCapital
+) {}
@@ -0,0 +1,12 @@
+package investflow.dtos;
+
+public record ResponseProjectionDTO(
+        Integer portfolioId,
+        double annualRate,
+        double totalContributed,
+        double finalValue,
+        double totalInterest,
+        double[] contributed,
+        double[] balance,
+        double[] interest
+) {}
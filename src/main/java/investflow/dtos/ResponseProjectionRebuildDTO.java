@@ -0,0 +1,7 @@
+package investflow.dtos;
+
+public record ResponseProjectionRebuildDTO(
+        double annualRate,
+        long portfolios,
+        long elapsedMillis
+) {}
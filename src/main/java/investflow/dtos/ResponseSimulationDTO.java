@@ -0,0 +1,10 @@
+package investflow.dtos;
+
+public record ResponseSimulationDTO(
+        Integer portfolioId,
+        int paths,
+        double totalContributed,
+        double p5,
+        double p50,
+        double p95
+) {}
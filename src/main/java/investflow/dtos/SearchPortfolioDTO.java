@@ -0,0 +1,26 @@
+package investflow.dtos;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Search filters; {@code null} fields are not applied. Ranges are inclusive on both ends.
+ */
+public record SearchPortfolioDTO(
+        String namePrefix,
+
+        Double minMonthlyAmount,
+
+        Double maxMonthlyAmount,
+
+        Integer minDurationMonths,
+
+        Integer maxDurationMonths,
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate createdFrom,
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate createdTo
+) {}
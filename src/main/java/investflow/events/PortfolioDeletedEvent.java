@@ -0,0 +1,8 @@
+package investflow.events;
+
+import investflow.dtos.ResponsePortfolioDTO;
+
+/**
+ * Published inside the transaction that deleted the portfolio, carrying its last known state.
+ */
+public record PortfolioDeletedEvent(ResponsePortfolioDTO portfolio) {}
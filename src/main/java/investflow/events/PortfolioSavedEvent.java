@@ -0,0 +1,9 @@
+package investflow.events;
+
+import investflow.dtos.ResponsePortfolioDTO;
+
+/**
+ * Published inside the transaction that created the portfolio; listeners that must only see
+ * committed data should use {@code @TransactionalEventListener}.
+ */
+public record PortfolioSavedEvent(ResponsePortfolioDTO portfolio) {}
@@ -0,0 +1,8 @@
+package investflow.events;
+
+import investflow.dtos.ResponsePortfolioDTO;
+
+/**
+ * Published inside the transaction that updated the portfolio, with its state before and after.
+ */
+public record PortfolioUpdatedEvent(ResponsePortfolioDTO previous, ResponsePortfolioDTO current) {}
@@ -0,0 +1,20 @@
+package investflow.exceptions;
+
+import investflow.admission.Bulkhead;
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final Bulkhead bulkhead;
+
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(Bulkhead bulkhead, Duration retryAfter) {
+        super("Service Overloaded: " + bulkhead.name().toLowerCase() + " are at their concurrency limit");
+        this.bulkhead = bulkhead;
+        this.retryAfter = retryAfter;
+    }
+}
@@ -0,0 +1,7 @@
+package investflow.exceptions;
+
+public class InvalidPortfolioRequestException extends RuntimeException {
+    public InvalidPortfolioRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package investflow.exceptions;
+
+import lombok.Getter;
+
+@Getter
+public class PortfolioImportException extends RuntimeException {
+
+    private final long committedOffset;
+
+    public PortfolioImportException(long committedOffset, Throwable cause) {
+        super("Portfolio Import Failed, Resume From Offset: " + committedOffset, cause);
+        this.committedOffset = committedOffset;
+    }
+}
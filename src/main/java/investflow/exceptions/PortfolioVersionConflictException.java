@@ -0,0 +1,7 @@
+package investflow.exceptions;
+
+public class PortfolioVersionConflictException extends RuntimeException {
+    public PortfolioVersionConflictException(Integer id, Long expectedVersion) {
+        super("Portfolio Version Conflict: " + id + " was modified since version " + expectedVersion);
+    }
+}
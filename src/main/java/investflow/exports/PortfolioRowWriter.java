@@ -0,0 +1,116 @@
+package investflow.exports;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Writes portfolio rows straight from a {@link ResultSet} to a writer, without building DTOs.
+ * Columns are expected in the order {@code id, name, monthly_amount, duration_months, created_at,
+ * updated_at, version}; NDJSON field names match {@code ResponsePortfolioDTO}.
+ */
+public final class PortfolioRowWriter {
+
+    static final String CSV_HEADER = "id,name,monthlyAmount,durationMonths,createdAt,updatedAt,version\n";
+
+    private final ExportFormat format;
+
+    private final Writer writer;
+
+    public PortfolioRowWriter(ExportFormat format, Writer writer) {
+        this.format = format;
+        this.writer = writer;
+    }
+
+    public void writeHeader() throws IOException {
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+        }
+    }
+
+    public void writeRow(ResultSet rs) throws SQLException, IOException {
+        int id = rs.getInt(1);
+        String name = rs.getString(2);
+        double monthlyAmount = rs.getDouble(3);
+        boolean monthlyAmountNull = rs.wasNull();
+        int durationMonths = rs.getInt(4);
+        String createdAt = rs.getString(5);
+        String updatedAt = rs.getString(6);
+        long version = rs.getLong(7);
+
+        if (format == ExportFormat.NDJSON) {
+            writer.write("{\"id\":");
+            writer.write(Integer.toString(id));
+            writer.write(",\"name\":");
+            writeJsonString(name);
+            writer.write(",\"monthlyAmount\":");
+            writer.write(monthlyAmountNull ? "null" : Double.toString(monthlyAmount));
+            writer.write(",\"durationMonths\":");
+            writer.write(Integer.toString(durationMonths));
+            writer.write(",\"createdAt\":");
+            writeJsonString(createdAt);
+            writer.write(",\"updatedAt\":");
+            writeJsonString(updatedAt);
+            writer.write(",\"version\":");
+            writer.write(Long.toString(version));
+            writer.write("}\n");
+        } else {
+            writer.write(Integer.toString(id));
+            writer.write(',');
+            writeCsvField(name);
+            writer.write(',');
+            writer.write(monthlyAmountNull ? "" : Double.toString(monthlyAmount));
+            writer.write(',');
+            writer.write(Integer.toString(durationMonths));
+            writer.write(',');
+            writeCsvField(createdAt);
+            writer.write(',');
+            writeCsvField(updatedAt);
+            writer.write(',');
+            writer.write(Long.toString(version));
+            writer.write('\n');
+        }
+    }
+
+    private void writeJsonString(String value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> writer.write("\\\"");
+                case '\\' -> writer.write("\\\\");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                case '\t' -> writer.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+        writer.write('"');
+    }
+
+    private void writeCsvField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
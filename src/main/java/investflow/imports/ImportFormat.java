@@ -0,0 +1,8 @@
+package investflow.imports;
+
+public enum ImportFormat {
+    /** {@code name,monthlyAmount,durationMonths}, with an optional header line. */
+    CSV,
+    /** One {@code CreatePortfolioDTO} JSON object per line. */
+    NDJSON
+}
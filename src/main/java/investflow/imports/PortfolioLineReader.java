@@ -0,0 +1,123 @@
+package investflow.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Reads a file line by line through a fixed read buffer, tracking the byte offset of every line
+ * so an import can resume exactly after the last committed record. The current line is exposed as
+ * a reused byte array; it is only valid until the next call to {@link #next()}.
+ */
+public final class PortfolioLineReader implements Closeable {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+
+    private final byte[] readBuffer = new byte[READ_BUFFER_SIZE];
+
+    private final ByteBuffer readView = ByteBuffer.wrap(readBuffer);
+
+    private int readPosition;
+
+    private int readLimit;
+
+    private byte[] line = new byte[256];
+
+    private int length;
+
+    private long lineOffset;
+
+    private long position;
+
+    /**
+     * Takes ownership of {@code channel}: it is closed by {@link #close()}, or right away if it
+     * cannot be positioned at {@code startOffset}.
+     */
+    public PortfolioLineReader(FileChannel channel, long startOffset) throws IOException {
+        this.channel = channel;
+        try {
+            channel.position(startOffset);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.position = startOffset;
+    }
+
+    /**
+     * Advances to the next line, without its line terminator. Returns {@code false} at end of file.
+     */
+    public boolean next() throws IOException {
+        length = 0;
+        lineOffset = position;
+
+        while (true) {
+            if (readPosition == readLimit && !fill()) {
+                return position > lineOffset;
+            }
+
+            while (readPosition < readLimit) {
+                byte current = readBuffer[readPosition++];
+                position++;
+                if (current == '\n') {
+                    if (length > 0 && line[length - 1] == '\r') {
+                        length--;
+                    }
+                    return true;
+                }
+                append(current);
+            }
+        }
+    }
+
+    public byte[] line() {
+        return line;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isBlank() {
+        for (int i = 0; i < length; i++) {
+            if (!Character.isWhitespace(line[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Byte offset at which the current line starts. */
+    public long lineOffset() {
+        return lineOffset;
+    }
+
+    /** Byte offset just past the current line, where a resumed import should start. */
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean fill() throws IOException {
+        readView.clear();
+        int read = channel.read(readView);
+        readPosition = 0;
+        readLimit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    private void append(byte value) {
+        if (length == line.length) {
+            line = Arrays.copyOf(line, line.length * 2);
+        }
+        line[length++] = value;
+    }
+}
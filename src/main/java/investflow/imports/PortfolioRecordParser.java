@@ -0,0 +1,81 @@
+package investflow.imports;
+
+import investflow.dtos.CreatePortfolioDTO;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Turns one line of an import file into a {@link CreatePortfolioDTO}. Malformed lines raise an
+ * {@link IllegalArgumentException} or a Jackson exception; bean validation is left to the caller.
+ */
+public final class PortfolioRecordParser {
+
+    private static final String CSV_HEADER_PREFIX = "name,";
+
+    private final JsonMapper jsonMapper;
+
+    public PortfolioRecordParser(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    public CreatePortfolioDTO parse(ImportFormat format, byte[] line, int length) {
+        return switch (format) {
+            case NDJSON -> jsonMapper.readValue(line, 0, length, CreatePortfolioDTO.class);
+            case CSV -> parseCsv(new String(line, 0, length, StandardCharsets.UTF_8));
+        };
+    }
+
+    public boolean isHeader(ImportFormat format, byte[] line, int length) {
+        return format == ImportFormat.CSV
+                && new String(line, 0, Math.min(length, CSV_HEADER_PREFIX.length()), StandardCharsets.UTF_8)
+                .equalsIgnoreCase(CSV_HEADER_PREFIX);
+    }
+
+    static CreatePortfolioDTO parseCsv(String line) {
+        String name;
+        int cursor;
+
+        if (line.startsWith("\"")) {
+            StringBuilder quoted = new StringBuilder();
+            cursor = 1;
+            while (true) {
+                int quote = line.indexOf('"', cursor);
+                if (quote < 0) {
+                    throw new IllegalArgumentException("Unterminated quoted name");
+                }
+                quoted.append(line, cursor, quote);
+                if (quote + 1 < line.length() && line.charAt(quote + 1) == '"') {
+                    quoted.append('"');
+                    cursor = quote + 2;
+                } else {
+                    cursor = quote + 1;
+                    break;
+                }
+            }
+            if (cursor >= line.length() || line.charAt(cursor) != ',') {
+                throw new IllegalArgumentException("Expected 3 columns");
+            }
+            name = quoted.toString();
+            cursor++;
+        } else {
+            int comma = line.indexOf(',');
+            if (comma < 0) {
+                throw new IllegalArgumentException("Expected 3 columns");
+            }
+            name = line.substring(0, comma);
+            cursor = comma + 1;
+        }
+
+        int comma = line.indexOf(',', cursor);
+        if (comma < 0 || line.indexOf(',', comma + 1) >= 0) {
+            throw new IllegalArgumentException("Expected 3 columns");
+        }
+
+        return new CreatePortfolioDTO(
+                name,
+                Double.valueOf(line.substring(cursor, comma).trim()),
+                Integer.parseInt(line.substring(comma + 1).trim())
+        );
+    }
+}
@@ -0,0 +1,39 @@
+package investflow.mappers;
+
+import investflow.dtos.ResponsePortfolioChangeDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.models.PortfolioOutboxEvent;
+import investflow.outbox.PortfolioChangeType;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+
+@Component
+public class PortfolioChangeMapper {
+
+    private final JsonMapper jsonMapper;
+
+    public PortfolioChangeMapper(JsonMapper jsonMapper) {
+        this.jsonMapper = jsonMapper;
+    }
+
+    public PortfolioOutboxEvent toEvent(PortfolioChangeType type, ResponsePortfolioDTO portfolio) {
+        return PortfolioOutboxEvent.builder()
+                .portfolioId(portfolio.id())
+                .type(type)
+                .payload(jsonMapper.writeValueAsString(portfolio))
+                .occurredAt(Instant.now())
+                .build();
+    }
+
+    public ResponsePortfolioChangeDTO toDTO(PortfolioOutboxEvent event) {
+        return new ResponsePortfolioChangeDTO(
+                event.getSequence(),
+                event.getPortfolioId(),
+                event.getType(),
+                jsonMapper.readValue(event.getPayload(), ResponsePortfolioDTO.class),
+                event.getOccurredAt()
+        );
+    }
+}
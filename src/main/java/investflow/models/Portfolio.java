@@ -2,6 +2,7 @@ package investflow.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 
@@ -10,12 +11,27 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@DynamicUpdate
+@Table(
+        uniqueConstraints = @UniqueConstraint(name = Portfolio.NAME_CONSTRAINT, columnNames = "name"),
+        indexes = {
+                @Index(name = "idx_portfolio_monthly_amount", columnList = "monthly_amount, id"),
+                @Index(name = "idx_portfolio_duration_months", columnList = "duration_months, id"),
+                @Index(name = "idx_portfolio_created_at", columnList = "created_at, id")
+        })
 public class Portfolio {
 
+    public static final String NAME_CONSTRAINT = "uk_portfolio_name";
+
+    /**
+     * Drawn from {@code portfolio_seq}, unless sharding assigned it before persisting; sharded ids
+     * encode the bucket of the name the portfolio was created with.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @PortfolioSequence
     private Integer id;
 
+    @Column(nullable = false, length = 50)
     private String name;
 
     private Double monthlyAmount;
@@ -26,6 +42,15 @@ public class Portfolio {
 
     private LocalDate updatedAt;
 
+    /**
+     * Optimistic lock: every UPDATE is guarded by {@code where version = ?}, so concurrent writers
+     * fail fast instead of holding row locks. {@code null} marks a not-yet-persisted entity; the
+     * non-null column lets schema updates backfill existing rows with 0.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDate.now();
@@ -0,0 +1,23 @@
+package investflow.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Next unallocated sequence number of one id bucket. Only read and written through
+ * {@link investflow.sharding.PortfolioIdGenerator}, which claims blocks under a row lock; the
+ * entity exists so the table is part of the mapped schema.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "portfolio_id_block")
+public class PortfolioIdBlock {
+
+    @Id
+    private Integer bucket;
+
+    @Column(nullable = false)
+    private Long nextVal;
+}
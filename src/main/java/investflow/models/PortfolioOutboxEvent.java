@@ -0,0 +1,47 @@
+package investflow.models;
+
+import investflow.outbox.PortfolioChangeType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * A portfolio change written in the same transaction as the change itself. {@code sequence} is
+ * assigned by the relay, in commit-visible order, just before the event is first published, and
+ * is kept on redelivery so consumers can deduplicate by it.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+        name = "portfolio_outbox",
+        uniqueConstraints = @UniqueConstraint(name = "uk_portfolio_outbox_sequence", columnNames = "sequence"),
+        indexes = @Index(name = "idx_portfolio_outbox_published_at", columnList = "published_at"))
+public class PortfolioOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "portfolio_outbox_seq")
+    @SequenceGenerator(name = "portfolio_outbox_seq", sequenceName = "portfolio_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    private Long sequence;
+
+    @Column(nullable = false)
+    private Integer portfolioId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private PortfolioChangeType type;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    @Column(nullable = false)
+    private Instant occurredAt;
+
+    private Instant publishedAt;
+}
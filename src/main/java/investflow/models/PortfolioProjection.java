@@ -0,0 +1,35 @@
+package investflow.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Precomputed projection of a portfolio's plan at a given annual rate. {@code portfolioVersion}
+ * records which version of the portfolio it was computed from, so readers can tell a current
+ * snapshot from one whose refresh has not landed yet.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "portfolio_projection")
+public class PortfolioProjection {
+
+    @Id
+    private Integer portfolioId;
+
+    private long portfolioVersion;
+
+    private double annualRate;
+
+    private double totalContributed;
+
+    private double finalValue;
+
+    private double totalInterest;
+
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,41 @@
+package investflow.models;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.util.Properties;
+
+/**
+ * The pooled {@code portfolio_seq} sequence portfolios have always been numbered from, except that
+ * an id already set on the entity is kept. With sharding on, ids are assigned from
+ * {@link investflow.sharding.PortfolioIdGenerator} before persisting instead.
+ */
+public class PortfolioSequenceGenerator extends SequenceStyleGenerator {
+
+    static final String SEQUENCE_NAME = "portfolio_seq";
+
+    static final int ALLOCATION_SIZE = 50;
+
+    @Override
+    public void configure(GeneratorCreationContext creationContext, Properties parameters) {
+        parameters.setProperty(SEQUENCE_PARAM, SEQUENCE_NAME);
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(ALLOCATION_SIZE));
+        super.configure(creationContext, parameters);
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        if (owner instanceof Portfolio portfolio && portfolio.getId() != null) {
+            return portfolio.getId();
+        }
+        return super.generate(session, owner);
+    }
+}
@@ -0,0 +1,26 @@
+package investflow.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * The annual rate projection snapshots are computed at, in a single row with id
+ * {@link #SINGLETON_ID} so a rebuild's rate survives restarts and reaches every instance. Read
+ * and written over JDBC by the snapshot service; the entity exists so the table is part of the
+ * mapped schema.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "projection_rate")
+public class ProjectionRate {
+
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private Double annualRate;
+}
@@ -0,0 +1,55 @@
+package investflow.outbox;
+
+import investflow.dtos.ResponsePortfolioChangeDTO;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each change as one NDJSON line and forces the file to disk before returning, so a
+ * batch is only marked published once it is durable.
+ */
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+
+    private final JsonMapper jsonMapper;
+
+    public FileOutboxSink(Path file, JsonMapper jsonMapper) {
+        this.file = file;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public synchronized void publish(List<ResponsePortfolioChangeDTO> changes) {
+        StringBuilder lines = new StringBuilder(changes.size() * 256);
+        for (ResponsePortfolioChangeDTO change : changes) {
+            lines.append(jsonMapper.writeValueAsString(change)).append('\n');
+        }
+
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append outbox batch to " + file, e);
+        }
+    }
+}
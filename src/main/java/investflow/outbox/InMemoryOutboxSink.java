@@ -0,0 +1,39 @@
+package investflow.outbox;
+
+import investflow.dtos.ResponsePortfolioChangeDTO;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Keeps the most recent published changes in memory, for tests and local runs. Older changes are
+ * dropped once {@code capacity} is reached.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final ArrayDeque<ResponsePortfolioChangeDTO> published = new ArrayDeque<>();
+
+    private final int capacity;
+
+    public InMemoryOutboxSink(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<ResponsePortfolioChangeDTO> changes) {
+        for (ResponsePortfolioChangeDTO change : changes) {
+            if (published.size() == capacity) {
+                published.removeFirst();
+            }
+            published.addLast(change);
+        }
+    }
+
+    public synchronized List<ResponsePortfolioChangeDTO> published() {
+        return List.copyOf(published);
+    }
+
+    public synchronized void clear() {
+        published.clear();
+    }
+}
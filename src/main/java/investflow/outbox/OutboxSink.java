@@ -0,0 +1,18 @@
+package investflow.outbox;
+
+import investflow.dtos.ResponsePortfolioChangeDTO;
+
+import java.util.List;
+
+/**
+ * Destination the outbox relay publishes to. Delivery is at-least-once: a batch may be handed
+ * over again after a failure or restart, always with the same sequence numbers, so sinks and
+ * their consumers should ignore sequences they have already seen.
+ */
+public interface OutboxSink {
+
+    /**
+     * Publishes the batch, ordered by sequence. Throwing leaves the batch pending for retry.
+     */
+    void publish(List<ResponsePortfolioChangeDTO> changes);
+}
@@ -0,0 +1,7 @@
+package investflow.outbox;
+
+public enum PortfolioChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,100 @@
+package investflow.outbox;
+
+import investflow.config.OutboxProperties;
+import investflow.mappers.PortfolioChangeMapper;
+import investflow.models.PortfolioOutboxEvent;
+import investflow.repositories.PortfolioOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves committed outbox events to the {@link OutboxSink} in batches. Each batch is first given
+ * consecutive sequence numbers, then published, then marked published, each step in its own
+ * transaction: a crash or sink failure in between leaves the batch pending with its sequences
+ * intact, so it is delivered again unchanged (at-least-once). Sequences are assigned in the order
+ * events become visible to the relay, which keeps them strictly increasing even when
+ * transactions commit out of id order; the unique index on {@code sequence} makes a second relay
+ * racing for the same numbers fail and retry instead of duplicating them. Retention purges keep
+ * the highest-sequenced event as the high-water mark, so sequences never restart after a purge.
+ */
+@Slf4j
+@Component
+public class PortfolioOutboxRelay {
+
+    private final PortfolioOutboxRepository outboxRepository;
+
+    private final PortfolioChangeMapper changeMapper;
+
+    private final OutboxSink sink;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final Duration retention;
+
+    public PortfolioOutboxRelay(PortfolioOutboxRepository outboxRepository,
+                                PortfolioChangeMapper changeMapper,
+                                OutboxSink sink,
+                                PlatformTransactionManager transactionManager,
+                                OutboxProperties properties) {
+        this.outboxRepository = outboxRepository;
+        this.changeMapper = changeMapper;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = properties.batchSize();
+        this.retention = properties.retention();
+    }
+
+    @Scheduled(fixedDelayString = "${investflow.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        try {
+            while (relayBatch() == batchSize) {
+                // keep draining while full batches are available
+            }
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.deletePublishedBefore(
+                    Instant.now().minus(retention), outboxRepository.findMaxSequence()));
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay failed; pending events will be retried", e);
+        }
+    }
+
+    /**
+     * Publishes at most one batch, preferring events that were sequenced but never confirmed.
+     *
+     * @return the number of events published
+     */
+    public int relayBatch() {
+        List<PortfolioOutboxEvent> batch = transactionTemplate.execute(status -> {
+            List<PortfolioOutboxEvent> pending = outboxRepository.findUnpublished(Limit.of(batchSize));
+            return pending.isEmpty() ? assignSequences() : pending;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        sink.publish(batch.stream().map(changeMapper::toDTO).toList());
+
+        List<Long> ids = batch.stream().map(PortfolioOutboxEvent::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> outboxRepository.markPublished(ids, Instant.now()));
+        return batch.size();
+    }
+
+    private List<PortfolioOutboxEvent> assignSequences() {
+        List<PortfolioOutboxEvent> events = outboxRepository.findUnsequenced(Limit.of(batchSize));
+        long sequence = outboxRepository.findMaxSequence();
+        for (PortfolioOutboxEvent event : events) {
+            event.setSequence(++sequence);
+        }
+        outboxRepository.flush();
+        return events;
+    }
+}
@@ -0,0 +1,40 @@
+package investflow.outbox;
+
+import investflow.events.PortfolioDeletedEvent;
+import investflow.events.PortfolioSavedEvent;
+import investflow.events.PortfolioUpdatedEvent;
+import investflow.mappers.PortfolioChangeMapper;
+import investflow.repositories.PortfolioOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Records every portfolio change in the outbox table. Runs before commit inside the transaction
+ * that made the change, so the change and its event are committed or rolled back together; a
+ * failure here fails the whole write.
+ */
+@Component
+@RequiredArgsConstructor
+public class PortfolioOutboxWriter {
+
+    private final PortfolioOutboxRepository outboxRepository;
+
+    private final PortfolioChangeMapper changeMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onSaved(PortfolioSavedEvent event) {
+        outboxRepository.save(changeMapper.toEvent(PortfolioChangeType.CREATED, event.portfolio()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUpdated(PortfolioUpdatedEvent event) {
+        outboxRepository.save(changeMapper.toEvent(PortfolioChangeType.UPDATED, event.current()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onDeleted(PortfolioDeletedEvent event) {
+        outboxRepository.save(changeMapper.toEvent(PortfolioChangeType.DELETED, event.portfolio()));
+    }
+}
@@ -0,0 +1,100 @@
+package investflow.projections;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simulates the final value of a contribution plan over random monthly returns. Returns are
+ * log-normal with the given expected annual return and annual volatility. Paths are split
+ * recursively across a fork-join pool; every task owns a {@link SplittableRandom} split from its
+ * parent, so a seed reproduces the same result, and folds its paths into a
+ * {@link PercentileSketch} that is merged on the way back up.
+ */
+public final class MonteCarloSimulator {
+
+    private static final int MIN_PATHS_PER_TASK = 512;
+
+    private MonteCarloSimulator() {}
+
+    public static PercentileSketch simulate(ForkJoinPool pool,
+                                            double monthlyAmount,
+                                            int months,
+                                            double expectedAnnualReturn,
+                                            double annualVolatility,
+                                            int paths,
+                                            long seed) {
+        if (paths <= 0) {
+            throw new IllegalArgumentException("Paths must be positive: " + paths);
+        }
+        if (!isValidAssumption(expectedAnnualReturn, annualVolatility)) {
+            throw new IllegalArgumentException("Invalid return assumptions: "
+                    + expectedAnnualReturn + ", " + annualVolatility);
+        }
+
+        double monthlyVolatility = annualVolatility / Math.sqrt(12.0);
+        double monthlyDrift = Math.log1p(expectedAnnualReturn) / 12.0 - monthlyVolatility * monthlyVolatility / 2.0;
+        Plan plan = new Plan(monthlyAmount, Math.max(months, 0), monthlyDrift, monthlyVolatility);
+
+        // Enough tasks to keep every worker busy, but a bounded number of live sketches.
+        int pathsPerTask = Math.max(MIN_PATHS_PER_TASK, paths / (pool.getParallelism() * 4));
+
+        return pool.invoke(new PathTask(plan, paths, new SplittableRandom(seed), pathsPerTask));
+    }
+
+    /**
+     * Returns must stay above -100% and volatility must not be negative; NaN or infinite inputs
+     * would otherwise turn every path into NaN.
+     */
+    public static boolean isValidAssumption(double expectedAnnualReturn, double annualVolatility) {
+        return Double.isFinite(expectedAnnualReturn) && Double.isFinite(annualVolatility)
+                && expectedAnnualReturn > -1.0 && annualVolatility >= 0.0;
+    }
+
+    private record Plan(double monthlyAmount, int months, double monthlyDrift, double monthlyVolatility) {
+
+        double runPath(SplittableRandom random) {
+            double value = 0.0;
+            for (int month = 0; month < months; month++) {
+                double growth = Math.exp(monthlyDrift + monthlyVolatility * random.nextGaussian());
+                value = value * growth + monthlyAmount;
+            }
+            return value;
+        }
+    }
+
+    private static final class PathTask extends RecursiveTask<PercentileSketch> {
+
+        private final Plan plan;
+
+        private final int paths;
+
+        private final SplittableRandom random;
+
+        private final int pathsPerTask;
+
+        PathTask(Plan plan, int paths, SplittableRandom random, int pathsPerTask) {
+            this.plan = plan;
+            this.paths = paths;
+            this.random = random;
+            this.pathsPerTask = pathsPerTask;
+        }
+
+        @Override
+        protected PercentileSketch compute() {
+            if (paths <= pathsPerTask) {
+                PercentileSketch sketch = new PercentileSketch();
+                for (int path = 0; path < paths; path++) {
+                    sketch.add(plan.runPath(random));
+                }
+                return sketch;
+            }
+
+            int half = paths >>> 1;
+            PathTask left = new PathTask(plan, half, random.split(), pathsPerTask);
+            left.fork();
+            PercentileSketch right = new PathTask(plan, paths - half, random, pathsPerTask).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package investflow.projections;
+
+/**
+ * Fixed-size, mergeable quantile sketch with bounded relative error. Values are counted in
+ * logarithmically spaced buckets, so memory is independent of how many values are added and two
+ * sketches merge by adding their bucket counts.
+ */
+public final class PercentileSketch {
+
+    static final double RELATIVE_ACCURACY = 0.005;
+
+    private static final double MIN_TRACKED_VALUE = 1e-2;
+
+    private static final double MAX_TRACKED_VALUE = 1e15;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private static final int BUCKETS = (int) Math.ceil(Math.log(MAX_TRACKED_VALUE / MIN_TRACKED_VALUE) / LOG_GAMMA) + 1;
+
+    private final long[] counts = new long[BUCKETS];
+
+    private long zeroCount;
+
+    private long count;
+
+    private double min = Double.POSITIVE_INFINITY;
+
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public void add(double value) {
+        if (value < MIN_TRACKED_VALUE) {
+            zeroCount++;
+        } else {
+            counts[bucketOf(value)]++;
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public PercentileSketch merge(PercentileSketch other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the value at quantile {@code q} (0 to 1), accurate to within
+     * {@link #RELATIVE_ACCURACY} of the true value.
+     */
+    public double quantile(double q) {
+        if (q < 0.0 || q > 1.0) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = zeroCount;
+        if (rank < seen) {
+            return Math.max(min, 0.0);
+        }
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (rank < seen) {
+                return Math.min(Math.max(valueOf(i), min), max);
+            }
+        }
+        return max;
+    }
+
+    private static int bucketOf(double value) {
+        int index = (int) Math.ceil(Math.log(value / MIN_TRACKED_VALUE) / LOG_GAMMA);
+        return Math.min(index, BUCKETS - 1);
+    }
+
+    private static double valueOf(int bucket) {
+        return MIN_TRACKED_VALUE * 2 * Math.pow(GAMMA, bucket) / (GAMMA + 1);
+    }
+}
@@ -0,0 +1,57 @@
+package investflow.projections;
+
+/**
+ * Deterministic projection of a monthly contribution plan. Contributions are made at the end of
+ * each month and the annual rate is compounded monthly ({@code annualRate / 12}).
+ */
+public final class ProjectionEngine {
+
+    private ProjectionEngine() {}
+
+    public static double monthlyRate(double annualRate) {
+        if (annualRate <= -12.0 || Double.isNaN(annualRate) || Double.isInfinite(annualRate)) {
+            throw new IllegalArgumentException("Invalid annual rate: " + annualRate);
+        }
+        return annualRate / 12.0;
+    }
+
+    /**
+     * Closed-form future value of an ordinary annuity, {@code P * ((1 + r)^n - 1) / r}.
+     * Uses {@code expm1}/{@code log1p} so small rates keep their precision.
+     */
+    public static double futureValue(double monthlyAmount, double monthlyRate, int months) {
+        if (months <= 0) {
+            return 0.0;
+        }
+        if (monthlyRate == 0.0) {
+            return monthlyAmount * months;
+        }
+        return monthlyAmount * Math.expm1(months * Math.log1p(monthlyRate)) / monthlyRate;
+    }
+
+    public static ProjectionSchedule schedule(double monthlyAmount, double annualRate, int months) {
+        ProjectionSchedule schedule = new ProjectionSchedule(Math.max(months, 0));
+        fill(monthlyAmount, monthlyRate(annualRate), schedule.contributed(), schedule.balance(), schedule.interest());
+        return schedule;
+    }
+
+    /**
+     * Writes the schedule into caller-provided arrays of equal length, so repeated projections
+     * can reuse the same buffers without allocating.
+     */
+    public static void fill(double monthlyAmount, double monthlyRate,
+                            double[] contributed, double[] balance, double[] interest) {
+        double value = 0.0;
+        double paid = 0.0;
+
+        for (int month = 0; month < balance.length; month++) {
+            double earned = value * monthlyRate;
+            value += earned + monthlyAmount;
+            paid += monthlyAmount;
+
+            contributed[month] = paid;
+            balance[month] = value;
+            interest[month] = earned;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package investflow.projections;
+
+/**
+ * Month-by-month result of a contribution plan. Index {@code m} holds the state at the end of
+ * month {@code m + 1}: the cumulative amount contributed, the accumulated value and the interest
+ * earned during that month.
+ */
+public final class ProjectionSchedule {
+
+    private final double[] contributed;
+
+    private final double[] balance;
+
+    private final double[] interest;
+
+    public ProjectionSchedule(int months) {
+        this.contributed = new double[months];
+        this.balance = new double[months];
+        this.interest = new double[months];
+    }
+
+    public int months() {
+        return balance.length;
+    }
+
+    public double[] contributed() {
+        return contributed;
+    }
+
+    public double[] balance() {
+        return balance;
+    }
+
+    public double[] interest() {
+        return interest;
+    }
+
+    public double totalContributed() {
+        return months() == 0 ? 0.0 : contributed[months() - 1];
+    }
+
+    public double finalValue() {
+        return months() == 0 ? 0.0 : balance[months() - 1];
+    }
+
+    public double totalInterest() {
+        return finalValue() - totalContributed();
+    }
+}
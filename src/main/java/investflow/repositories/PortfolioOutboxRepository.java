@@ -0,0 +1,47 @@
+package investflow.repositories;
+
+import investflow.models.PortfolioOutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface PortfolioOutboxRepository extends JpaRepository<PortfolioOutboxEvent, Long> {
+
+    @Query("select coalesce(max(e.sequence), 0L) from PortfolioOutboxEvent e")
+    long findMaxSequence();
+
+    @Query("select e from PortfolioOutboxEvent e where e.sequence is null order by e.id")
+    List<PortfolioOutboxEvent> findUnsequenced(Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from PortfolioOutboxEvent e where e.sequence is null order by e.id")
+    List<PortfolioOutboxEvent> findUnsequencedForUpdate(Limit limit);
+
+    @Query("select e from PortfolioOutboxEvent e where e.sequence is not null and e.publishedAt is null "
+            + "order by e.sequence")
+    List<PortfolioOutboxEvent> findUnpublished(Limit limit);
+
+    @Query("select e from PortfolioOutboxEvent e where e.sequence > :after and e.publishedAt is not null "
+            + "order by e.sequence")
+    List<PortfolioOutboxEvent> findPublishedAfter(@Param("after") long after, Limit limit);
+
+    @Modifying
+    @Query("update PortfolioOutboxEvent e set e.publishedAt = :publishedAt where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    /**
+     * Never deletes the event holding {@code keepSequence}: new sequences continue from the
+     * highest one left in the table, so purging it would hand its numbers out again.
+     */
+    @Modifying
+    @Query("delete from PortfolioOutboxEvent e where e.publishedAt < :before and e.sequence < :keepSequence")
+    int deletePublishedBefore(@Param("before") Instant before, @Param("keepSequence") long keepSequence);
+}
@@ -0,0 +1,7 @@
+package investflow.repositories;
+
+import investflow.models.PortfolioProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PortfolioProjectionRepository extends JpaRepository<PortfolioProjection, Integer> {
+}
@@ -1,8 +1,121 @@
 package investflow.repositories;
 
+import investflow.dtos.PortfolioCreatedKeyDTO;
+import investflow.dtos.PortfolioStampDTO;
+import investflow.dtos.PortfolioTableStampDTO;
+import investflow.dtos.ResponseDurationBucketDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.dtos.ResponsePortfolioTotalsDTO;
 import investflow.models.Portfolio;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface PortfolioRepository extends JpaRepository<Portfolio, Integer> {
-    boolean existsByName(String name);
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface PortfolioRepository extends JpaRepository<Portfolio, Integer>, JpaSpecificationExecutor<Portfolio>,
+        PortfolioSpecificationQueries {
+
+    /**
+     * Constructor expression shared by the read-only queries, so rows are projected straight
+     * into {@link ResponsePortfolioDTO} without creating managed entities.
+     */
+    String SELECT_DTO = "select new investflow.dtos.ResponsePortfolioDTO("
+            + "p.id, p.name, p.monthlyAmount, p.durationMonths, p.createdAt, p.updatedAt, p.version) "
+            + "from Portfolio p ";
+
+    /**
+     * Maps a duration to the name of its {@link investflow.analytics.DurationBucket}.
+     */
+    String DURATION_BUCKET = "case when p.durationMonths <= 12 then 'UP_TO_1_YEAR' "
+            + "when p.durationMonths <= 36 then 'UP_TO_3_YEARS' "
+            + "when p.durationMonths <= 60 then 'UP_TO_5_YEARS' "
+            + "when p.durationMonths <= 120 then 'UP_TO_10_YEARS' "
+            + "else 'OVER_10_YEARS' end";
+
+    @Query("select p.name from Portfolio p where p.name in :names")
+    Set<String> findExistingNames(@Param("names") Collection<String> names);
+
+    @Query(SELECT_DTO + "where p.id = :id")
+    Optional<ResponsePortfolioDTO> findDTOById(@Param("id") Integer id);
+
+    @Query(SELECT_DTO)
+    List<ResponsePortfolioDTO> findAllDTOs();
+
+    /**
+     * Locks the rows so the returned state is exactly what a following delete removes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(SELECT_DTO + "where p.id in :ids order by p.id")
+    List<ResponsePortfolioDTO> findDTOsByIdInForUpdate(@Param("ids") Collection<Integer> ids);
+
+    String SELECT_CREATED_KEY = "select new investflow.dtos.PortfolioCreatedKeyDTO(p.createdAt, p.id) "
+            + "from Portfolio p where p.createdAt < :date ";
+
+    @Query(SELECT_CREATED_KEY + "order by p.createdAt, p.id")
+    List<PortfolioCreatedKeyDTO> findKeysCreatedBefore(@Param("date") LocalDate date, Limit limit);
+
+    /**
+     * Continues after the key {@code (afterCreatedAt, afterId)}, walking the {@code (created_at, id)}
+     * index as a range from {@code afterCreatedAt} instead of scanning ids.
+     */
+    @Query(SELECT_CREATED_KEY + "and p.createdAt >= :afterCreatedAt "
+            + "and (p.createdAt > :afterCreatedAt or p.id > :afterId) order by p.createdAt, p.id")
+    List<PortfolioCreatedKeyDTO> findKeysCreatedBefore(@Param("date") LocalDate date,
+                                                       @Param("afterCreatedAt") LocalDate afterCreatedAt,
+                                                       @Param("afterId") Integer afterId, Limit limit);
+
+    /**
+     * Deletes in a single statement without loading entities. Returns the number of rows deleted.
+     */
+    @Modifying
+    @Query("delete from Portfolio p where p.id in :ids")
+    int deleteByIds(@Param("ids") Collection<Integer> ids);
+
+    @Query("select new investflow.dtos.PortfolioStampDTO(p.id, p.version, p.updatedAt) from Portfolio p where p.id = :id")
+    Optional<PortfolioStampDTO> findStampById(@Param("id") Integer id);
+
+    @Query("select new investflow.dtos.PortfolioTableStampDTO(count(p), coalesce(max(p.id), 0), "
+            + "coalesce(sum(p.id), 0L), coalesce(sum(p.version), 0L)) from Portfolio p")
+    PortfolioTableStampDTO findTableStamp();
+
+    @Query("select new investflow.dtos.PortfolioStampDTO(p.id, p.version, p.updatedAt) from Portfolio p "
+            + "where p.id > :id order by p.id")
+    List<PortfolioStampDTO> findStampsByIdGreaterThan(@Param("id") Integer id, Limit limit);
+
+    @Query("select coalesce(max(p.id), 0) from Portfolio p")
+    int findMaxId();
+
+    @Query(SELECT_DTO + "where p.id > :id order by p.id")
+    List<ResponsePortfolioDTO> findDTOsByIdGreaterThan(@Param("id") Integer id, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(SELECT_DTO + "order by p.id")
+    Stream<ResponsePortfolioDTO> streamAllDTOs();
+
+    @Query("select new investflow.dtos.ResponsePortfolioTotalsDTO(count(p), "
+            + "coalesce(sum(p.monthlyAmount), 0.0), coalesce(sum(p.monthlyAmount * p.durationMonths), 0.0)) "
+            + "from Portfolio p")
+    ResponsePortfolioTotalsDTO computeTotals();
+
+    @Query("select new investflow.dtos.ResponseDurationBucketDTO(" + DURATION_BUCKET + ", count(p), "
+            + "sum(p.monthlyAmount), sum(p.monthlyAmount * p.durationMonths)) "
+            + "from Portfolio p group by " + DURATION_BUCKET + " order by min(p.durationMonths)")
+    List<ResponseDurationBucketDTO> computeDurationBuckets();
 }
@@ -0,0 +1,21 @@
+package investflow.repositories;
+
+import investflow.models.Portfolio;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Specification queries that select a constructor expression instead of entities.
+ */
+public interface PortfolioSpecificationQueries {
+
+    /**
+     * Selects {@code attributes} of the portfolios matching {@code specification}, in
+     * {@code sort} order, straight into the constructor of {@code type} that takes them in that
+     * order. No managed entities are created.
+     */
+    <T> List<T> findProjectedBy(Specification<Portfolio> specification, Sort sort, int limit, Class<T> type,
+                                String... attributes);
+}
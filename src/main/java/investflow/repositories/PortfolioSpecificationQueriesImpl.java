@@ -0,0 +1,45 @@
+package investflow.repositories;
+
+import investflow.models.Portfolio;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Transactional(readOnly = true)
+public class PortfolioSpecificationQueriesImpl implements PortfolioSpecificationQueries {
+
+    private final EntityManager entityManager;
+
+    public PortfolioSpecificationQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public <T> List<T> findProjectedBy(Specification<Portfolio> specification, Sort sort, int limit, Class<T> type,
+                                       String... attributes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(type);
+        Root<Portfolio> root = query.from(Portfolio.class);
+
+        query.select(cb.construct(type, Arrays.stream(attributes)
+                .map(attribute -> root.get(attribute))
+                .toArray(Selection<?>[]::new)));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
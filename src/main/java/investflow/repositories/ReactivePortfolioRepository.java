@@ -0,0 +1,180 @@
+package investflow.repositories;
+
+import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.models.PortfolioOutboxEvent;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Non-blocking access to the {@code portfolio} table over R2DBC, mapping rows straight into
+ * {@link ResponsePortfolioDTO}.
+ */
+@Repository
+@Profile("reactive")
+public class ReactivePortfolioRepository {
+
+    static final String SELECT_COLUMNS = "select id, name, monthly_amount, duration_months, created_at, updated_at, "
+            + "version from portfolio ";
+
+    /** Must match the allocationSize of the JPA {@code portfolio_seq} and {@code portfolio_outbox_seq} generators. */
+    static final int ID_BLOCK_SIZE = 50;
+
+    /** The value Hibernate seeds a table-backed sequence with. */
+    static final long SEQUENCE_INITIAL_VALUE = 1;
+
+    static final int FETCH_SIZE = 1_000;
+
+    private final DatabaseClient databaseClient;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final Queue<Long> portfolioIds = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Long> outboxIds = new ConcurrentLinkedQueue<>();
+
+    public ReactivePortfolioRepository(DatabaseClient databaseClient, TransactionalOperator transactionalOperator) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    public Mono<ResponsePortfolioDTO> findById(Integer id) {
+        return databaseClient.sql(SELECT_COLUMNS + "where id = :id")
+                .bind("id", id)
+                .map(ReactivePortfolioRepository::toDTO)
+                .one();
+    }
+
+    public Flux<ResponsePortfolioDTO> findAll() {
+        return databaseClient.sql(SELECT_COLUMNS + "order by id")
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(ReactivePortfolioRepository::toDTO)
+                .all();
+    }
+
+    public Mono<ResponsePortfolioDTO> findByIdForUpdate(Integer id) {
+        return databaseClient.sql(SELECT_COLUMNS + "where id = :id for update")
+                .bind("id", id)
+                .map(ReactivePortfolioRepository::toDTO)
+                .one();
+    }
+
+    public Mono<ResponsePortfolioDTO> insert(Integer id, CreatePortfolioDTO dto) {
+        LocalDate today = LocalDate.now();
+
+        return databaseClient.sql("insert into portfolio "
+                        + "(id, name, monthly_amount, duration_months, created_at, updated_at, version) "
+                        + "values (:id, :name, :monthlyAmount, :durationMonths, :createdAt, :updatedAt, 0)")
+                .bind("id", id)
+                .bind("name", dto.name())
+                .bind("monthlyAmount", dto.monthlyAmount())
+                .bind("durationMonths", dto.durationMonths())
+                .bind("createdAt", today)
+                .bind("updatedAt", today)
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(new ResponsePortfolioDTO(id, dto.name(), dto.monthlyAmount(), dto.durationMonths(), today, today, 0L));
+    }
+
+    public Mono<Long> deleteById(Integer id) {
+        return databaseClient.sql("delete from portfolio where id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Writes an unsequenced outbox row, for the relay to pick up like one written through JPA.
+     * {@code occurred_at} is stored in UTC, as Hibernate stores an {@link java.time.Instant}.
+     */
+    public Mono<Long> insertOutboxEvent(Long id, PortfolioOutboxEvent event) {
+        return databaseClient.sql("insert into portfolio_outbox (id, portfolio_id, type, payload, occurred_at) "
+                        + "values (:id, :portfolioId, :type, :payload, :occurredAt)")
+                .bind("id", id)
+                .bind("portfolioId", event.getPortfolioId())
+                .bind("type", event.getType().name())
+                .bind("payload", event.getPayload())
+                .bind("occurredAt", LocalDateTime.ofInstant(event.getOccurredAt(), ZoneOffset.UTC))
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Integer> nextPortfolioId() {
+        return nextId("portfolio_seq", portfolioIds).map(Math::toIntExact);
+    }
+
+    public Mono<Long> nextOutboxId() {
+        return nextId("portfolio_outbox_seq", outboxIds);
+    }
+
+    /**
+     * Hands out ids from blocks claimed from the tables Hibernate uses to emulate the sequences,
+     * so ids never collide with the JPA path. Each claim commits in a short transaction of its own,
+     * so call this before opening the transaction that uses the id; the sequence row is then
+     * locked only for the claim.
+     */
+    private Mono<Long> nextId(String sequence, Queue<Long> reserved) {
+        return Mono.defer(() -> {
+            Long id = reserved.poll();
+            if (id != null) {
+                return Mono.just(id);
+            }
+            return claimIdBlock(sequence)
+                    .as(transactionalOperator::transactional)
+                    .map(block -> {
+                        for (long next = block.first() + 1; next <= block.last(); next++) {
+                            reserved.add(next);
+                        }
+                        return block.first();
+                    });
+        });
+    }
+
+    /**
+     * Claims the block Hibernate's pooled optimizer would for the same value: the value read is the
+     * top of the block, {@code (value - ID_BLOCK_SIZE, value]}, except that the sequence's initial
+     * value starts a block reaching up to the value read next.
+     */
+    private Mono<IdBlock> claimIdBlock(String sequence) {
+        return incrementSequence(sequence).flatMap(value -> value == SEQUENCE_INITIAL_VALUE
+                ? incrementSequence(sequence).map(top -> new IdBlock(value, top))
+                : Mono.just(new IdBlock(value - ID_BLOCK_SIZE + 1, value)));
+    }
+
+    private Mono<Long> incrementSequence(String sequence) {
+        return databaseClient.sql("select next_val from " + sequence + " for update")
+                .map(row -> row.get("next_val", Long.class))
+                .one()
+                .flatMap(nextValue -> databaseClient.sql("update " + sequence + " set next_val = :nextValue")
+                        .bind("nextValue", nextValue + ID_BLOCK_SIZE)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(nextValue));
+    }
+
+    private record IdBlock(long first, long last) {
+    }
+
+    private static ResponsePortfolioDTO toDTO(Readable row) {
+        return new ResponsePortfolioDTO(
+                row.get("id", Integer.class),
+                row.get("name", String.class),
+                row.get("monthly_amount", Double.class),
+                row.get("duration_months", Integer.class),
+                row.get("created_at", LocalDate.class),
+                row.get("updated_at", LocalDate.class),
+                row.get("version", Long.class)
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package investflow.search;
+
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.exceptions.InvalidPortfolioRequestException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a search page: the sort value and id of that row. Encoded as an
+ * opaque URL-safe token that also records the sort it was issued for, so a cursor cannot be
+ * replayed against a different ordering.
+ */
+public record PortfolioSearchCursor(PortfolioSortField field, Sort.Direction direction, Comparable<?> value, int id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static PortfolioSearchCursor after(PortfolioSortField field, Sort.Direction direction,
+                                              ResponsePortfolioDTO lastRow) {
+        return new PortfolioSearchCursor(field, direction, field.valueOf(lastRow), lastRow.id());
+    }
+
+    public String encode() {
+        String raw = field.name() + SEPARATOR + direction.name() + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws InvalidPortfolioRequestException if the token is malformed or was issued for another sort
+     */
+    public static PortfolioSearchCursor decode(String token, PortfolioSortField field, Sort.Direction direction) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPortfolioRequestException("Invalid search cursor: " + token);
+        }
+
+        String prefix = field.name() + SEPARATOR + direction.name() + SEPARATOR;
+        int idSeparator = raw.lastIndexOf(SEPARATOR);
+        if (!raw.startsWith(prefix) || idSeparator < prefix.length()) {
+            throw new InvalidPortfolioRequestException("Search cursor does not match sort " + field + " " + direction);
+        }
+
+        try {
+            Comparable<?> value = field.parse(raw.substring(prefix.length(), idSeparator));
+            int id = Integer.parseInt(raw.substring(idSeparator + 1));
+            return new PortfolioSearchCursor(field, direction, value, id);
+        } catch (RuntimeException e) {
+            throw new InvalidPortfolioRequestException("Invalid search cursor: " + token);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package investflow.search;
+
+import investflow.dtos.ResponsePortfolioDTO;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Columns search results can be ordered by. Each one is backed by an index ending in {@code id},
+ * so {@code (field, id)} is a unique, index-ordered key for keyset pagination.
+ */
+public enum PortfolioSortField {
+
+    ID("id", ResponsePortfolioDTO::id, Integer::valueOf),
+    NAME("name", ResponsePortfolioDTO::name, value -> value),
+    MONTHLY_AMOUNT("monthlyAmount", ResponsePortfolioDTO::monthlyAmount, Double::valueOf),
+    DURATION_MONTHS("durationMonths", ResponsePortfolioDTO::durationMonths, Integer::valueOf),
+    CREATED_AT("createdAt", ResponsePortfolioDTO::createdAt, LocalDate::parse);
+
+    private final String attribute;
+
+    private final Function<ResponsePortfolioDTO, ? extends Comparable<?>> extractor;
+
+    private final Function<String, ? extends Comparable<?>> parser;
+
+    PortfolioSortField(String attribute,
+                       Function<ResponsePortfolioDTO, ? extends Comparable<?>> extractor,
+                       Function<String, ? extends Comparable<?>> parser) {
+        this.attribute = attribute;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    /**
+     * Orders by this field and then by id, so rows with equal values keep a stable order.
+     */
+    public Sort sort(Sort.Direction direction) {
+        Sort byId = Sort.by(direction, ID.attribute);
+        return this == ID ? byId : Sort.by(direction, attribute).and(byId);
+    }
+
+    /**
+     * The in-memory equivalent of {@link #sort}, for merging pages read from several shards. Names
+     * compare case-insensitively, like the column's collation.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Comparator<ResponsePortfolioDTO> comparator(Sort.Direction direction) {
+        Comparator<ResponsePortfolioDTO> byId = Comparator.comparing(ResponsePortfolioDTO::id);
+        Comparator<ResponsePortfolioDTO> comparator = switch (this) {
+            case ID -> byId;
+            case NAME -> Comparator.comparing(ResponsePortfolioDTO::name, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(byId);
+            default -> Comparator.comparing(portfolio -> (Comparable) valueOf(portfolio),
+                    Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(byId);
+        };
+        return direction.isAscending() ? comparator : comparator.reversed();
+    }
+
+    Comparable<?> valueOf(ResponsePortfolioDTO portfolio) {
+        return extractor.apply(portfolio);
+    }
+
+    Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+}
@@ -0,0 +1,87 @@
+package investflow.search;
+
+import investflow.dtos.SearchPortfolioDTO;
+import investflow.models.Portfolio;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria predicates for portfolio search. Every filter is a prefix or range condition on an
+ * indexed column, so each query can be answered with an index range scan.
+ */
+public final class PortfolioSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private PortfolioSpecifications() {}
+
+    public static Specification<Portfolio> matching(SearchPortfolioDTO criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (criteria.namePrefix() != null && !criteria.namePrefix().isEmpty()) {
+                predicates.add(cb.like(root.get("name"), escapeLike(criteria.namePrefix()) + "%", LIKE_ESCAPE));
+            }
+            if (criteria.minMonthlyAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("monthlyAmount"), criteria.minMonthlyAmount()));
+            }
+            if (criteria.maxMonthlyAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("monthlyAmount"), criteria.maxMonthlyAmount()));
+            }
+            if (criteria.minDurationMonths() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("durationMonths"), criteria.minDurationMonths()));
+            }
+            if (criteria.maxDurationMonths() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("durationMonths"), criteria.maxDurationMonths()));
+            }
+            if (criteria.createdFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), criteria.createdFrom()));
+            }
+            if (criteria.createdTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), criteria.createdTo()));
+            }
+
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Restricts to rows after the cursor in {@code (field, id)} order. Written as
+     * {@code field >= v and (field > v or id > i)} rather than a plain disjunction so the leading
+     * condition is a range the optimizer can seek to on the {@code (field, id)} index.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Portfolio> after(PortfolioSearchCursor cursor) {
+        return (root, query, cb) -> {
+            boolean ascending = cursor.direction() == Sort.Direction.ASC;
+            Path<Integer> id = root.get(PortfolioSortField.ID.attribute());
+            Predicate idAfter = ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+            if (cursor.field() == PortfolioSortField.ID) {
+                return idAfter;
+            }
+
+            Path<Comparable> field = root.get(cursor.field().attribute());
+            Comparable value = cursor.value();
+            return ascending
+                    ? cb.and(cb.greaterThanOrEqualTo(field, value), cb.or(cb.greaterThan(field, value), idAfter))
+                    : cb.and(cb.lessThanOrEqualTo(field, value), cb.or(cb.lessThan(field, value), idAfter));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length() + 4);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
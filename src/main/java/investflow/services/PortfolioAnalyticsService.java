@@ -0,0 +1,22 @@
+package investflow.services;
+
+import investflow.dtos.ResponseAnalyticsDTO;
+
+public interface PortfolioAnalyticsService {
+
+    /**
+     * Returns the running totals kept in memory, without touching the database.
+     */
+    ResponseAnalyticsDTO summary();
+
+    /**
+     * Recomputes the totals with aggregate queries in the database.
+     */
+    ResponseAnalyticsDTO computeFromDatabase();
+
+    /**
+     * Replaces the running totals with the database's, correcting any drift from writes that
+     * bypassed the portfolio events.
+     */
+    ResponseAnalyticsDTO resync();
+}
@@ -0,0 +1,20 @@
+package investflow.services;
+
+import investflow.dtos.ResponseBulkDeleteDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PortfolioBulkDeleteService {
+
+    /**
+     * Deletes the given portfolios in chunked transactions, so row locks are held for one chunk at
+     * a time. Ids that do not exist are skipped. A failure leaves earlier chunks deleted.
+     */
+    ResponseBulkDeleteDTO deleteAllById(List<Integer> ids);
+
+    /**
+     * Deletes every portfolio created before {@code date}, one chunk per transaction, in id order.
+     */
+    ResponseBulkDeleteDTO deleteCreatedBefore(LocalDate date);
+}
@@ -0,0 +1,13 @@
+package investflow.services;
+
+import investflow.dtos.ResponsePortfolioChangesDTO;
+
+public interface PortfolioChangeService {
+
+    /**
+     * Returns published changes with a sequence greater than {@code afterSequence}, in sequence
+     * order. The returned {@code nextCursor} is the last sequence seen, or {@code afterSequence}
+     * when there is nothing new, and is always safe to poll with again.
+     */
+    ResponsePortfolioChangesDTO findChanges(Long afterSequence, int limit);
+}
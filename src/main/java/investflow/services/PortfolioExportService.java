@@ -0,0 +1,30 @@
+package investflow.services;
+
+import investflow.dtos.PortfolioTableStampDTO;
+import investflow.exports.ExportFormat;
+
+import java.io.OutputStream;
+
+public interface PortfolioExportService {
+
+    /**
+     * Opens a repeatable-read transaction on every shard and reads the table stamp in it, so the
+     * stamp describes exactly the rows a later {@link Snapshot#export} writes. The snapshot holds
+     * its connections until closed.
+     */
+    Snapshot openSnapshot();
+
+    interface Snapshot extends AutoCloseable {
+
+        PortfolioTableStampDTO stamp();
+
+        /**
+         * Writes every portfolio, ordered by id, to {@code out} while reading them through a
+         * forward-only database cursor. The stream is flushed but not closed.
+         */
+        void export(ExportFormat format, OutputStream out);
+
+        @Override
+        void close();
+    }
+}
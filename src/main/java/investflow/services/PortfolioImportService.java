@@ -0,0 +1,16 @@
+package investflow.services;
+
+import investflow.dtos.ResponseImportReportDTO;
+import investflow.imports.ImportFormat;
+
+import java.nio.file.Path;
+
+public interface PortfolioImportService {
+
+    /**
+     * Streams the file from {@code startOffset} (0 for a fresh import) and creates its portfolios
+     * in chunked transactions. If the import fails, the thrown
+     * {@link investflow.exceptions.PortfolioImportException} carries the offset to resume from.
+     */
+    ResponseImportReportDTO importFile(Path file, ImportFormat format, long startOffset);
+}
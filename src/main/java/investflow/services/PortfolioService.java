@@ -1,15 +1,117 @@
 package investflow.services;
 
 import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.PatchPortfolioDTO;
+import investflow.dtos.PortfolioCreatedKeyDTO;
+import investflow.dtos.PortfolioPageStampDTO;
+import investflow.dtos.PortfolioStampDTO;
+import investflow.dtos.PortfolioTableStampDTO;
+import investflow.dtos.ResponseBatchDTO;
 import investflow.dtos.ResponsePortfolioDTO;
+import investflow.dtos.ResponsePortfolioPageDTO;
+import investflow.dtos.ResponsePortfolioSearchDTO;
+import investflow.dtos.SearchPortfolioDTO;
+import investflow.dtos.UpdatePortfolioDTO;
+import investflow.search.PortfolioSortField;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
 
 public interface PortfolioService {
 
     ResponsePortfolioDTO save(CreatePortfolioDTO dto);
 
+    /**
+     * Creates every portfolio whose name is not taken, neither in the database nor earlier in the
+     * same batch, and reports the outcome of each item in input order. The batch is not atomic:
+     * rows are committed in chunks, so if the call fails, the chunks before the failure stay
+     * committed. Use {@link #saveAll(List, IntConsumer)} to learn how far that was.
+     */
+    ResponseBatchDTO saveAll(List<CreatePortfolioDTO> dtos);
+
+    /**
+     * Same as {@link #saveAll(List)}, calling {@code onCommitted} after every commit with the number
+     * of leading items whose outcome is final, committed or rejected; the number never decreases.
+     * If the call fails, the last value reported is where a retry of the remaining items should
+     * start.
+     */
+    ResponseBatchDTO saveAll(List<CreatePortfolioDTO> dtos, IntConsumer onCommitted);
+
     ResponsePortfolioDTO findById(Integer id);
 
     Iterable<ResponsePortfolioDTO> findAll();
 
+    /**
+     * Reads only the portfolio's version and {@code updatedAt} from the database, bypassing the
+     * cache, so conditional requests can be answered without loading the row.
+     */
+    PortfolioStampDTO findStampById(Integer id);
+
+    /**
+     * Fingerprint that changes whenever any portfolio is created, updated or deleted.
+     */
+    PortfolioTableStampDTO findTableStamp();
+
+    /**
+     * Returns the page of portfolios whose id is greater than {@code afterId}, ordered by id.
+     * Pass the returned {@code nextCursor} as {@code afterId} to fetch the following page.
+     */
+    ResponsePortfolioPageDTO findAll(Integer afterId, int size);
+
+    /**
+     * Reads only the ids and versions of the page {@link #findAll(Integer, int)} returns, so a
+     * conditional request for an unchanged page can be answered without loading it.
+     */
+    PortfolioPageStampDTO findPageStamp(Integer afterId, int size);
+
+    /**
+     * Returns the page of portfolios matching {@code criteria} in {@code (sortField, id)} order,
+     * starting after {@code cursor}. Pass the returned {@code nextCursor} with the same sort to
+     * fetch the following page.
+     */
+    ResponsePortfolioSearchDTO search(SearchPortfolioDTO criteria, PortfolioSortField sortField,
+                                      Sort.Direction direction, String cursor, int size);
+
+    /**
+     * Reads only the ids and versions of the page {@link #search} returns, as
+     * {@link #findPageStamp} does for {@link #findAll(Integer, int)}.
+     */
+    PortfolioPageStampDTO searchStamp(SearchPortfolioDTO criteria, PortfolioSortField sortField,
+                                      Sort.Direction direction, String cursor, int size);
+
+    /**
+     * Streams every portfolio ordered by id through a database cursor.
+     * Must be called inside an existing transaction and the stream must be closed by the caller.
+     */
+    Stream<ResponsePortfolioDTO> streamAll();
+
+    /**
+     * Replaces the portfolio's plan if it is still at {@code dto.version()}; otherwise throws
+     * {@code PortfolioVersionConflictException} and the caller should re-read and retry.
+     */
+    ResponsePortfolioDTO update(Integer id, UpdatePortfolioDTO dto);
+
+    /**
+     * Like {@link #update} but only changes the non-null fields of {@code dto}.
+     */
+    ResponsePortfolioDTO patch(Integer id, PatchPortfolioDTO dto);
+
     void deleteById(Integer id);
+
+    /**
+     * Deletes the given portfolios in one transaction and returns how many existed. Ids that do
+     * not exist are skipped, so callers should keep {@code ids} small enough for a short lock.
+     */
+    int deleteAllById(Collection<Integer> ids);
+
+    /**
+     * Returns up to {@code limit} keys of portfolios created before {@code date}, in
+     * {@code (createdAt, id)} order and starting after {@code after}, or from the first one when
+     * {@code after} is null.
+     */
+    List<PortfolioCreatedKeyDTO> findKeysCreatedBefore(LocalDate date, PortfolioCreatedKeyDTO after, int limit);
 }
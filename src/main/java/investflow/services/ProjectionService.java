@@ -0,0 +1,21 @@
+package investflow.services;
+
+import investflow.dtos.ResponseProjectionDTO;
+import investflow.dtos.ResponseSimulationDTO;
+
+public interface ProjectionService {
+
+    /**
+     * Projects the portfolio's contribution plan at the given annual rate. The month-by-month
+     * schedule is only computed when {@code includeSchedule} is set; otherwise the totals come
+     * from the closed-form annuity formula.
+     */
+    ResponseProjectionDTO project(Integer portfolioId, double annualRate, boolean includeSchedule);
+
+    /**
+     * Runs {@code paths} random return paths over the portfolio's plan and returns the P5, P50 and
+     * P95 final values. A {@code null} seed draws a random one.
+     */
+    ResponseSimulationDTO simulate(Integer portfolioId, int paths, double expectedAnnualReturn,
+                                   double annualVolatility, Long seed);
+}
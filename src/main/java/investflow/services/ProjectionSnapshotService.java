@@ -0,0 +1,24 @@
+package investflow.services;
+
+import investflow.dtos.ResponseProjectionDTO;
+import investflow.dtos.ResponseProjectionRebuildDTO;
+
+public interface ProjectionSnapshotService {
+
+    /**
+     * The annual rate snapshots are computed at.
+     */
+    double annualRate();
+
+    /**
+     * Returns the portfolio's projection at {@link #annualRate()} from its snapshot. A missing or
+     * outdated snapshot is computed on the spot and a refresh is scheduled.
+     */
+    ResponseProjectionDTO findSnapshot(Integer portfolioId);
+
+    /**
+     * Switches to {@code annualRate} and recomputes every snapshot in parallel chunks, returning
+     * once all of them are written.
+     */
+    ResponseProjectionRebuildDTO rebuild(double annualRate);
+}
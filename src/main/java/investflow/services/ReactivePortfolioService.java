@@ -0,0 +1,24 @@
+package investflow.services;
+
+import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link PortfolioService}, available with the {@code reactive} profile.
+ */
+public interface ReactivePortfolioService {
+
+    Mono<ResponsePortfolioDTO> save(CreatePortfolioDTO dto);
+
+    Mono<ResponsePortfolioDTO> findById(Integer id);
+
+    /**
+     * Streams every portfolio ordered by id, emitting rows as the database returns them and
+     * honouring downstream demand.
+     */
+    Flux<ResponsePortfolioDTO> findAll();
+
+    Mono<Void> deleteById(Integer id);
+}
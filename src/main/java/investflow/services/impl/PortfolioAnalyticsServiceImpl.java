@@ -0,0 +1,85 @@
+package investflow.services.impl;
+
+import investflow.analytics.PortfolioTotals;
+import investflow.dtos.ResponseAnalyticsDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.events.PortfolioDeletedEvent;
+import investflow.events.PortfolioSavedEvent;
+import investflow.events.PortfolioUpdatedEvent;
+import investflow.repositories.PortfolioRepository;
+import investflow.services.PortfolioAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the running totals in memory, fed by the portfolio events this instance commits. Writes
+ * committed by other instances never reach them, so {@link #summary()} is only accurate while a
+ * single instance serves writes; deployments with several should read
+ * {@link #computeFromDatabase()} instead. The totals are recomputed on startup and then
+ * periodically, each time swapped in whole. A write committing while the database is read may be
+ * missed or counted twice until the next resync.
+ */
+@Service
+@RequiredArgsConstructor
+public class PortfolioAnalyticsServiceImpl implements PortfolioAnalyticsService {
+
+    private final PortfolioRepository portfolioRepository;
+
+    private final AtomicReference<PortfolioTotals> totals = new AtomicReference<>(new PortfolioTotals());
+
+    @Override
+    public ResponseAnalyticsDTO summary() {
+        return totals.get().snapshot();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseAnalyticsDTO computeFromDatabase() {
+        return new ResponseAnalyticsDTO(portfolioRepository.computeTotals(),
+                portfolioRepository.computeDurationBuckets());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${investflow.analytics.resync-interval-ms:300000}",
+            initialDelayString = "${investflow.analytics.resync-interval-ms:300000}")
+    public ResponseAnalyticsDTO resync() {
+        ResponseAnalyticsDTO analytics = computeFromDatabase();
+        totals.set(PortfolioTotals.of(analytics));
+        return analytics;
+    }
+
+    /**
+     * Counted only once the transaction commits, so rolled-back saves never reach the totals.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSaved(PortfolioSavedEvent event) {
+        ResponsePortfolioDTO portfolio = event.portfolio();
+        totals.get().add(portfolio.monthlyAmount(), portfolio.durationMonths());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUpdated(PortfolioUpdatedEvent event) {
+        ResponsePortfolioDTO previous = event.previous();
+        ResponsePortfolioDTO current = event.current();
+        // Both halves go to the same totals even if a resync swaps them in between
+        PortfolioTotals running = totals.get();
+        running.remove(previous.monthlyAmount(), previous.durationMonths());
+        running.add(current.monthlyAmount(), current.durationMonths());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDeleted(PortfolioDeletedEvent event) {
+        ResponsePortfolioDTO portfolio = event.portfolio();
+        totals.get().remove(portfolio.monthlyAmount(), portfolio.durationMonths());
+    }
+}
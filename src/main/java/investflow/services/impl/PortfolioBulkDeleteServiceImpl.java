@@ -0,0 +1,63 @@
+package investflow.services.impl;
+
+import investflow.dtos.PortfolioCreatedKeyDTO;
+import investflow.dtos.ResponseBulkDeleteDTO;
+import investflow.services.PortfolioBulkDeleteService;
+import investflow.services.PortfolioService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PortfolioBulkDeleteServiceImpl implements PortfolioBulkDeleteService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final PortfolioService portfolioService;
+
+    @Override
+    public ResponseBulkDeleteDTO deleteAllById(List<Integer> ids) {
+        long startedAt = System.nanoTime();
+        List<Integer> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        long deleted = 0;
+        int chunks = 0;
+
+        for (int from = 0; from < distinctIds.size(); from += CHUNK_SIZE) {
+            deleted += portfolioService.deleteAllById(
+                    distinctIds.subList(from, Math.min(from + CHUNK_SIZE, distinctIds.size())));
+            chunks++;
+        }
+        return report(deleted, chunks, startedAt);
+    }
+
+    @Override
+    public ResponseBulkDeleteDTO deleteCreatedBefore(LocalDate date) {
+        long startedAt = System.nanoTime();
+        long deleted = 0;
+        int chunks = 0;
+
+        // Keyset on (createdAt, id) so every round makes progress, even if a chunk was deleted concurrently.
+        List<PortfolioCreatedKeyDTO> keys = portfolioService.findKeysCreatedBefore(date, null, CHUNK_SIZE);
+        while (!keys.isEmpty()) {
+            deleted += portfolioService.deleteAllById(keys.stream().map(PortfolioCreatedKeyDTO::id).toList());
+            chunks++;
+            keys = portfolioService.findKeysCreatedBefore(date, keys.get(keys.size() - 1), CHUNK_SIZE);
+        }
+
+        ResponseBulkDeleteDTO report = report(deleted, chunks, startedAt);
+        log.info("Deleted {} portfolios created before {} in {} chunks", report.deleted(), date, report.chunks());
+        return report;
+    }
+
+    private static ResponseBulkDeleteDTO report(long deleted, int chunks, long startedAt) {
+        return new ResponseBulkDeleteDTO(deleted, chunks,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+}
@@ -0,0 +1,38 @@
+package investflow.services.impl;
+
+import investflow.dtos.ResponsePortfolioChangeDTO;
+import investflow.dtos.ResponsePortfolioChangesDTO;
+import investflow.mappers.PortfolioChangeMapper;
+import investflow.repositories.PortfolioOutboxRepository;
+import investflow.services.PortfolioChangeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PortfolioChangeServiceImpl implements PortfolioChangeService {
+
+    static final int MAX_LIMIT = 1_000;
+
+    private final PortfolioOutboxRepository outboxRepository;
+
+    private final PortfolioChangeMapper changeMapper;
+
+    @Override
+    public ResponsePortfolioChangesDTO findChanges(Long afterSequence, int limit) {
+        long cursor = afterSequence == null ? 0 : afterSequence;
+        List<ResponsePortfolioChangeDTO> changes = outboxRepository
+                .findPublishedAfter(cursor, Limit.of(Math.min(Math.max(limit, 1), MAX_LIMIT)))
+                .stream()
+                .map(changeMapper::toDTO)
+                .toList();
+
+        Long nextCursor = changes.isEmpty() ? cursor : changes.get(changes.size() - 1).sequence();
+        return new ResponsePortfolioChangesDTO(changes, nextCursor);
+    }
+}
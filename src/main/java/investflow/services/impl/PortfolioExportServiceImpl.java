@@ -0,0 +1,195 @@
+package investflow.services.impl;
+
+import investflow.dtos.PortfolioTableStampDTO;
+import investflow.exports.ExportFormat;
+import investflow.exports.PortfolioRowWriter;
+import investflow.services.PortfolioExportService;
+import investflow.sharding.PortfolioShardRouter;
+import investflow.sharding.ShardContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+@Slf4j
+@Service
+public class PortfolioExportServiceImpl implements PortfolioExportService {
+
+    /**
+     * The same fingerprint as {@link investflow.repositories.PortfolioRepository#findTableStamp()}.
+     */
+    static final String STAMP_QUERY = "select count(*), coalesce(max(id), 0), coalesce(sum(id), 0), "
+            + "coalesce(sum(version), 0) from portfolio";
+
+    static final String EXPORT_QUERY = "select id, name, monthly_amount, duration_months, created_at, updated_at, "
+            + "version from portfolio order by id";
+
+    static final int FETCH_SIZE = 1_000;
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final DataSource dataSource;
+
+    private final int shardCount;
+
+    public PortfolioExportServiceImpl(DataSource dataSource, ObjectProvider<PortfolioShardRouter> shardRouter) {
+        this.dataSource = dataSource;
+        PortfolioShardRouter router = shardRouter.getIfAvailable();
+        this.shardCount = router != null ? router.shardCount() : 1;
+    }
+
+    /**
+     * InnoDB fixes a repeatable-read snapshot at a transaction's first read, which is the stamp
+     * query; the export query runs later on the same connection and sees the same rows.
+     */
+    @Override
+    public Snapshot openSnapshot() {
+        List<Connection> connections = new ArrayList<>(shardCount);
+        try {
+            long count = 0;
+            int maxId = 0;
+            long idSum = 0;
+            long versionSum = 0;
+            for (int shard = 0; shard < shardCount; shard++) {
+                Connection connection = ShardContext.callOn(shard, () -> DataSourceUtils.getConnection(dataSource));
+                connections.add(connection);
+                connection.setReadOnly(true);
+                connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+                connection.setAutoCommit(false);
+                try (Statement statement = connection.createStatement();
+                     ResultSet stamp = statement.executeQuery(STAMP_QUERY)) {
+                    stamp.next();
+                    count += stamp.getLong(1);
+                    maxId = Math.max(maxId, stamp.getInt(2));
+                    idSum += stamp.getLong(3);
+                    versionSum += stamp.getLong(4);
+                }
+            }
+            return new ShardSnapshot(connections, new PortfolioTableStampDTO(count, maxId, idSum, versionSum));
+        } catch (SQLException e) {
+            release(connections);
+            throw new UncategorizedSQLException("Export snapshot", STAMP_QUERY, e);
+        } catch (RuntimeException e) {
+            release(connections);
+            throw e;
+        }
+    }
+
+    /**
+     * The snapshot only ever reads, so its transactions are rolled back.
+     */
+    private void release(List<Connection> connections) {
+        for (Connection connection : connections) {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                log.warn("Failed to end an export snapshot", e);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, dataSource);
+            }
+        }
+    }
+
+    private final class ShardSnapshot implements Snapshot {
+
+        private final List<Connection> connections;
+
+        private final PortfolioTableStampDTO stamp;
+
+        private boolean closed;
+
+        ShardSnapshot(List<Connection> connections, PortfolioTableStampDTO stamp) {
+            this.connections = connections;
+            this.stamp = stamp;
+        }
+
+        @Override
+        public PortfolioTableStampDTO stamp() {
+            return stamp;
+        }
+
+        @Override
+        public void export(ExportFormat format, OutputStream out) {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+            PortfolioRowWriter rowWriter = new PortfolioRowWriter(format, writer);
+            boolean[] firstRow = {true};
+            RowCallbackHandler handler = rs -> {
+                try {
+                    rowWriter.writeRow(rs);
+                    if (firstRow[0]) {
+                        // Push the first row out at once; later rows go out as the buffer fills.
+                        writer.flush();
+                        firstRow[0] = false;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+
+            try {
+                rowWriter.writeHeader();
+                exportShards(handler);
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Opens a cursor on every shard at once and interleaves their rows by id, so a sharded export
+         * has the same order as an unsharded one and holds only one row per shard at a time.
+         */
+        private void exportShards(RowCallbackHandler handler) {
+            try {
+                PriorityQueue<ShardCursor> cursors = new PriorityQueue<>(Comparator.comparingInt(ShardCursor::id));
+                for (Connection connection : connections) {
+                    PreparedStatement statement = connection.prepareStatement(EXPORT_QUERY);
+                    statement.setFetchSize(FETCH_SIZE);
+                    ResultSet rows = statement.executeQuery();
+                    if (rows.next()) {
+                        cursors.add(new ShardCursor(rows, rows.getInt("id")));
+                    }
+                }
+
+                while (!cursors.isEmpty()) {
+                    ResultSet rows = cursors.poll().rows();
+                    handler.processRow(rows);
+                    if (rows.next()) {
+                        cursors.add(new ShardCursor(rows, rows.getInt("id")));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new UncategorizedSQLException("Portfolio export", EXPORT_QUERY, e);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(connections);
+            }
+        }
+    }
+
+    private record ShardCursor(ResultSet rows, int id) {}
+}
@@ -0,0 +1,194 @@
+package investflow.services.impl;
+
+import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.ResponseBatchDTO;
+import investflow.dtos.ResponseBatchItemDTO;
+import investflow.dtos.ResponseImportReportDTO;
+import investflow.exceptions.PortfolioImportException;
+import investflow.imports.ImportFormat;
+import investflow.imports.PortfolioLineReader;
+import investflow.imports.PortfolioRecordParser;
+import investflow.services.PortfolioImportService;
+import investflow.services.PortfolioService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class PortfolioImportServiceImpl implements PortfolioImportService {
+
+    static final int CHUNK_SIZE = 1_000;
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final PortfolioService portfolioService;
+
+    private final Validator validator;
+
+    private final PortfolioRecordParser parser;
+
+    public PortfolioImportServiceImpl(PortfolioService portfolioService, Validator validator, JsonMapper jsonMapper) {
+        this.portfolioService = portfolioService;
+        this.validator = validator;
+        this.parser = new PortfolioRecordParser(jsonMapper);
+    }
+
+    @Override
+    public ResponseImportReportDTO importFile(Path file, ImportFormat format, long startOffset) {
+        Progress progress = new Progress(file, startOffset);
+        Chunk chunk = new Chunk();
+
+        try (PortfolioLineReader reader = new PortfolioLineReader(
+                FileChannel.open(file, StandardOpenOption.READ), startOffset)) {
+            while (reader.next()) {
+                if (reader.isBlank()
+                        || (reader.lineOffset() == 0 && parser.isHeader(format, reader.line(), reader.length()))) {
+                    continue;
+                }
+
+                progress.rowsRead++;
+                CreatePortfolioDTO dto = parseAndValidate(format, reader, progress);
+                if (dto != null) {
+                    chunk.add(dto, reader.lineOffset(), reader.position());
+                }
+
+                if (chunk.dtos.size() == CHUNK_SIZE) {
+                    commit(chunk, progress, reader.position());
+                }
+            }
+            commit(chunk, progress, reader.position());
+        } catch (IOException | RuntimeException e) {
+            log.error("Import of {} failed after {} rows; resume from offset {}",
+                    file, progress.rowsRead, progress.committedOffset, e);
+            throw new PortfolioImportException(progress.committedOffset, e);
+        }
+
+        ResponseImportReportDTO report = progress.toReport();
+        log.info("Imported {}: {} rows read, {} imported, {} rejected at {} rows/s",
+                file, report.rowsRead(), report.imported(), report.rejected(), Math.round(report.rowsPerSecond()));
+        return report;
+    }
+
+    private CreatePortfolioDTO parseAndValidate(ImportFormat format, PortfolioLineReader reader, Progress progress) {
+        CreatePortfolioDTO dto;
+        try {
+            dto = parser.parse(format, reader.line(), reader.length());
+        } catch (IllegalArgumentException | JacksonException e) {
+            progress.reject(reader.lineOffset(), "malformed record: " + e.getMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<CreatePortfolioDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<CreatePortfolioDTO> violation = violations.iterator().next();
+            progress.reject(reader.lineOffset(), violation.getPropertyPath() + " " + violation.getMessage());
+            return null;
+        }
+        return dto;
+    }
+
+    /**
+     * Saves the chunk, moving the committed offset along as {@code saveAll} commits its own smaller
+     * batches: after the last committed record, or to {@code offset} once the whole chunk is final.
+     */
+    private void commit(Chunk chunk, Progress progress, long offset) {
+        if (!chunk.dtos.isEmpty()) {
+            ResponseBatchDTO result = portfolioService.saveAll(chunk.dtos, committed -> {
+                if (committed > 0) {
+                    progress.committedOffset = committed < chunk.dtos.size() ? chunk.lineEnds[committed - 1] : offset;
+                }
+            });
+            progress.imported += result.succeeded();
+            for (ResponseBatchItemDTO item : result.items()) {
+                if (item.error() != null) {
+                    progress.reject(chunk.lineOffsets[item.index()], item.error());
+                }
+            }
+            chunk.dtos.clear();
+        }
+
+        progress.committedOffset = offset;
+        progress.logIfDue();
+    }
+
+    private static final class Chunk {
+
+        private final List<CreatePortfolioDTO> dtos = new ArrayList<>(CHUNK_SIZE);
+
+        private final long[] lineOffsets = new long[CHUNK_SIZE];
+
+        private final long[] lineEnds = new long[CHUNK_SIZE];
+
+        void add(CreatePortfolioDTO dto, long lineOffset, long lineEnd) {
+            lineOffsets[dtos.size()] = lineOffset;
+            lineEnds[dtos.size()] = lineEnd;
+            dtos.add(dto);
+        }
+    }
+
+    private static final class Progress {
+
+        private final Path file;
+
+        private final long startedAt = System.nanoTime();
+
+        private long lastLoggedAt = startedAt;
+
+        private long rowsRead;
+
+        private long imported;
+
+        private long rejected;
+
+        // Advanced from the shard threads of a sharded saveAll
+        private volatile long committedOffset;
+
+        private final List<String> errors = new ArrayList<>();
+
+        Progress(Path file, long startOffset) {
+            this.file = file;
+            this.committedOffset = startOffset;
+        }
+
+        void reject(long offset, String reason) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(offset >= 0 ? "offset " + offset + ": " + reason : reason);
+            }
+        }
+
+        void logIfDue() {
+            long now = System.nanoTime();
+            if (now - lastLoggedAt >= PROGRESS_INTERVAL_NANOS) {
+                lastLoggedAt = now;
+                log.info("Importing {}: {} rows read, {} imported, {} rows/s, committed offset {}",
+                        file, rowsRead, imported, Math.round(rowsPerSecond(now)), committedOffset);
+            }
+        }
+
+        double rowsPerSecond(long now) {
+            double seconds = (now - startedAt) / 1e9;
+            return seconds > 0 ? rowsRead / seconds : 0.0;
+        }
+
+        ResponseImportReportDTO toReport() {
+            return new ResponseImportReportDTO(rowsRead, imported, rejected, committedOffset,
+                    rowsPerSecond(System.nanoTime()), List.copyOf(errors));
+        }
+    }
+}
@@ -1,65 +1,495 @@
 package investflow.services.impl;
 
+import investflow.admission.AdmissionControlled;
+import investflow.admission.Bulkhead;
+import investflow.config.CacheConfig;
 import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.PatchPortfolioDTO;
+import investflow.dtos.PortfolioCreatedKeyDTO;
+import investflow.dtos.PortfolioPageStampDTO;
+import investflow.dtos.PortfolioStampDTO;
+import investflow.dtos.PortfolioTableStampDTO;
+import investflow.dtos.ResponseBatchDTO;
+import investflow.dtos.ResponseBatchItemDTO;
 import investflow.dtos.ResponsePortfolioDTO;
+import investflow.dtos.ResponsePortfolioPageDTO;
+import investflow.dtos.ResponsePortfolioSearchDTO;
+import investflow.dtos.SearchPortfolioDTO;
+import investflow.dtos.UpdatePortfolioDTO;
+import investflow.events.PortfolioDeletedEvent;
+import investflow.events.PortfolioSavedEvent;
+import investflow.events.PortfolioUpdatedEvent;
+import investflow.exceptions.InvalidPortfolioRequestException;
 import investflow.exceptions.PortfolioAlreadyExistsException;
 import investflow.exceptions.PortfolioNotFoundException;
+import investflow.exceptions.PortfolioVersionConflictException;
 import investflow.mappers.PortfolioRequestMapper;
 import investflow.mappers.PortfolioResponseMapper;
 import investflow.models.Portfolio;
 import investflow.repositories.PortfolioRepository;
+import investflow.search.PortfolioSearchCursor;
+import investflow.search.PortfolioSortField;
+import investflow.search.PortfolioSpecifications;
+import investflow.sharding.PortfolioIdGenerator;
+import investflow.sharding.PortfolioShards;
 import investflow.services.PortfolioService;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
+@Timed(value = PortfolioServiceImpl.METRIC_NAME, histogram = true)
 public class PortfolioServiceImpl implements PortfolioService {
 
+    static final String METRIC_NAME = "portfolio.service";
+
+    static final String FAILURE_METRIC_NAME = "portfolio.service.failures";
+
+    static final int MAX_PAGE_SIZE = 500;
+
+    static final int MAX_BATCH_SIZE = 5_000;
+
+    /** Matches hibernate.jdbc.batch_size so every flush sends whole JDBC batches. */
+    static final int BATCH_CHUNK_SIZE = 50;
+
+    /**
+     * Constructor arguments of {@link ResponsePortfolioDTO}, so search pages are selected straight
+     * into it like {@link PortfolioRepository#SELECT_DTO}, without managed entities or the mapper.
+     */
+    private static final String[] DTO_ATTRIBUTES =
+            {"id", "name", "monthlyAmount", "durationMonths", "createdAt", "updatedAt", "version"};
+
+    private static final String[] STAMP_ATTRIBUTES = {"id", "version", "updatedAt"};
+
     private final PortfolioRepository portfolioRepository;
 
     private final PortfolioResponseMapper responseMapper;
 
+    private final EntityManager entityManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final CacheManager cacheManager;
+
+    private final PlatformTransactionManager transactionManager;
+
+    /** Only present with sharding on; otherwise ids come from {@code portfolio_seq}. */
+    private final ObjectProvider<PortfolioIdGenerator> idGenerator;
+
     @Override
+    @AdmissionControlled(Bulkhead.WRITES)
     @Transactional
+    @CachePut(cacheNames = CacheConfig.PORTFOLIOS, key = "#result.id()")
+    @Counted(value = FAILURE_METRIC_NAME, recordFailuresOnly = true)
     public ResponsePortfolioDTO save(@NotNull CreatePortfolioDTO dto) {
-        if (portfolioRepository.existsByName(dto.name())) {
-            throw new PortfolioAlreadyExistsException(dto.name());
+        Portfolio savedEntity = toEntity(dto);
+
+        try {
+            Portfolio portfolio = portfolioRepository.saveAndFlush(savedEntity);
+            ResponsePortfolioDTO saved = responseMapper.toDTO(portfolio);
+            eventPublisher.publishEvent(new PortfolioSavedEvent(saved));
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            if (isNameConflict(e)) {
+                throw new PortfolioAlreadyExistsException(dto.name());
+            }
+            throw e;
         }
+    }
 
-        Portfolio savedEntity = PortfolioRequestMapper.toEntity(dto);
-        Portfolio portfolio = portfolioRepository.save(savedEntity);
+    @Override
+    @AdmissionControlled(Bulkhead.WRITES)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Counted(value = FAILURE_METRIC_NAME, recordFailuresOnly = true)
+    public ResponseBatchDTO saveAll(@NotNull List<CreatePortfolioDTO> dtos) {
+        return saveAll(dtos, committed -> { });
+    }
 
-        return responseMapper.toDTO(portfolio);
+    /**
+     * Runs outside any surrounding transaction: every chunk commits on its own in
+     * {@link #saveChunk}, so a failure late in a large batch does not roll back the rows before it.
+     */
+    @Override
+    @AdmissionControlled(Bulkhead.WRITES)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Counted(value = FAILURE_METRIC_NAME, recordFailuresOnly = true)
+    public ResponseBatchDTO saveAll(@NotNull List<CreatePortfolioDTO> dtos, @NotNull IntConsumer onCommitted) {
+        if (dtos.size() > MAX_BATCH_SIZE) {
+            throw new InvalidPortfolioRequestException(
+                    "Batch size must not exceed " + MAX_BATCH_SIZE + ": " + dtos.size());
+        }
+
+        // Names are compared folded, as the name column's case- and accent-insensitive collation does.
+        Set<String> names = new HashSet<>();
+        dtos.forEach(dto -> names.add(dto.name()));
+        Set<String> takenNames = new HashSet<>();
+        if (!names.isEmpty()) {
+            portfolioRepository.findExistingNames(names).forEach(name -> takenNames.add(PortfolioShards.fold(name)));
+        }
+
+        ResponseBatchItemDTO[] items = new ResponseBatchItemDTO[dtos.size()];
+        List<Integer> chunk = new ArrayList<>(BATCH_CHUNK_SIZE);
+
+        for (int index = 0; index < dtos.size(); index++) {
+            CreatePortfolioDTO dto = dtos.get(index);
+            if (!takenNames.add(PortfolioShards.fold(dto.name()))) {
+                items[index] = new ResponseBatchItemDTO(index, dto.name(), null,
+                        new PortfolioAlreadyExistsException(dto.name()).getMessage());
+                continue;
+            }
+
+            chunk.add(index);
+            if (chunk.size() == BATCH_CHUNK_SIZE) {
+                saveChunk(dtos, chunk, items, onCommitted);
+            }
+        }
+        saveChunk(dtos, chunk, items, onCommitted);
+        onCommitted.accept(dtos.size());
+
+        int failed = (int) Arrays.stream(items).filter(item -> item.error() != null).count();
+        return new ResponseBatchDTO(dtos.size() - failed, failed, Arrays.asList(items));
+    }
+
+    private Portfolio toEntity(CreatePortfolioDTO dto) {
+        Portfolio portfolio = PortfolioRequestMapper.toEntity(dto);
+        idGenerator.ifAvailable(generator -> portfolio.setId(generator.nextId(dto.name())));
+        return portfolio;
+    }
+
+    /**
+     * Commits the chunk in a transaction of its own. When a row violates a constraint, for example
+     * a name taken concurrently since {@code findExistingNames}, the chunk is retried one row per
+     * transaction so that only the offending rows fail. Every item up to the last one committed is
+     * final by then, since chunks hold ascending indexes and the items between them were rejected
+     * up front; {@code onCommitted} is told how many.
+     */
+    private void saveChunk(List<CreatePortfolioDTO> dtos, List<Integer> chunk, ResponseBatchItemDTO[] items,
+                           IntConsumer onCommitted) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try {
+            transaction.executeWithoutResult(status -> insert(dtos, chunk, items));
+            onCommitted.accept(chunk.get(chunk.size() - 1) + 1);
+        } catch (DataIntegrityViolationException e) {
+            for (int index : chunk) {
+                CreatePortfolioDTO dto = dtos.get(index);
+                try {
+                    transaction.executeWithoutResult(status -> insert(dtos, List.of(index), items));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    items[index] = new ResponseBatchItemDTO(index, dto.name(), null, isNameConflict(rowFailure)
+                            ? new PortfolioAlreadyExistsException(dto.name()).getMessage()
+                            : "Portfolio conflicts with existing data");
+                }
+                onCommitted.accept(index + 1);
+            }
+        }
+        chunk.clear();
+    }
+
+    /**
+     * Inserts the rows as JDBC batches, records the results and clears the persistence context
+     * so large imports do not accumulate managed entities. Entities are built afresh on every
+     * attempt, since a failed flush leaves the previous ones with a version and possibly an id.
+     */
+    private void insert(List<CreatePortfolioDTO> dtos, List<Integer> indexes, ResponseBatchItemDTO[] items) {
+        List<Portfolio> saved = portfolioRepository.saveAll(
+                indexes.stream().map(dtos::get).map(this::toEntity).toList());
+        portfolioRepository.flush();
+
+        for (int i = 0; i < saved.size(); i++) {
+            Portfolio portfolio = saved.get(i);
+            ResponsePortfolioDTO dto = responseMapper.toDTO(portfolio);
+            items[indexes.get(i)] = new ResponseBatchItemDTO(indexes.get(i), portfolio.getName(), dto, null);
+            eventPublisher.publishEvent(new PortfolioSavedEvent(dto));
+        }
+
+        entityManager.clear();
     }
 
     @Override
+    @AdmissionControlled(Bulkhead.READS)
+    @Cacheable(cacheNames = CacheConfig.PORTFOLIOS, key = "#id")
+    @Counted(value = FAILURE_METRIC_NAME, recordFailuresOnly = true)
     public ResponsePortfolioDTO findById(Integer id) {
-        return portfolioRepository.findById(id).map(responseMapper::toDTO)
+        return portfolioRepository.findDTOById(id)
                 .orElseThrow(() -> new PortfolioNotFoundException(id));
     }
 
     @Override
+    @AdmissionControlled(Bulkhead.READS)
+    @Counted(value = FAILURE_METRIC_NAME, recordFailuresOnly = true)
     public Iterable<ResponsePortfolioDTO> findAll() {
-        List<Portfolio> portfolios = portfolioRepository.findAll();
+        return portfolioRepository.findAllDTOs();
+    }
+
+    @Override
+    @AdmissionControlled(Bulkhead.READS)
+    @Counted(value = FAILURE_METRIC_NAME, recordFailuresOnly = true)
+    public PortfolioStampDTO findStampById(Integer id) {
+        return portfolioRepository.findStampById(id)
+                .orElseThrow(() -> new PortfolioNotFoundException(id));
+    }
+
+    @Override
+    @AdmissionControlled(Bulkhead.READS)
+    @Counted(value = FAILURE_METRIC_NAME, recordFailuresOnly = true)
+    public PortfolioTableStampDTO findTableStamp() {
+        return portfolioRepository.findTableStamp();
+    }
+
+    @Override
+    @AdmissionControlled(Bulkhead.READS)
+    @Counted(value = FAILURE_METRIC_NAME, recordFailuresOnly = true)
+    public ResponsePortfolioPageDTO findAll(Integer afterId, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int cursor = afterId == null ? 0 : afterId;
+
+        List<ResponsePortfolioDTO> content = portfolioRepository
+                .findDTOsByIdGreaterThan(cursor, Limit.of(pageSize));
+
+        Integer nextCursor = content.size() == pageSize ? content.get(content.size() - 1).id() : null;
+        return new ResponsePortfolioPageDTO(content, nextCursor);
+    }
+
+    @Override
+    @AdmissionControlled(Bulkhead.READS)
+    @Counted(value = FAILURE_METRIC_NAME, recordFailuresOnly = true)
+    public PortfolioPageStampDTO findPageStamp(Integer afterId, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        int cursor = afterId == null ? 0 : afterId;
+
+        List<PortfolioStampDTO> content = portfolioRepository.findStampsByIdGreaterThan(cursor, Limit.of(pageSize));
+        return new PortfolioPageStampDTO(content, content.size() == pageSize);
+    }
+
+    @Override
+    @AdmissionControlled(Bulkhead.READS)
+    @Counted(value = FAILURE_METRIC_NAME, recordFailuresOnly = true)
+    public ResponsePortfolioSearchDTO search(@NotNull SearchPortfolioDTO criteria, @NotNull PortfolioSortField sortField,
+                                             @NotNull Sort.Direction direction, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        List<ResponsePortfolioDTO> content = portfolioRepository.findProjectedBy(
+                searchSpecification(criteria, sortField, direction, cursor), sortField.sort(direction), pageSize,
+                ResponsePortfolioDTO.class, DTO_ATTRIBUTES);
+
+        String nextCursor = content.size() == pageSize
+                ? PortfolioSearchCursor.after(sortField, direction, content.get(content.size() - 1)).encode()
+                : null;
+        return new ResponsePortfolioSearchDTO(content, nextCursor);
+    }
+
+    @Override
+    @AdmissionControlled(Bulkhead.READS)
+    @Counted(value = FAILURE_METRIC_NAME, recordFailuresOnly = true)
+    public PortfolioPageStampDTO searchStamp(@NotNull SearchPortfolioDTO criteria, @NotNull PortfolioSortField sortField,
+                                             @NotNull Sort.Direction direction, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+        List<PortfolioStampDTO> content = portfolioRepository.findProjectedBy(
+                searchSpecification(criteria, sortField, direction, cursor), sortField.sort(direction), pageSize,
+                PortfolioStampDTO.class, STAMP_ATTRIBUTES);
+        return new PortfolioPageStampDTO(content, content.size() == pageSize);
+    }
+
+    private static Specification<Portfolio> searchSpecification(SearchPortfolioDTO criteria,
+                                                                PortfolioSortField sortField,
+                                                                Sort.Direction direction, String cursor) {
+        Specification<Portfolio> specification = PortfolioSpecifications.matching(criteria);
+        if (cursor != null) {
+            specification = specification.and(
+                    PortfolioSpecifications.after(PortfolioSearchCursor.decode(cursor, sortField, direction)));
+        }
+        return specification;
+    }
 
-        return portfolios.stream()
-                .map(responseMapper::toDTO)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<ResponsePortfolioDTO> streamAll() {
+        return portfolioRepository.streamAllDTOs();
+    }
+
+    @Override
+    @AdmissionControlled(Bulkhead.WRITES)
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PORTFOLIOS, key = "#id")
+    @Counted(value = FAILURE_METRIC_NAME, recordFailuresOnly = true)
+    public ResponsePortfolioDTO update(Integer id, @NotNull UpdatePortfolioDTO dto) {
+        return applyChanges(id, dto.version(), portfolio -> {
+            portfolio.setName(dto.name());
+            portfolio.setMonthlyAmount(dto.monthlyAmount());
+            portfolio.setDurationMonths(dto.durationMonths());
+        });
     }
 
     @Override
+    @AdmissionControlled(Bulkhead.WRITES)
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PORTFOLIOS, key = "#id")
+    @Counted(value = FAILURE_METRIC_NAME, recordFailuresOnly = true)
+    public ResponsePortfolioDTO patch(Integer id, @NotNull PatchPortfolioDTO dto) {
+        return applyChanges(id, dto.version(), portfolio -> {
+            if (dto.name() != null) {
+                portfolio.setName(dto.name());
+            }
+            if (dto.monthlyAmount() != null) {
+                portfolio.setMonthlyAmount(dto.monthlyAmount());
+            }
+            if (dto.durationMonths() != null) {
+                portfolio.setDurationMonths(dto.durationMonths());
+            }
+        });
+    }
+
+    /**
+     * Applies the changes to the managed entity and flushes, so Hibernate issues a single
+     * {@code update ... where id = ? and version = ?} with only the dirty columns. A version that
+     * is already stale on read, or becomes stale before the flush, surfaces as
+     * {@link PortfolioVersionConflictException}. The cached entry is evicted rather than replaced,
+     * so out-of-order commits can never leave an older version in the cache.
+     */
+    private ResponsePortfolioDTO applyChanges(Integer id, Long expectedVersion, Consumer<Portfolio> changes) {
+        Portfolio portfolio = portfolioRepository.findById(id)
+                .orElseThrow(() -> new PortfolioNotFoundException(id));
+        if (!Objects.equals(portfolio.getVersion(), expectedVersion)) {
+            throw new PortfolioVersionConflictException(id, expectedVersion);
+        }
+
+        ResponsePortfolioDTO previous = responseMapper.toDTO(portfolio);
+        changes.accept(portfolio);
+
+        try {
+            portfolioRepository.flush();
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new PortfolioVersionConflictException(id, expectedVersion);
+        } catch (DataIntegrityViolationException e) {
+            if (isNameConflict(e)) {
+                throw new PortfolioAlreadyExistsException(portfolio.getName());
+            }
+            throw e;
+        }
+
+        ResponsePortfolioDTO current = responseMapper.toDTO(portfolio);
+        if (!current.equals(previous)) {
+            eventPublisher.publishEvent(new PortfolioUpdatedEvent(previous, current));
+        }
+        return current;
+    }
+
+    @Override
+    @AdmissionControlled(Bulkhead.WRITES)
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PORTFOLIOS, key = "#id")
+    @Counted(value = FAILURE_METRIC_NAME, recordFailuresOnly = true)
     public void deleteById(Integer id) {
-        if (!portfolioRepository.existsById(id)) {
+        if (deleteRows(List.of(id)).isEmpty()) {
             throw new PortfolioNotFoundException(id);
         }
-        portfolioRepository.deleteById(id);
+    }
+
+    @Override
+    @AdmissionControlled(Bulkhead.WRITES)
+    @Transactional
+    @Counted(value = FAILURE_METRIC_NAME, recordFailuresOnly = true)
+    public int deleteAllById(@NotNull Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        List<ResponsePortfolioDTO> deleted = deleteRows(ids);
+        Cache cache = cacheManager.getCache(CacheConfig.PORTFOLIOS);
+        if (cache != null) {
+            deleted.forEach(portfolio -> cache.evict(portfolio.id()));
+        }
+        return deleted.size();
+    }
+
+    @Override
+    @AdmissionControlled(Bulkhead.READS)
+    @Counted(value = FAILURE_METRIC_NAME, recordFailuresOnly = true)
+    public List<PortfolioCreatedKeyDTO> findKeysCreatedBefore(@NotNull LocalDate date, PortfolioCreatedKeyDTO after,
+                                                              int limit) {
+        Limit rows = Limit.of(Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        return after == null
+                ? portfolioRepository.findKeysCreatedBefore(date, rows)
+                : portfolioRepository.findKeysCreatedBefore(date, after.createdAt(), after.id(), rows);
+    }
+
+    /**
+     * Deletes the rows with one {@code DELETE ... WHERE id IN} and no managed entities. The rows are
+     * read and locked first because the delete events carry their last state; the lock guarantees
+     * that state is exactly what the statement removes, so a different row count means the lock did
+     * not hold and the transaction is rolled back rather than publishing events for the wrong rows.
+     */
+    private List<ResponsePortfolioDTO> deleteRows(Collection<Integer> ids) {
+        List<ResponsePortfolioDTO> portfolios = portfolioRepository.findDTOsByIdInForUpdate(ids);
+        if (portfolios.isEmpty()) {
+            return portfolios;
+        }
+
+        int deleted = portfolioRepository.deleteByIds(portfolios.stream().map(ResponsePortfolioDTO::id).toList());
+        if (deleted != portfolios.size()) {
+            throw new IncorrectUpdateSemanticsDataAccessException(
+                    "Deleted " + deleted + " portfolios but locked " + portfolios.size());
+        }
+        portfolios.forEach(portfolio -> eventPublisher.publishEvent(new PortfolioDeletedEvent(portfolio)));
+        return portfolios;
+    }
+
+    /**
+     * The unique index on {@code name} is the source of truth for uniqueness, so concurrent
+     * creates of the same name cannot both succeed and no pre-check query is needed. Only a
+     * violation of that index counts: a duplicate primary key or a NOT NULL failure is not a name
+     * conflict. Violations raised outside Hibernate, such as over R2DBC, carry the index name only
+     * in the driver's message.
+     */
+    static boolean isNameConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                return violation.getConstraintName().toLowerCase().contains(Portfolio.NAME_CONSTRAINT);
+            }
+            if (cause.getMessage() != null && cause.getMessage().toLowerCase().contains(Portfolio.NAME_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,127 @@
+package investflow.services.impl;
+
+import investflow.config.ProjectionSimulationProperties;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.dtos.ResponseProjectionDTO;
+import investflow.dtos.ResponseSimulationDTO;
+import investflow.exceptions.InvalidPortfolioRequestException;
+import investflow.projections.MonteCarloSimulator;
+import investflow.projections.PercentileSketch;
+import investflow.projections.ProjectionEngine;
+import investflow.projections.ProjectionSchedule;
+import investflow.services.PortfolioService;
+import investflow.services.ProjectionService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+public class ProjectionServiceImpl implements ProjectionService {
+
+    static final int MAX_SIMULATION_PATHS = 1_000_000;
+
+    private final PortfolioService portfolioService;
+
+    /**
+     * Simulations run on a pool of their own, so a burst of large requests cannot starve parallel
+     * streams and other users of the common pool.
+     */
+    private final ForkJoinPool simulationPool;
+
+    @Autowired
+    public ProjectionServiceImpl(PortfolioService portfolioService, ProjectionSimulationProperties properties) {
+        this(portfolioService, new ForkJoinPool(properties.threads(), ProjectionServiceImpl::simulationThread,
+                null, false));
+    }
+
+    ProjectionServiceImpl(PortfolioService portfolioService, ForkJoinPool simulationPool) {
+        this.portfolioService = portfolioService;
+        this.simulationPool = simulationPool;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        simulationPool.shutdown();
+    }
+
+    @Override
+    public ResponseProjectionDTO project(Integer portfolioId, double annualRate, boolean includeSchedule) {
+        ResponsePortfolioDTO portfolio = portfolioService.findById(portfolioId);
+        double monthlyAmount = portfolio.monthlyAmount();
+        int months = portfolio.durationMonths();
+
+        if (includeSchedule) {
+            ProjectionSchedule schedule = ProjectionEngine.schedule(monthlyAmount, annualRate, months);
+            return new ResponseProjectionDTO(
+                    portfolioId,
+                    annualRate,
+                    schedule.totalContributed(),
+                    schedule.finalValue(),
+                    schedule.totalInterest(),
+                    schedule.contributed(),
+                    schedule.balance(),
+                    schedule.interest()
+            );
+        }
+
+        double finalValue = ProjectionEngine.futureValue(
+                monthlyAmount, ProjectionEngine.monthlyRate(annualRate), months);
+        double totalContributed = monthlyAmount * Math.max(months, 0);
+
+        return new ResponseProjectionDTO(
+                portfolioId,
+                annualRate,
+                totalContributed,
+                finalValue,
+                finalValue - totalContributed,
+                null,
+                null,
+                null
+        );
+    }
+
+    @Override
+    public ResponseSimulationDTO simulate(Integer portfolioId, int paths, double expectedAnnualReturn,
+                                          double annualVolatility, Long seed) {
+        if (paths <= 0 || paths > MAX_SIMULATION_PATHS) {
+            throw new InvalidPortfolioRequestException(
+                    "Paths must be between 1 and " + MAX_SIMULATION_PATHS + ": " + paths);
+        }
+        if (!MonteCarloSimulator.isValidAssumption(expectedAnnualReturn, annualVolatility)) {
+            throw new InvalidPortfolioRequestException("Invalid return assumptions: "
+                    + expectedAnnualReturn + ", " + annualVolatility);
+        }
+
+        ResponsePortfolioDTO portfolio = portfolioService.findById(portfolioId);
+        long effectiveSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+
+        PercentileSketch outcomes = MonteCarloSimulator.simulate(
+                simulationPool,
+                portfolio.monthlyAmount(),
+                portfolio.durationMonths(),
+                expectedAnnualReturn,
+                annualVolatility,
+                paths,
+                effectiveSeed
+        );
+
+        return new ResponseSimulationDTO(
+                portfolioId,
+                paths,
+                portfolio.monthlyAmount() * Math.max(portfolio.durationMonths(), 0),
+                outcomes.quantile(0.05),
+                outcomes.quantile(0.50),
+                outcomes.quantile(0.95)
+        );
+    }
+
+    private static ForkJoinWorkerThread simulationThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("projection-simulation-" + thread.getPoolIndex());
+        return thread;
+    }
+}
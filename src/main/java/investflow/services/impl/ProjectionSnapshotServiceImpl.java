@@ -0,0 +1,283 @@
+package investflow.services.impl;
+
+import investflow.config.ProjectionSnapshotProperties;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.dtos.ResponseProjectionDTO;
+import investflow.dtos.ResponseProjectionRebuildDTO;
+import investflow.events.PortfolioDeletedEvent;
+import investflow.events.PortfolioSavedEvent;
+import investflow.events.PortfolioUpdatedEvent;
+import investflow.models.PortfolioProjection;
+import investflow.models.ProjectionRate;
+import investflow.projections.ProjectionEngine;
+import investflow.repositories.PortfolioProjectionRepository;
+import investflow.repositories.PortfolioRepository;
+import investflow.services.PortfolioService;
+import investflow.services.ProjectionSnapshotService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps one {@link PortfolioProjection} row per portfolio so projections at the configured rate
+ * are a primary-key lookup instead of a computation. Snapshots are refreshed after commit on a
+ * small bounded pool; when its queue is full the committing thread runs the refresh itself,
+ * which slows writers down rather than dropping work. Refreshes may land out of order, so reads
+ * check the snapshot's portfolio version and rate and recompute anything stale. The rate set by
+ * the last rebuild is stored in {@link ProjectionRate} and polled, so every instance converges on
+ * it; until one is stored the configured rate applies.
+ */
+@Slf4j
+@Service
+public class ProjectionSnapshotServiceImpl implements ProjectionSnapshotService {
+
+    private static final String IF_NEWER_VERSION =
+            "%1$s = case when new.portfolio_version >= portfolio_projection.portfolio_version "
+                    + "then new.%1$s else portfolio_projection.%1$s end";
+
+    /**
+     * Inserts only while the portfolio exists, so a refresh landing after its delete leaves no
+     * orphan, and never replaces a snapshot of a newer portfolio version. The incoming row is
+     * the derived table {@code new}, the {@code INSERT ... SELECT} form of a row alias, instead
+     * of the deprecated {@code VALUES(col)}. MySQL applies the assignments in order, so
+     * {@code portfolio_version} has to come last.
+     */
+    static final String UPSERT = "insert into portfolio_projection "
+            + "(portfolio_id, portfolio_version, annual_rate, total_contributed, final_value, total_interest, computed_at) "
+            + "select * from (select ? as portfolio_id, ? as portfolio_version, ? as annual_rate, "
+            + "? as total_contributed, ? as final_value, ? as total_interest, ? as computed_at "
+            + "from portfolio where id = ?) as new on duplicate key update "
+            + Stream.of("annual_rate", "total_contributed", "final_value", "total_interest", "computed_at")
+                    .map(IF_NEWER_VERSION::formatted)
+                    .collect(Collectors.joining(", "))
+            + ", portfolio_version = greatest(portfolio_projection.portfolio_version, new.portfolio_version)";
+
+    static final String SELECT_RATE = "select annual_rate from projection_rate where id = " + ProjectionRate.SINGLETON_ID;
+
+    static final String UPSERT_RATE = "insert into projection_rate (id, annual_rate) values ("
+            + ProjectionRate.SINGLETON_ID + ", ?) as new on duplicate key update annual_rate = new.annual_rate";
+
+    static final String DELETE = "delete from portfolio_projection where portfolio_id = ?";
+
+    static final String DELETE_ORPHANS = "delete from portfolio_projection where not exists "
+            + "(select 1 from portfolio p where p.id = portfolio_projection.portfolio_id)";
+
+    private final PortfolioService portfolioService;
+
+    private final PortfolioRepository portfolioRepository;
+
+    private final PortfolioProjectionRepository projectionRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Executor executor;
+
+    private final int rebuildChunkSize;
+
+    private volatile double annualRate;
+
+    @Autowired
+    public ProjectionSnapshotServiceImpl(PortfolioService portfolioService,
+                                         PortfolioRepository portfolioRepository,
+                                         PortfolioProjectionRepository projectionRepository,
+                                         DataSource dataSource,
+                                         ProjectionSnapshotProperties properties) {
+        this(portfolioService, portfolioRepository, projectionRepository, new JdbcTemplate(dataSource),
+                new ThreadPoolExecutor(properties.threads(), properties.threads(), 0, TimeUnit.MILLISECONDS,
+                        new ArrayBlockingQueue<>(properties.queueCapacity()),
+                        daemonThreads(), new ThreadPoolExecutor.CallerRunsPolicy()),
+                properties);
+    }
+
+    ProjectionSnapshotServiceImpl(PortfolioService portfolioService,
+                                  PortfolioRepository portfolioRepository,
+                                  PortfolioProjectionRepository projectionRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  Executor executor,
+                                  ProjectionSnapshotProperties properties) {
+        // Rejects an invalid configured rate at startup rather than on the first read
+        ProjectionEngine.monthlyRate(properties.annualRate());
+        this.portfolioService = portfolioService;
+        this.portfolioRepository = portfolioRepository;
+        this.projectionRepository = projectionRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.executor = executor;
+        this.rebuildChunkSize = properties.rebuildChunkSize();
+        this.annualRate = properties.annualRate();
+    }
+
+    @Override
+    public double annualRate() {
+        return annualRate;
+    }
+
+    @Override
+    public ResponseProjectionDTO findSnapshot(Integer portfolioId) {
+        ResponsePortfolioDTO portfolio = portfolioService.findById(portfolioId);
+        double rate = annualRate;
+
+        Optional<PortfolioProjection> stored = projectionRepository.findById(portfolioId);
+        PortfolioProjection snapshot;
+        if (stored.isPresent() && isCurrent(stored.get(), portfolio, rate)) {
+            snapshot = stored.get();
+        } else {
+            snapshot = compute(portfolio, rate);
+            executor.execute(() -> write(List.of(snapshot)));
+        }
+
+        return new ResponseProjectionDTO(
+                portfolioId,
+                snapshot.getAnnualRate(),
+                snapshot.getTotalContributed(),
+                snapshot.getFinalValue(),
+                snapshot.getTotalInterest(),
+                null,
+                null,
+                null
+        );
+    }
+
+    @Override
+    public ResponseProjectionRebuildDTO rebuild(double annualRate) {
+        ProjectionEngine.monthlyRate(annualRate);
+        long startedAt = System.nanoTime();
+        jdbcTemplate.update(UPSERT_RATE, annualRate);
+        this.annualRate = annualRate;
+
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        long portfolios = 0;
+        int cursor = 0;
+        List<ResponsePortfolioDTO> chunk;
+        do {
+            chunk = portfolioRepository.findDTOsByIdGreaterThan(cursor, Limit.of(rebuildChunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            portfolios += chunk.size();
+            cursor = chunk.get(chunk.size() - 1).id();
+
+            List<ResponsePortfolioDTO> portfoliosInChunk = chunk;
+            chunks.add(CompletableFuture.runAsync(() -> write(portfoliosInChunk.stream()
+                    .map(portfolio -> compute(portfolio, annualRate))
+                    .toList()), executor));
+        } while (chunk.size() == rebuildChunkSize);
+
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+        jdbcTemplate.update(DELETE_ORPHANS);
+
+        return new ResponseProjectionRebuildDTO(annualRate, portfolios,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    /**
+     * Picks up a rate stored by a rebuild on this or another instance.
+     */
+    @Scheduled(fixedDelayString = "${investflow.projections.snapshots.rate-refresh-ms:5000}")
+    public void refreshRate() {
+        try {
+            jdbcTemplate.queryForList(SELECT_RATE, Double.class).stream()
+                    .findFirst()
+                    .ifPresent(rate -> this.annualRate = rate);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read the stored projection rate; keeping {}", annualRate, e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSaved(PortfolioSavedEvent event) {
+        refreshAsync(event.portfolio());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUpdated(PortfolioUpdatedEvent event) {
+        refreshAsync(event.current());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDeleted(PortfolioDeletedEvent event) {
+        Integer portfolioId = event.portfolio().id();
+        executor.execute(() -> jdbcTemplate.update(DELETE, portfolioId));
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (executor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+            executorService.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private void refreshAsync(ResponsePortfolioDTO portfolio) {
+        double rate = annualRate;
+        executor.execute(() -> write(List.of(compute(portfolio, rate))));
+    }
+
+    private void write(List<PortfolioProjection> snapshots) {
+        try {
+            jdbcTemplate.batchUpdate(UPSERT, snapshots.stream()
+                    .map(snapshot -> new Object[]{
+                            snapshot.getPortfolioId(),
+                            snapshot.getPortfolioVersion(),
+                            snapshot.getAnnualRate(),
+                            snapshot.getTotalContributed(),
+                            snapshot.getFinalValue(),
+                            snapshot.getTotalInterest(),
+                            snapshot.getComputedAt(),
+                            snapshot.getPortfolioId()
+                    })
+                    .toList());
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} projection snapshot(s); they will be recomputed on read", snapshots.size(), e);
+        }
+    }
+
+    private static boolean isCurrent(PortfolioProjection snapshot, ResponsePortfolioDTO portfolio, double rate) {
+        return snapshot.getAnnualRate() == rate
+                && portfolio.version() != null
+                && snapshot.getPortfolioVersion() == portfolio.version();
+    }
+
+    static PortfolioProjection compute(ResponsePortfolioDTO portfolio, double annualRate) {
+        int months = Math.max(portfolio.durationMonths(), 0);
+        double totalContributed = portfolio.monthlyAmount() * months;
+        double finalValue = ProjectionEngine.futureValue(
+                portfolio.monthlyAmount(), ProjectionEngine.monthlyRate(annualRate), months);
+
+        return PortfolioProjection.builder()
+                .portfolioId(portfolio.id())
+                .portfolioVersion(portfolio.version() == null ? 0 : portfolio.version())
+                .annualRate(annualRate)
+                .totalContributed(totalContributed)
+                .finalValue(finalValue)
+                .totalInterest(finalValue - totalContributed)
+                .computedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static CustomizableThreadFactory daemonThreads() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("projection-snapshot-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
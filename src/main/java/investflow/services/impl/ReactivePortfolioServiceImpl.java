@@ -0,0 +1,90 @@
+package investflow.services.impl;
+
+import investflow.config.CacheConfig;
+import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.events.PortfolioDeletedEvent;
+import investflow.events.PortfolioSavedEvent;
+import investflow.exceptions.PortfolioAlreadyExistsException;
+import investflow.exceptions.PortfolioNotFoundException;
+import investflow.mappers.PortfolioChangeMapper;
+import investflow.outbox.PortfolioChangeType;
+import investflow.repositories.ReactivePortfolioRepository;
+import investflow.services.ReactivePortfolioService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes go through the same side effects as {@link PortfolioServiceImpl}: the outbox row is
+ * written over R2DBC in the write's own transaction, and once it commits the cached entry is
+ * evicted and the Saved/Deleted events are published, which reach the after-commit listeners
+ * (analytics totals, projection snapshots) through their fallback execution.
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactivePortfolioServiceImpl implements ReactivePortfolioService {
+
+    private final ReactivePortfolioRepository portfolioRepository;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final PortfolioChangeMapper changeMapper;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final CacheManager cacheManager;
+
+    @Override
+    public Mono<ResponsePortfolioDTO> save(CreatePortfolioDTO dto) {
+        return Mono.zip(portfolioRepository.nextPortfolioId(), portfolioRepository.nextOutboxId())
+                .flatMap(ids -> portfolioRepository.insert(ids.getT1(), dto)
+                        .flatMap(portfolio -> portfolioRepository.insertOutboxEvent(ids.getT2(),
+                                        changeMapper.toEvent(PortfolioChangeType.CREATED, portfolio))
+                                .thenReturn(portfolio))
+                        .as(transactionalOperator::transactional))
+                .onErrorMap(e -> e instanceof DataIntegrityViolationException violation
+                                && PortfolioServiceImpl.isNameConflict(violation),
+                        e -> new PortfolioAlreadyExistsException(dto.name()))
+                .doOnNext(portfolio -> eventPublisher.publishEvent(new PortfolioSavedEvent(portfolio)));
+    }
+
+    @Override
+    public Mono<ResponsePortfolioDTO> findById(Integer id) {
+        return portfolioRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new PortfolioNotFoundException(id)));
+    }
+
+    @Override
+    public Flux<ResponsePortfolioDTO> findAll() {
+        return portfolioRepository.findAll();
+    }
+
+    @Override
+    public Mono<Void> deleteById(Integer id) {
+        return portfolioRepository.nextOutboxId()
+                .flatMap(outboxId -> portfolioRepository.findByIdForUpdate(id)
+                        .switchIfEmpty(Mono.error(() -> new PortfolioNotFoundException(id)))
+                        .flatMap(portfolio -> portfolioRepository.deleteById(id)
+                                .then(portfolioRepository.insertOutboxEvent(outboxId,
+                                        changeMapper.toEvent(PortfolioChangeType.DELETED, portfolio)))
+                                .thenReturn(portfolio))
+                        .as(transactionalOperator::transactional))
+                .doOnNext(portfolio -> {
+                    Cache cache = cacheManager.getCache(CacheConfig.PORTFOLIOS);
+                    if (cache != null) {
+                        cache.evict(id);
+                    }
+                    eventPublisher.publishEvent(new PortfolioDeletedEvent(portfolio));
+                })
+                .then();
+    }
+}
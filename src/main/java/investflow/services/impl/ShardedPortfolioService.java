@@ -0,0 +1,372 @@
+package investflow.services.impl;
+
+import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.PatchPortfolioDTO;
+import investflow.dtos.PortfolioCreatedKeyDTO;
+import investflow.dtos.PortfolioPageStampDTO;
+import investflow.dtos.PortfolioStampDTO;
+import investflow.dtos.PortfolioTableStampDTO;
+import investflow.dtos.ResponseBatchDTO;
+import investflow.dtos.ResponseBatchItemDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.dtos.ResponsePortfolioPageDTO;
+import investflow.dtos.ResponsePortfolioSearchDTO;
+import investflow.dtos.SearchPortfolioDTO;
+import investflow.dtos.UpdatePortfolioDTO;
+import investflow.exceptions.InvalidPortfolioRequestException;
+import investflow.exceptions.PortfolioAlreadyExistsException;
+import investflow.repositories.PortfolioRepository;
+import investflow.search.PortfolioSearchCursor;
+import investflow.search.PortfolioSortField;
+import investflow.services.PortfolioService;
+import investflow.sharding.PortfolioShardRouter;
+import investflow.sharding.PortfolioShards;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Routes {@link PortfolioService} calls across shards. Calls about one portfolio go to the shard
+ * its id (or, for creates, its name) maps to; listings ask every shard in parallel for a page
+ * after the same keyset cursor and merge the pages in cursor order, so each shard reads at most
+ * one page per request. Every call on a shard runs in its own transaction there.
+ */
+public class ShardedPortfolioService implements PortfolioService {
+
+    private final PortfolioService delegate;
+
+    private final PortfolioRepository portfolioRepository;
+
+    private final PortfolioShardRouter router;
+
+    public ShardedPortfolioService(PortfolioService delegate, PortfolioRepository portfolioRepository,
+                                   PortfolioShardRouter router) {
+        this.delegate = delegate;
+        this.portfolioRepository = portfolioRepository;
+        this.router = router;
+    }
+
+    @Override
+    public ResponsePortfolioDTO save(CreatePortfolioDTO dto) {
+        if (!takenOnOtherShards(List.of(dto.name()), router::shardOfName).isEmpty()) {
+            throw new PortfolioAlreadyExistsException(dto.name());
+        }
+        return router.onShard(router.shardOfName(dto.name()), () -> delegate.save(dto));
+    }
+
+    @Override
+    public ResponseBatchDTO saveAll(List<CreatePortfolioDTO> dtos) {
+        return saveAll(dtos, committed -> { });
+    }
+
+    @Override
+    public ResponseBatchDTO saveAll(List<CreatePortfolioDTO> dtos, IntConsumer onCommitted) {
+        if (dtos.size() > PortfolioServiceImpl.MAX_BATCH_SIZE) {
+            throw new InvalidPortfolioRequestException("Batch size must not exceed "
+                    + PortfolioServiceImpl.MAX_BATCH_SIZE + ": " + dtos.size());
+        }
+
+        Set<String> takenElsewhere = takenOnOtherShards(
+                dtos.stream().map(CreatePortfolioDTO::name).toList(), router::shardOfName);
+        ResponseBatchItemDTO[] items = new ResponseBatchItemDTO[dtos.size()];
+        int succeeded = 0;
+        int failed = 0;
+
+        List<List<Integer>> indexesByShard = new ArrayList<>();
+        for (int shard = 0; shard < router.shardCount(); shard++) {
+            indexesByShard.add(new ArrayList<>());
+        }
+        for (int index = 0; index < dtos.size(); index++) {
+            String name = dtos.get(index).name();
+            if (takenElsewhere.contains(PortfolioShards.fold(name))) {
+                items[index] = new ResponseBatchItemDTO(index, name, null,
+                        new PortfolioAlreadyExistsException(name).getMessage());
+                failed++;
+                continue;
+            }
+            indexesByShard.get(router.shardOfName(name)).add(index);
+        }
+
+        CommitProgress progress = new CommitProgress(indexesByShard, dtos.size(), onCommitted);
+        List<ResponseBatchDTO> results = router.onEachShard(shard -> {
+            List<Integer> indexes = indexesByShard.get(shard);
+            return indexes.isEmpty() ? null : delegate.saveAll(indexes.stream().map(dtos::get).toList(),
+                    committed -> progress.committed(shard, committed));
+        });
+
+        for (int shard = 0; shard < results.size(); shard++) {
+            ResponseBatchDTO result = results.get(shard);
+            if (result == null) {
+                continue;
+            }
+            List<Integer> indexes = indexesByShard.get(shard);
+            for (ResponseBatchItemDTO item : result.items()) {
+                int index = indexes.get(item.index());
+                items[index] = new ResponseBatchItemDTO(index, item.name(), item.portfolio(), item.error());
+            }
+            succeeded += result.succeeded();
+            failed += result.failed();
+        }
+        return new ResponseBatchDTO(succeeded, failed, Arrays.asList(items));
+    }
+
+    /**
+     * Shards commit in parallel, so a batch item is final once every shard has moved past it: the
+     * leading final items end at the first item, over all shards, that its shard has not reached.
+     */
+    private static final class CommitProgress {
+
+        private final List<List<Integer>> indexesByShard;
+
+        private final int[] committedByShard;
+
+        private final int size;
+
+        private final IntConsumer onCommitted;
+
+        CommitProgress(List<List<Integer>> indexesByShard, int size, IntConsumer onCommitted) {
+            this.indexesByShard = indexesByShard;
+            this.committedByShard = new int[indexesByShard.size()];
+            this.size = size;
+            this.onCommitted = onCommitted;
+        }
+
+        synchronized void committed(int shard, int committed) {
+            committedByShard[shard] = committed;
+            int finalItems = size;
+            for (int other = 0; other < committedByShard.length; other++) {
+                List<Integer> indexes = indexesByShard.get(other);
+                if (committedByShard[other] < indexes.size()) {
+                    finalItems = Math.min(finalItems, indexes.get(committedByShard[other]));
+                }
+            }
+            onCommitted.accept(finalItems);
+        }
+    }
+
+    @Override
+    public ResponsePortfolioDTO findById(Integer id) {
+        return router.onShard(router.shardOfId(id), () -> delegate.findById(id));
+    }
+
+    @Override
+    public Iterable<ResponsePortfolioDTO> findAll() {
+        return router.onEachShard(shard -> delegate.findAll()).stream()
+                .flatMap(portfolios -> {
+                    List<ResponsePortfolioDTO> list = new ArrayList<>();
+                    portfolios.forEach(list::add);
+                    return list.stream();
+                })
+                .sorted(Comparator.comparing(ResponsePortfolioDTO::id))
+                .toList();
+    }
+
+    @Override
+    public PortfolioStampDTO findStampById(Integer id) {
+        return router.onShard(router.shardOfId(id), () -> delegate.findStampById(id));
+    }
+
+    @Override
+    public PortfolioTableStampDTO findTableStamp() {
+        List<PortfolioTableStampDTO> stamps = router.onEachShard(shard -> delegate.findTableStamp());
+        return new PortfolioTableStampDTO(
+                stamps.stream().mapToLong(PortfolioTableStampDTO::count).sum(),
+                stamps.stream().mapToInt(PortfolioTableStampDTO::maxId).max().orElse(0),
+                stamps.stream().mapToLong(PortfolioTableStampDTO::idSum).sum(),
+                stamps.stream().mapToLong(PortfolioTableStampDTO::versionSum).sum());
+    }
+
+    @Override
+    public ResponsePortfolioPageDTO findAll(Integer afterId, int size) {
+        int pageSize = Math.min(Math.max(size, 1), PortfolioServiceImpl.MAX_PAGE_SIZE);
+        List<ResponsePortfolioPageDTO> pages = router.onEachShard(shard -> delegate.findAll(afterId, pageSize));
+
+        List<ResponsePortfolioDTO> merged = merge(pages.stream().map(ResponsePortfolioPageDTO::content),
+                Comparator.comparing(ResponsePortfolioDTO::id));
+        boolean more = merged.size() > pageSize || pages.stream().anyMatch(page -> page.nextCursor() != null);
+        List<ResponsePortfolioDTO> content = merged.subList(0, Math.min(pageSize, merged.size()));
+        Integer nextCursor = more && !content.isEmpty() ? content.get(content.size() - 1).id() : null;
+        return new ResponsePortfolioPageDTO(content, nextCursor);
+    }
+
+    @Override
+    public ResponsePortfolioSearchDTO search(SearchPortfolioDTO criteria, PortfolioSortField sortField,
+                                             Sort.Direction direction, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), PortfolioServiceImpl.MAX_PAGE_SIZE);
+        List<ResponsePortfolioSearchDTO> pages = router.onEachShard(
+                shard -> delegate.search(criteria, sortField, direction, cursor, pageSize));
+
+        List<ResponsePortfolioDTO> merged = merge(pages.stream().map(ResponsePortfolioSearchDTO::content),
+                sortField.comparator(direction));
+        boolean more = merged.size() > pageSize || pages.stream().anyMatch(page -> page.nextCursor() != null);
+        List<ResponsePortfolioDTO> content = merged.subList(0, Math.min(pageSize, merged.size()));
+        String nextCursor = more && !content.isEmpty()
+                ? PortfolioSearchCursor.after(sortField, direction, content.get(content.size() - 1)).encode()
+                : null;
+        return new ResponsePortfolioSearchDTO(content, nextCursor);
+    }
+
+    @Override
+    public PortfolioPageStampDTO findPageStamp(Integer afterId, int size) {
+        int pageSize = Math.min(Math.max(size, 1), PortfolioServiceImpl.MAX_PAGE_SIZE);
+        return mergeStamps(router.onEachShard(shard -> delegate.findPageStamp(afterId, pageSize)),
+                Comparator.comparing(PortfolioStampDTO::id), pageSize);
+    }
+
+    /**
+     * Stamps carry no sort values, so only pages in id order can be merged from them; for any
+     * other order the stamp is taken from the merged page.
+     */
+    @Override
+    public PortfolioPageStampDTO searchStamp(SearchPortfolioDTO criteria, PortfolioSortField sortField,
+                                             Sort.Direction direction, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), PortfolioServiceImpl.MAX_PAGE_SIZE);
+        if (sortField == PortfolioSortField.ID) {
+            Comparator<PortfolioStampDTO> byId = Comparator.comparing(PortfolioStampDTO::id);
+            return mergeStamps(router.onEachShard(
+                            shard -> delegate.searchStamp(criteria, sortField, direction, cursor, pageSize)),
+                    direction.isAscending() ? byId : byId.reversed(), pageSize);
+        }
+
+        ResponsePortfolioSearchDTO page = search(criteria, sortField, direction, cursor, pageSize);
+        return new PortfolioPageStampDTO(page.content().stream()
+                .map(portfolio -> new PortfolioStampDTO(portfolio.id(), portfolio.version(), portfolio.updatedAt()))
+                .toList(), page.nextCursor() != null);
+    }
+
+    /**
+     * Pages through all shards in id order; no transaction is needed, and none is held open
+     * while the caller consumes the stream.
+     */
+    @Override
+    public Stream<ResponsePortfolioDTO> streamAll() {
+        return Stream.iterate(findAll(null, PortfolioServiceImpl.MAX_PAGE_SIZE), Objects::nonNull,
+                        page -> page.nextCursor() == null ? null : findAll(page.nextCursor(), PortfolioServiceImpl.MAX_PAGE_SIZE))
+                .flatMap(page -> page.content().stream());
+    }
+
+    @Override
+    public ResponsePortfolioDTO update(Integer id, UpdatePortfolioDTO dto) {
+        checkNameIsFree(id, dto.name());
+        return router.onShard(router.shardOfId(id), () -> delegate.update(id, dto));
+    }
+
+    @Override
+    public ResponsePortfolioDTO patch(Integer id, PatchPortfolioDTO dto) {
+        if (dto.name() != null) {
+            checkNameIsFree(id, dto.name());
+        }
+        return router.onShard(router.shardOfId(id), () -> delegate.patch(id, dto));
+    }
+
+    @Override
+    public void deleteById(Integer id) {
+        router.onShard(router.shardOfId(id), () -> {
+            delegate.deleteById(id);
+            return null;
+        });
+    }
+
+    @Override
+    public int deleteAllById(Collection<Integer> ids) {
+        List<List<Integer>> idsByShard = new ArrayList<>();
+        for (int shard = 0; shard < router.shardCount(); shard++) {
+            idsByShard.add(new ArrayList<>());
+        }
+        ids.forEach(id -> idsByShard.get(router.shardOfId(id)).add(id));
+
+        return router.onEachShard(shard -> idsByShard.get(shard).isEmpty()
+                        ? 0
+                        : delegate.deleteAllById(idsByShard.get(shard)))
+                .stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+    }
+
+    @Override
+    public List<PortfolioCreatedKeyDTO> findKeysCreatedBefore(LocalDate date, PortfolioCreatedKeyDTO after, int limit) {
+        return router.onEachShard(shard -> delegate.findKeysCreatedBefore(date, after, limit)).stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(PortfolioCreatedKeyDTO::createdAt)
+                        .thenComparing(PortfolioCreatedKeyDTO::id))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * A rename keeps the portfolio on the shard of its id, where the unique index only sees that
+     * shard's names, so every other shard is checked for the new name first.
+     */
+    private void checkNameIsFree(Integer id, String name) {
+        if (!takenOnOtherShards(List.of(name), ignored -> router.shardOfId(id)).isEmpty()) {
+            throw new PortfolioAlreadyExistsException(name);
+        }
+    }
+
+    /**
+     * Returns, folded, the names that already exist on a shard other than the one {@code ownShard}
+     * maps them to. Each shard's unique index only covers its own rows, and a renamed portfolio
+     * stays on the shard of its id, so without this check a create could duplicate a name that a
+     * rename moved onto another shard. The check and the write are not atomic: a concurrent create
+     * and rename of the same name on different shards can still both succeed.
+     */
+    private Set<String> takenOnOtherShards(List<String> names, ToIntFunction<String> ownShard) {
+        if (names.isEmpty() || router.shardCount() == 1) {
+            return Set.of();
+        }
+        List<Set<String>> existingByShard = router.onEachShard(shard -> portfolioRepository.findExistingNames(names)
+                .stream()
+                .map(PortfolioShards::fold)
+                .collect(Collectors.toSet()));
+
+        Set<String> taken = new HashSet<>();
+        for (String name : names) {
+            String folded = PortfolioShards.fold(name);
+            int own = ownShard.applyAsInt(name);
+            for (int shard = 0; shard < existingByShard.size(); shard++) {
+                if (shard != own && existingByShard.get(shard).contains(folded)) {
+                    taken.add(folded);
+                }
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * Every shard's page, in cursor order. Rows past the page size still count: they mean the
+     * merged listing has more to return, even when no shard filled its own page.
+     */
+    /**
+     * Merges page stamps exactly as {@link #findAll(Integer, int)} and {@link #search} merge
+     * pages, so a stamp and the page it describes agree on whether another page follows.
+     */
+    private static PortfolioPageStampDTO mergeStamps(List<PortfolioPageStampDTO> pages,
+                                                     Comparator<PortfolioStampDTO> order, int pageSize) {
+        List<PortfolioStampDTO> merged = pages.stream()
+                .flatMap(page -> page.content().stream())
+                .sorted(order)
+                .toList();
+        boolean more = merged.size() > pageSize || pages.stream().anyMatch(PortfolioPageStampDTO::more);
+        List<PortfolioStampDTO> content = merged.subList(0, Math.min(pageSize, merged.size()));
+        return new PortfolioPageStampDTO(content, more && !content.isEmpty());
+    }
+
+    private static List<ResponsePortfolioDTO> merge(Stream<List<ResponsePortfolioDTO>> pages,
+                                                    Comparator<ResponsePortfolioDTO> order) {
+        return pages.flatMap(List::stream)
+                .sorted(order)
+                .toList();
+    }
+}
@@ -0,0 +1,125 @@
+package investflow.sharding;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.function.IntSupplier;
+
+/**
+ * Issues globally unique, shard-aware portfolio ids. Each bucket has its own sequence row on the
+ * home shard; ids are claimed from it in blocks of {@link #BLOCK_SIZE} and committed at once, so a
+ * block is never handed out twice. Claims go through {@code dataSource}, a small pool of its own,
+ * never the application's pool: the caller's transaction already holds one of those connections,
+ * and waiting for a second one from the same pool could deadlock under load. Unused ids of a
+ * block are lost on restart, as with a pooled sequence.
+ * <p>
+ * A bucket's sequence starts above the highest id on any shard, read through
+ * {@code maxExistingId}. Seeding from the home shard alone would restart below ids that a
+ * rebalance has moved to other shards.
+ */
+public class PortfolioIdGenerator implements AutoCloseable {
+
+    static final int BLOCK_SIZE = 50;
+
+    static final String INIT_BUCKET = "insert into portfolio_id_block (bucket, next_val) "
+            + "select ?, ? from dual where not exists (select 1 from portfolio_id_block where bucket = ?)";
+
+    static final String LOCK_BUCKET = "select next_val from portfolio_id_block where bucket = ? for update";
+
+    static final String ADVANCE_BUCKET = "update portfolio_id_block set next_val = ? where bucket = ?";
+
+    private final DataSource dataSource;
+
+    private final IntSupplier maxExistingId;
+
+    private final Block[] blocks = new Block[PortfolioShards.BUCKETS];
+
+    public PortfolioIdGenerator(DataSource dataSource, IntSupplier maxExistingId) {
+        this.dataSource = dataSource;
+        this.maxExistingId = maxExistingId;
+        for (int bucket = 0; bucket < blocks.length; bucket++) {
+            blocks[bucket] = new Block();
+        }
+    }
+
+    public int nextId(String name) {
+        int bucket = PortfolioShards.bucketOf(name);
+        Block block = blocks[bucket];
+        synchronized (block) {
+            if (block.next == block.limit) {
+                block.next = claim(bucket);
+                block.limit = block.next + BLOCK_SIZE;
+            }
+            return PortfolioShards.idOf(block.next++, bucket);
+        }
+    }
+
+    private long claim(int bucket) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                long next = lock(connection, bucket);
+                try (PreparedStatement advance = connection.prepareStatement(ADVANCE_BUCKET)) {
+                    advance.setLong(1, next + BLOCK_SIZE);
+                    advance.setInt(2, bucket);
+                    advance.executeUpdate();
+                }
+                connection.commit();
+                return next;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not claim an id block for bucket " + bucket, e);
+        }
+    }
+
+    private long lock(Connection connection, int bucket) throws SQLException {
+        for (int attempt = 0; ; attempt++) {
+            try (PreparedStatement select = connection.prepareStatement(LOCK_BUCKET)) {
+                select.setInt(1, bucket);
+                try (ResultSet row = select.executeQuery()) {
+                    if (row.next()) {
+                        return row.getLong(1);
+                    }
+                }
+            }
+            if (attempt > 0) {
+                throw new SQLException("Id bucket " + bucket + " could not be initialized");
+            }
+            // Releases the gap lock left by the empty read while every shard is asked for its max id
+            connection.rollback();
+            long first = maxExistingId.getAsInt() / PortfolioShards.BUCKETS + 1;
+            try (PreparedStatement init = connection.prepareStatement(INIT_BUCKET)) {
+                init.setInt(1, bucket);
+                init.setLong(2, first);
+                init.setInt(3, bucket);
+                init.executeUpdate();
+            } catch (SQLIntegrityConstraintViolationException e) {
+                // another instance initialized the bucket first
+            }
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class Block {
+
+        private long next;
+
+        private long limit;
+    }
+}
@@ -0,0 +1,106 @@
+package investflow.sharding;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Decides which shard a portfolio lives on and runs work there. Work that already runs inside a
+ * transaction is handed to the fan-out pool, because joining the caller's transaction would
+ * silently reuse the connection to whichever shard that transaction started on.
+ */
+public class PortfolioShardRouter implements AutoCloseable {
+
+    private final int[] shardOfBucket = new int[PortfolioShards.BUCKETS];
+
+    private final int shardCount;
+
+    private final ExecutorService fanOutExecutor;
+
+    public PortfolioShardRouter(int shardCount, Map<Integer, Integer> bucketAssignments, int fanOutThreads) {
+        this.shardCount = shardCount;
+        for (int bucket = 0; bucket < shardOfBucket.length; bucket++) {
+            int shard = bucketAssignments.getOrDefault(bucket, bucket % shardCount);
+            if (shard < 0 || shard >= shardCount) {
+                throw new IllegalArgumentException("Bucket " + bucket + " is assigned to unknown shard " + shard);
+            }
+            shardOfBucket[bucket] = shard;
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "shard-fan-out-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.fanOutExecutor = Executors.newFixedThreadPool(fanOutThreads, threadFactory);
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public int shardOfBucket(int bucket) {
+        return shardOfBucket[bucket];
+    }
+
+    public int shardOfId(int id) {
+        return shardOfBucket[PortfolioShards.bucketOf(id)];
+    }
+
+    public int shardOfName(String name) {
+        return shardOfBucket[PortfolioShards.bucketOf(name)];
+    }
+
+    public <T> T onShard(int shard, Supplier<T> action) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return ShardContext.callOn(shard, action);
+        }
+        return join(CompletableFuture.supplyAsync(() -> ShardContext.callOn(shard, action), fanOutExecutor));
+    }
+
+    /**
+     * Runs {@code action} on every shard in parallel and returns the results in shard order.
+     */
+    public <T> List<T> onEachShard(IntFunction<T> action) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> ShardContext.callOn(target, () -> action.apply(target)),
+                    fanOutExecutor));
+        }
+        return futures.stream().map(PortfolioShardRouter::join).toList();
+    }
+
+    @Override
+    public void close() {
+        fanOutExecutor.shutdown();
+    }
+
+    /**
+     * Rethrows the task's own exception, so callers see the same exceptions as without sharding.
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
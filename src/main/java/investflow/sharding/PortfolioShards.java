@@ -0,0 +1,46 @@
+package investflow.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * Maps portfolios to one of {@link #BUCKETS} logical buckets. A new portfolio's bucket is a stable
+ * hash of its name, and its id is {@code sequence * BUCKETS + bucket}, so the bucket, and with it
+ * the shard, can be read back from the id alone. Buckets, not ids, are assigned to shards, which is
+ * what lets rebalancing move whole buckets without renumbering anything.
+ */
+public final class PortfolioShards {
+
+    public static final int BUCKETS = 64;
+
+    private PortfolioShards() {}
+
+    /**
+     * Hashes the {@link #fold folded} name, so names the unique index considers equal always land
+     * in the same bucket.
+     */
+    public static int bucketOf(String name) {
+        CRC32 crc = new CRC32();
+        crc.update(fold(name).getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % BUCKETS);
+    }
+
+    /**
+     * Folds case and accents, as the {@code name} column's collation does.
+     */
+    public static String fold(String name) {
+        return Normalizer.normalize(name, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    public static int bucketOf(int id) {
+        return Math.floorMod(id, BUCKETS);
+    }
+
+    public static int idOf(long sequence, int bucket) {
+        return Math.toIntExact(sequence * BUCKETS + bucket);
+    }
+}
@@ -0,0 +1,35 @@
+package investflow.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the shard the current thread's database work is routed to; threads without one use the
+ * home shard, which also owns the id blocks and the tables that are not sharded.
+ */
+public final class ShardContext {
+
+    public static final int HOME_SHARD = 0;
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {}
+
+    public static int current() {
+        Integer shard = CURRENT.get();
+        return shard != null ? shard : HOME_SHARD;
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
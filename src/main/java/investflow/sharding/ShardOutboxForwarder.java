@@ -0,0 +1,84 @@
+package investflow.sharding;
+
+import investflow.models.PortfolioOutboxEvent;
+import investflow.repositories.PortfolioOutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Outbox events are written on the shard that made the change, but only the home shard's outbox
+ * is relayed. This moves them there in batches: each batch is locked on its shard, committed to
+ * the home outbox in a transaction of its own, and only then deleted from the shard. A crash
+ * between the two commits forwards the batch again, which the relay's at-least-once delivery
+ * already allows for.
+ */
+@Slf4j
+public class ShardOutboxForwarder {
+
+    private final PortfolioOutboxRepository outboxRepository;
+
+    private final PortfolioShardRouter router;
+
+    private final TransactionTemplate shardTransaction;
+
+    private final TransactionTemplate homeTransaction;
+
+    private final int batchSize;
+
+    public ShardOutboxForwarder(PortfolioOutboxRepository outboxRepository,
+                                PortfolioShardRouter router,
+                                PlatformTransactionManager transactionManager,
+                                int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.router = router;
+        this.shardTransaction = new TransactionTemplate(transactionManager);
+        this.homeTransaction = new TransactionTemplate(transactionManager);
+        this.homeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${investflow.outbox.poll-interval-ms:1000}")
+    public void forward() {
+        for (int shard = ShardContext.HOME_SHARD + 1; shard < router.shardCount(); shard++) {
+            try {
+                while (forwardBatch(shard) == batchSize) {
+                    // keep draining while full batches are available
+                }
+            } catch (RuntimeException e) {
+                log.warn("Forwarding outbox events from shard {} failed; they will be retried", shard, e);
+            }
+        }
+    }
+
+    /**
+     * @return the number of events moved to the home shard
+     */
+    public int forwardBatch(int shard) {
+        Integer forwarded = ShardContext.callOn(shard, () -> shardTransaction.execute(status -> {
+            List<PortfolioOutboxEvent> batch = outboxRepository.findUnsequencedForUpdate(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            ShardContext.callOn(ShardContext.HOME_SHARD, () -> homeTransaction.execute(homeStatus ->
+                    outboxRepository.saveAll(batch.stream().map(ShardOutboxForwarder::copyOf).toList())));
+            outboxRepository.deleteAllInBatch(batch);
+            return batch.size();
+        }));
+        return forwarded != null ? forwarded : 0;
+    }
+
+    private static PortfolioOutboxEvent copyOf(PortfolioOutboxEvent event) {
+        return PortfolioOutboxEvent.builder()
+                .portfolioId(event.getPortfolioId())
+                .type(event.getType())
+                .payload(event.getPayload())
+                .occurredAt(event.getOccurredAt())
+                .build();
+    }
+}
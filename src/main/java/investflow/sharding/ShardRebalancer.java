@@ -0,0 +1,96 @@
+package investflow.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Moves portfolios whose bucket is now assigned to another shard, for use after changing
+ * {@code investflow.sharding.bucket-assignments} or adding shards. Meant to run while the
+ * application is stopped: rows are copied in id order, {@link #BATCH_SIZE} at a time, and each
+ * batch is committed on the target before it is deleted from the source. A batch interrupted
+ * between the two commits is copied again on the next run, which replaces the earlier copy.
+ */
+public class ShardRebalancer {
+
+    static final int BATCH_SIZE = 1000;
+
+    private static final String COLUMNS = "id, name, monthly_amount, duration_months, created_at, updated_at, version";
+
+    static final String SELECT_BATCH = "select " + COLUMNS + " from portfolio where id > ? order by id limit ?";
+
+    static final String INSERT = "insert into portfolio (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?)";
+
+    static final String DELETE = "delete from portfolio where id = ?";
+
+    private final ShardRoutingDataSource dataSource;
+
+    private final PortfolioShardRouter router;
+
+    public ShardRebalancer(ShardRoutingDataSource dataSource, PortfolioShardRouter router) {
+        this.dataSource = dataSource;
+        this.router = router;
+    }
+
+    /**
+     * @return how many portfolios were moved
+     */
+    public long rebalance() {
+        long moved = 0;
+        for (int shard = 0; shard < dataSource.shardCount(); shard++) {
+            moved += drain(shard);
+        }
+        return moved;
+    }
+
+    private long drain(int source) {
+        JdbcTemplate sourceJdbc = new JdbcTemplate(dataSource.shard(source));
+        long moved = 0;
+        int afterId = 0;
+        while (true) {
+            List<Object[]> rows = sourceJdbc.query(SELECT_BATCH, (resultSet, rowNum) -> new Object[] {
+                    resultSet.getInt(1), resultSet.getString(2), resultSet.getObject(3), resultSet.getInt(4),
+                    resultSet.getDate(5), resultSet.getDate(6), resultSet.getLong(7)
+            }, afterId, BATCH_SIZE);
+            if (rows.isEmpty()) {
+                return moved;
+            }
+            afterId = (Integer) rows.get(rows.size() - 1)[0];
+
+            List<List<Object[]>> rowsByTarget = new ArrayList<>();
+            for (int shard = 0; shard < dataSource.shardCount(); shard++) {
+                rowsByTarget.add(new ArrayList<>());
+            }
+            for (Object[] row : rows) {
+                int target = router.shardOfId((Integer) row[0]);
+                if (target != source) {
+                    rowsByTarget.get(target).add(row);
+                }
+            }
+
+            for (int target = 0; target < rowsByTarget.size(); target++) {
+                List<Object[]> batch = rowsByTarget.get(target);
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                List<Object[]> ids = batch.stream().map(row -> new Object[] {row[0]}).toList();
+                inTransaction(target, jdbc -> {
+                    jdbc.batchUpdate(DELETE, ids);
+                    jdbc.batchUpdate(INSERT, batch);
+                });
+                inTransaction(source, jdbc -> jdbc.batchUpdate(DELETE, ids));
+                moved += batch.size();
+            }
+        }
+    }
+
+    private void inTransaction(int shard, Consumer<JdbcTemplate> work) {
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource.shard(shard));
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource.shard(shard));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.accept(jdbc));
+    }
+}
@@ -0,0 +1,114 @@
+package investflow.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTests {
+
+    private static final long FAST = Duration.ofMillis(1).toNanos();
+
+    private static final long SLOW = Duration.ofMillis(5).toNanos();
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void shouldRejectImmediately_whenLimitIsReached() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.rejected()).isEqualTo(1);
+
+        limiter.onIgnored();
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void shouldGrowLimit_whileSaturatedCallsStayNearBaselineLatency() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+
+        for (int round = 0; round < 100; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.onSuccess(FAST);
+            }
+        }
+
+        assertThat(limiter.limit()).isGreaterThan(4);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void shouldNotGrowLimit_whenCallsDoNotUseIt() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 1_000; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(FAST);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldShrinkLimitOncePerRoundTrip_whenLatencyExceedsTolerance() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        limiter.tryAcquire();
+        limiter.onSuccess(FAST);
+
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        limiter.onSuccess(SLOW);
+        limiter.onSuccess(SLOW);
+        assertThat(limiter.limit()).isEqualTo(9);
+
+        now.addAndGet(SLOW);
+        limiter.tryAcquire();
+        limiter.onSuccess(SLOW);
+        assertThat(limiter.limit()).isEqualTo(8);
+    }
+
+    @Test
+    void shouldKeepMinimumLimit_whenCallsKeepDropping() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped(SLOW);
+            now.addAndGet(SLOW);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldJudgeEachOperationAgainstItsOwnBaseline_whenCostsDiffer() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess("findById", FAST);
+            limiter.tryAcquire();
+            limiter.onSuccess("findTableStamp", SLOW);
+            now.addAndGet(SLOW);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(10);
+
+        limiter.tryAcquire();
+        limiter.onSuccess("findById", SLOW);
+        assertThat(limiter.limit()).isEqualTo(9);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 2, 100, 2.0, 0.9, now::get);
+    }
+}
@@ -0,0 +1,101 @@
+package investflow.admission;
+
+import investflow.controllers.PortfolioExceptionHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class AdmissionControlAspectTests {
+
+    private final Map<Bulkhead, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(Bulkhead.class);
+
+    private StubService service;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        limiters.put(Bulkhead.READS, new AdaptiveConcurrencyLimiter(1, 1, 10, 2.0, 0.5));
+        limiters.put(Bulkhead.WRITES, new AdaptiveConcurrencyLimiter(4, 1, 10, 2.0, 0.5));
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new StubService());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new AdmissionControlAspect(limiters, Duration.ofSeconds(2)));
+        service = proxyFactory.getProxy();
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new StubController(service))
+                .setControllerAdvice(new PortfolioExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void shouldAnswerServiceUnavailableWithRetryAfter_whenBulkheadIsFull() throws Exception {
+        limiters.get(Bulkhead.READS).tryAcquire();
+
+        mockMvc.perform(get("/stub"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+
+        assertThat(limiters.get(Bulkhead.READS).rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReleasePermit_whenCallIsAdmitted() throws Exception {
+        mockMvc.perform(get("/stub"))
+                .andExpect(status().isOk());
+
+        assertThat(limiters.get(Bulkhead.READS).inFlight()).isZero();
+    }
+
+    @Test
+    void shouldShrinkLimit_whenNoConnectionCanBeObtained() {
+        assertThatThrownBy(service::write).isInstanceOf(CannotCreateTransactionException.class);
+
+        assertThat(limiters.get(Bulkhead.WRITES).limit()).isEqualTo(2);
+        assertThat(limiters.get(Bulkhead.WRITES).inFlight()).isZero();
+    }
+
+    static class StubService {
+
+        @AdmissionControlled(Bulkhead.READS)
+        public String read() {
+            return "ok";
+        }
+
+        @AdmissionControlled(Bulkhead.WRITES)
+        public String write() {
+            throw new CannotCreateTransactionException("pool exhausted");
+        }
+    }
+
+    @RestController
+    static class StubController {
+
+        private final StubService service;
+
+        StubController(StubService service) {
+            this.service = service;
+        }
+
+        @GetMapping("/stub")
+        public String read() {
+            return service.read();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package investflow.analytics;
+
+import investflow.dtos.ResponseAnalyticsDTO;
+import investflow.dtos.ResponseDurationBucketDTO;
+import investflow.dtos.ResponsePortfolioTotalsDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PortfolioTotalsTests {
+
+    @Test
+    void shouldAccumulateTotalsAndBuckets_whenPortfoliosAreAdded() {
+        PortfolioTotals totals = new PortfolioTotals();
+
+        totals.add(500.0, 12);
+        totals.add(1500.0, 36);
+        totals.add(100.0, 240);
+
+        ResponseAnalyticsDTO analytics = totals.snapshot();
+
+        assertThat(analytics.totals()).isEqualTo(new ResponsePortfolioTotalsDTO(3L, 2100.0, 84000.0));
+        assertThat(analytics.durations()).containsExactly(
+                new ResponseDurationBucketDTO("UP_TO_1_YEAR", 1L, 500.0, 6000.0),
+                new ResponseDurationBucketDTO("UP_TO_3_YEARS", 1L, 1500.0, 54000.0),
+                new ResponseDurationBucketDTO("OVER_10_YEARS", 1L, 100.0, 24000.0));
+    }
+
+    @Test
+    void shouldDropEmptyBucket_whenLastPortfolioIsRemoved() {
+        PortfolioTotals totals = new PortfolioTotals();
+
+        totals.add(500.0, 12);
+        totals.add(1500.0, 36);
+        totals.remove(500.0, 12);
+
+        ResponseAnalyticsDTO analytics = totals.snapshot();
+
+        assertThat(analytics.totals()).isEqualTo(new ResponsePortfolioTotalsDTO(1L, 1500.0, 54000.0));
+        assertThat(analytics.durations()).extracting(ResponseDurationBucketDTO::bucket)
+                .containsExactly("UP_TO_3_YEARS");
+    }
+
+    @Test
+    void shouldStartFromGivenTotals() {
+        ResponseAnalyticsDTO fromDatabase = new ResponseAnalyticsDTO(
+                new ResponsePortfolioTotalsDTO(2L, 300.0, 18000.0),
+                List.of(new ResponseDurationBucketDTO("UP_TO_5_YEARS", 2L, 300.0, 18000.0)));
+
+        PortfolioTotals totals = PortfolioTotals.of(fromDatabase);
+
+        assertThat(totals.snapshot()).isEqualTo(fromDatabase);
+        totals.add(500.0, 12);
+        assertThat(totals.snapshot().totals().count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotLoseUpdates_whenAddedConcurrently() throws InterruptedException {
+        PortfolioTotals totals = new PortfolioTotals();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    totals.add(1.0, 24);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(totals.snapshot().totals()).isEqualTo(new ResponsePortfolioTotalsDTO(80_000L, 80_000.0, 1_920_000.0));
+    }
+
+    @Test
+    void shouldMapDurationsToBuckets_atBoundaries() {
+        assertThat(DurationBucket.of(12)).isEqualTo(DurationBucket.UP_TO_1_YEAR);
+        assertThat(DurationBucket.of(13)).isEqualTo(DurationBucket.UP_TO_3_YEARS);
+        assertThat(DurationBucket.of(60)).isEqualTo(DurationBucket.UP_TO_5_YEARS);
+        assertThat(DurationBucket.of(120)).isEqualTo(DurationBucket.UP_TO_10_YEARS);
+        assertThat(DurationBucket.of(121)).isEqualTo(DurationBucket.OVER_10_YEARS);
+    }
+}
@@ -0,0 +1,56 @@
+package investflow.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+public class ConnectionPermitDataSourceTests {
+
+    @Test
+    void shouldFailFast_whenAllPermitsAreTaken() throws SQLException {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, 1, Duration.ofMillis(10));
+
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("No connection permit available");
+        verify(pool, times(1)).getConnection();
+    }
+
+    @Test
+    void shouldReleasePermitOnce_whenConnectionIsClosedTwice() throws SQLException {
+        DataSource pool = mock(DataSource.class);
+        Connection pooledConnection = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooledConnection);
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, 2, Duration.ofMillis(10));
+
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.availablePermits()).isEqualTo(2);
+        verify(pooledConnection, times(2)).close();
+    }
+
+    @Test
+    void shouldReleasePermit_whenPoolFailsToProvideConnection() throws SQLException {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, 1, Duration.ofMillis(10));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool exhausted");
+
+        assertThat(dataSource.availablePermits()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,59 @@
+package investflow.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HibernateStatisticsMetricsTests {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Statistics statistics;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+    }
+
+    @Test
+    void shouldBindNothing_whenStatisticsAreDisabled() {
+        when(statistics.isStatisticsEnabled()).thenReturn(false);
+
+        new HibernateStatisticsMetrics(entityManagerFactory).bindTo(registry);
+
+        assertThat(registry.getMeters()).isEmpty();
+    }
+
+    @Test
+    void shouldReadHibernateCounters_whenScraped() {
+        when(statistics.isStatisticsEnabled()).thenReturn(true);
+        new HibernateStatisticsMetrics(entityManagerFactory).bindTo(registry);
+
+        when(statistics.getPrepareStatementCount()).thenReturn(7L);
+        when(statistics.getEntityInsertCount()).thenReturn(3L);
+        when(statistics.getQueryExecutionMaxTime()).thenReturn(42L);
+
+        assertThat(registry.get("hibernate.statements.prepared").functionCounter().count()).isEqualTo(7.0);
+        assertThat(registry.get("hibernate.entities").tag("operation", "insert").functionCounter().count())
+                .isEqualTo(3.0);
+        assertThat(registry.get("hibernate.query.executions.max").gauge().value()).isEqualTo(42.0);
+    }
+}
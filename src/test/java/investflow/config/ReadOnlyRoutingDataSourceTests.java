@@ -0,0 +1,192 @@
+package investflow.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class ReadOnlyRoutingDataSourceTests {
+
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+
+    private final MutableClock clock = new MutableClock();
+
+    private DataSource primary;
+
+    private ReadYourWrites readYourWrites;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        readYourWrites = new ReadYourWrites(WINDOW, clock);
+    }
+
+    @Test
+    void shouldReadFromReplica_whenTransactionIsReadOnly() {
+        Routing routing = routing(database("replica"));
+
+        assertThat(routing.read()).isEqualTo("replica");
+        assertThat(routing.write()).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldRoundRobinAcrossReplicas() {
+        Routing routing = routing(database("replica-a"), database("replica-b"));
+
+        assertThat(List.of(routing.read(), routing.read(), routing.read(), routing.read()))
+                .containsExactly("replica-a", "replica-b", "replica-a", "replica-b");
+    }
+
+    @Test
+    void shouldReadFromPrimary_untilReadYourWritesWindowElapses() {
+        Routing routing = routing(database("replica"));
+        List<Long> cookies = new ArrayList<>();
+        readYourWrites.open(0, cookies::add);
+
+        readYourWrites.onWrite();
+
+        assertThat(routing.read()).isEqualTo("primary");
+        assertThat(cookies).containsExactly(clock.millis() + WINDOW.toMillis());
+
+        clock.advance(WINDOW);
+        assertThat(routing.read()).isEqualTo("replica");
+        readYourWrites.close();
+    }
+
+    @Test
+    void shouldLeaveNoStateOnThread_whenWriteHappensOutsideAScope() {
+        Routing routing = routing(database("replica"));
+
+        readYourWrites.onWrite();
+
+        assertThat(readYourWrites.isSticky()).isFalse();
+        assertThat(routing.read()).isEqualTo("replica");
+    }
+
+    @Test
+    void shouldCapClientSuppliedWindow() {
+        Routing routing = routing(database("replica"));
+
+        readYourWrites.open(Long.MAX_VALUE, stickyUntil -> { });
+        assertThat(routing.read()).isEqualTo("primary");
+
+        clock.advance(WINDOW);
+        assertThat(routing.read()).isEqualTo("replica");
+        readYourWrites.close();
+    }
+
+    @Test
+    void shouldSkipUnhealthyReplica_andFallBackToPrimaryWhenNoneIsAvailable() throws SQLException {
+        DataSource broken = mock(DataSource.class);
+        when(broken.getConnection()).thenThrow(new SQLException("replica down"));
+        ReadReplicaPool pool = new ReadReplicaPool(List.of(broken, database("replica")), WINDOW, clock);
+        Routing routing = new Routing(pool);
+
+        assertThat(List.of(routing.read(), routing.read(), routing.read())).containsOnly("replica");
+        assertThat(pool.availableReplicas()).isEqualTo(1);
+        verify(broken, times(1)).getConnection();
+
+        ReadReplicaPool allBroken = new ReadReplicaPool(List.of(broken), WINDOW, clock);
+        assertThat(new Routing(allBroken).read()).isEqualTo("primary");
+    }
+
+    @Test
+    void shouldMarkReplicasDownAndUpAgain_whenHealthCheckRuns() throws SQLException {
+        DataSource flaky = mock(DataSource.class);
+        DataSource healthy = database("replica");
+        when(flaky.getConnection())
+                .thenThrow(new SQLException("replica down"))
+                .thenAnswer(invocation -> healthy.getConnection());
+        ReadReplicaPool pool = new ReadReplicaPool(List.of(flaky), WINDOW, clock);
+
+        pool.checkHealth();
+        assertThat(pool.availableReplicas()).isZero();
+        assertThat(new Routing(pool).read()).isEqualTo("primary");
+
+        pool.checkHealth();
+        assertThat(pool.availableReplicas()).isEqualTo(1);
+        assertThat(new Routing(pool).read()).isEqualTo("replica");
+    }
+
+    private Routing routing(DataSource... replicas) {
+        return new Routing(new ReadReplicaPool(List.of(replicas), WINDOW, clock));
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (name varchar(32))");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+
+    /** Wires the routing the same way {@link ReadReplicaConfig} does and reads the node name. */
+    private final class Routing {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        private final TransactionTemplate readOnly;
+
+        private final TransactionTemplate readWrite;
+
+        Routing(ReadReplicaPool pool) {
+            LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+            dataSource.setReadOnlyDataSource(new ReadOnlyRoutingDataSource(primary, pool, readYourWrites));
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+            this.readWrite = new TransactionTemplate(transactionManager);
+            this.readOnly = new TransactionTemplate(transactionManager);
+            this.readOnly.setReadOnly(true);
+        }
+
+        String read() {
+            return readOnly.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+        }
+
+        String write() {
+            return readWrite.execute(status -> jdbcTemplate.queryForObject("select name from node", String.class));
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private final AtomicLong millis = new AtomicLong(Instant.parse("2025-01-01T00:00:00Z").toEpochMilli());
+
+        void advance(Duration duration) {
+            millis.addAndGet(duration.toMillis());
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package investflow.controllers;
+
+import investflow.dtos.PortfolioPageStampDTO;
+import investflow.dtos.PortfolioStampDTO;
+import investflow.dtos.PortfolioTableStampDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.dtos.ResponsePortfolioPageDTO;
+import investflow.exceptions.InvalidPortfolioRequestException;
+import investflow.services.PortfolioBulkDeleteService;
+import investflow.services.PortfolioExportService;
+import investflow.services.PortfolioService;
+import investflow.services.ProjectionService;
+import investflow.services.ProjectionSnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+public class PortfolioControllerTests {
+
+    @Mock
+    private PortfolioService portfolioService;
+
+    @Mock
+    private ProjectionService projectionService;
+
+    @Mock
+    private PortfolioExportService exportService;
+
+    @Mock
+    private ProjectionSnapshotService snapshotService;
+
+    @Mock
+    private PortfolioBulkDeleteService bulkDeleteService;
+
+    private MockMvc mockMvc;
+
+    private final ResponsePortfolioDTO portfolio = new ResponsePortfolioDTO(5, "Conservative Portfolio", 500.0, 12,
+            LocalDate.of(2024, 1, 30), LocalDate.of(2024, 1, 30), 3L);
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new PortfolioController(portfolioService, projectionService,
+                exportService, snapshotService, bulkDeleteService))
+                .setControllerAdvice(new PortfolioExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void shouldAnswerNotModified_withoutLoadingPortfolio_whenETagMatches() throws Exception {
+        when(portfolioService.findStampById(5)).thenReturn(new PortfolioStampDTO(5, 3L, LocalDate.of(2024, 1, 30)));
+
+        mockMvc.perform(get("/portfolios/5").header(HttpHeaders.IF_NONE_MATCH, "\"5-3\""))
+                .andExpect(status().isNotModified());
+
+        verify(portfolioService, never()).findById(any());
+    }
+
+    @Test
+    void shouldSkipStampQuery_whenRequestIsNotConditional() throws Exception {
+        when(portfolioService.findById(5)).thenReturn(portfolio);
+        when(portfolioService.findAll(null, 50)).thenReturn(new ResponsePortfolioPageDTO(List.of(portfolio), null));
+
+        mockMvc.perform(get("/portfolios/5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5-3\""));
+        mockMvc.perform(get("/portfolios"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG));
+
+        verify(portfolioService, never()).findStampById(anyInt());
+        verify(portfolioService, never()).findTableStamp();
+    }
+
+    @Test
+    void shouldAnswerNotModified_withoutLoadingPage_whenPageIsUnchanged() throws Exception {
+        ResponsePortfolioPageDTO page = new ResponsePortfolioPageDTO(List.of(portfolio), null);
+        when(portfolioService.findPageStamp(null, 50)).thenReturn(new PortfolioPageStampDTO(
+                List.of(new PortfolioStampDTO(5, 3L, LocalDate.of(2024, 1, 30))), false));
+        String eTag = "\"" + PortfolioETags.of(page.content(), page.nextCursor()) + "\"";
+
+        mockMvc.perform(get("/portfolios").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        verify(portfolioService, never()).findAll(any(), anyInt());
+
+        when(portfolioService.findAll(null, 50)).thenReturn(page);
+        mockMvc.perform(get("/portfolios").header(HttpHeaders.IF_NONE_MATCH, "\"p-stale\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    @Test
+    void shouldReadExportStampFromSnapshot_andReleaseIt_whenNotModified() throws Exception {
+        PortfolioTableStampDTO stamp = new PortfolioTableStampDTO(2L, 51, 52L, 3L);
+        PortfolioExportService.Snapshot snapshot = mock(PortfolioExportService.Snapshot.class);
+        when(exportService.openSnapshot()).thenReturn(snapshot);
+        when(snapshot.stamp()).thenReturn(stamp);
+
+        mockMvc.perform(get("/portfolios/export").header(HttpHeaders.IF_NONE_MATCH, "\"" + PortfolioETags.of(stamp) + "\""))
+                .andExpect(status().isNotModified());
+
+        verify(snapshot).close();
+        verify(snapshot, never()).export(any(), any());
+        verify(portfolioService, never()).findTableStamp();
+    }
+
+    @Test
+    void shouldAnswerBadRequest_onlyForInvalidRequests() throws Exception {
+        when(portfolioService.search(any(), any(), any(), eq("stale"), anyInt()))
+                .thenThrow(new InvalidPortfolioRequestException("Invalid search cursor: stale"));
+        when(portfolioService.findById(5)).thenThrow(new IllegalArgumentException("bug"));
+
+        mockMvc.perform(get("/portfolios/search").param("cursor", "stale"))
+                .andExpect(status().isBadRequest());
+        assertThatThrownBy(() -> mockMvc.perform(get("/portfolios/5")))
+                .hasRootCauseInstanceOf(IllegalArgumentException.class);
+    }
+}
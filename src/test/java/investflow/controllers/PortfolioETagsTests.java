@@ -0,0 +1,60 @@
+package investflow.controllers;
+
+import investflow.dtos.PortfolioPageStampDTO;
+import investflow.dtos.PortfolioStampDTO;
+import investflow.dtos.PortfolioTableStampDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PortfolioETagsTests {
+
+    private final Clock noonJan31 = Clock.fixed(Instant.parse("2024-01-31T12:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void shouldUseNow_whenRowWasUpdatedToday() {
+        long lastModified = PortfolioETags.lastModified(LocalDate.of(2024, 1, 31), noonJan31);
+
+        assertThat(lastModified).isEqualTo(noonJan31.millis());
+    }
+
+    @Test
+    void shouldUseEndOfDay_whenRowWasUpdatedOnEarlierDay() {
+        long lastModified = PortfolioETags.lastModified(LocalDate.of(2024, 1, 30), noonJan31);
+
+        assertThat(Instant.ofEpochMilli(lastModified)).isEqualTo(Instant.parse("2024-01-30T23:59:59.999Z"));
+    }
+
+    @Test
+    void shouldOmitLastModified_whenRowHasNoUpdatedAt() {
+        assertThat(PortfolioETags.lastModified(null, noonJan31)).isNegative();
+    }
+
+    @Test
+    void shouldDerivePageETagFromStamp_asFromPageItself() {
+        ResponsePortfolioDTO portfolio = new ResponsePortfolioDTO(5, "Conservative Portfolio", 500.0, 12,
+                LocalDate.of(2024, 1, 30), LocalDate.of(2024, 1, 30), 3L);
+        PortfolioStampDTO row = new PortfolioStampDTO(5, 3L, LocalDate.of(2024, 1, 30));
+
+        assertThat(PortfolioETags.of(new PortfolioPageStampDTO(List.of(row), true)))
+                .isEqualTo(PortfolioETags.of(List.of(portfolio), 5))
+                .isNotEqualTo(PortfolioETags.of(List.of(portfolio), null))
+                .isNotEqualTo(PortfolioETags.of(new PortfolioPageStampDTO(List.of(new PortfolioStampDTO(5, 4L, null)), true)));
+    }
+
+    @Test
+    void shouldChangeTableETag_whenAnyStampComponentChanges() {
+        PortfolioTableStampDTO stamp = new PortfolioTableStampDTO(2L, 51, 52L, 3L);
+
+        assertThat(PortfolioETags.of(stamp))
+                .isNotEqualTo(PortfolioETags.of(new PortfolioTableStampDTO(2L, 51, 52L, 4L)))
+                .isNotEqualTo(PortfolioETags.of(new PortfolioTableStampDTO(1L, 51, 51L, 3L)));
+    }
+}
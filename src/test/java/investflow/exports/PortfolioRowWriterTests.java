@@ -0,0 +1,53 @@
+package investflow.exports;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PortfolioRowWriterTests {
+
+    @Test
+    void shouldEscapeName_whenWritingNdjson() throws SQLException, IOException {
+        StringWriter output = new StringWriter();
+        PortfolioRowWriter rowWriter = new PortfolioRowWriter(ExportFormat.NDJSON, output);
+
+        rowWriter.writeHeader();
+        rowWriter.writeRow(createRow("Growth \"Plus\""));
+
+        assertThat(output.toString()).isEqualTo(
+                "{\"id\":7,\"name\":\"Growth \\\"Plus\\\"\",\"monthlyAmount\":500.0,\"durationMonths\":12,"
+                        + "\"createdAt\":\"2024-01-31\",\"updatedAt\":\"2024-02-01\",\"version\":3}\n");
+    }
+
+    @Test
+    void shouldQuoteName_whenWritingCsvWithComma() throws SQLException, IOException {
+        StringWriter output = new StringWriter();
+        PortfolioRowWriter rowWriter = new PortfolioRowWriter(ExportFormat.CSV, output);
+
+        rowWriter.writeHeader();
+        rowWriter.writeRow(createRow("Growth, Plus"));
+
+        assertThat(output.toString()).isEqualTo(PortfolioRowWriter.CSV_HEADER
+                + "7,\"Growth, Plus\",500.0,12,2024-01-31,2024-02-01,3\n");
+    }
+
+    private ResultSet createRow(String name) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt(1)).thenReturn(7);
+        when(rs.getString(2)).thenReturn(name);
+        when(rs.getDouble(3)).thenReturn(500.0);
+        when(rs.wasNull()).thenReturn(false);
+        when(rs.getInt(4)).thenReturn(12);
+        when(rs.getString(5)).thenReturn("2024-01-31");
+        when(rs.getString(6)).thenReturn("2024-02-01");
+        when(rs.getLong(7)).thenReturn(3L);
+        return rs;
+    }
+}
@@ -0,0 +1,68 @@
+package investflow.imports;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PortfolioLineReaderTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldTrackOffsets_whenReadingLines() throws IOException {
+        Path file = write("name,monthlyAmount,durationMonths\r\nAlpha,500,12\nBeta,1500,36");
+
+        List<String> lines = new ArrayList<>();
+        List<Long> offsets = new ArrayList<>();
+        try (PortfolioLineReader reader = open(file, 0)) {
+            while (reader.next()) {
+                lines.add(new String(reader.line(), 0, reader.length(), StandardCharsets.UTF_8));
+                offsets.add(reader.position());
+            }
+        }
+
+        assertThat(lines).containsExactly("name,monthlyAmount,durationMonths", "Alpha,500,12", "Beta,1500,36");
+        assertThat(offsets).containsExactly(35L, 48L, Files.size(file));
+    }
+
+    @Test
+    void shouldResumeAfterCommittedLine_whenStartOffsetIsGiven() throws IOException {
+        Path file = write("Alpha,500,12\nBeta,1500,36\n");
+
+        try (PortfolioLineReader reader = open(file, 13)) {
+            assertThat(reader.next()).isTrue();
+            assertThat(new String(reader.line(), 0, reader.length(), StandardCharsets.UTF_8)).isEqualTo("Beta,1500,36");
+            assertThat(reader.lineOffset()).isEqualTo(13L);
+            assertThat(reader.next()).isFalse();
+        }
+    }
+
+    @Test
+    void shouldCloseChannel_whenStartOffsetIsInvalid() throws IOException {
+        FileChannel channel = FileChannel.open(write("Alpha,500,12\n"), StandardOpenOption.READ);
+
+        assertThatThrownBy(() -> new PortfolioLineReader(channel, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(channel.isOpen()).isFalse();
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(directory.resolve("portfolios.csv"), content);
+    }
+
+    private PortfolioLineReader open(Path file, long offset) throws IOException {
+        return new PortfolioLineReader(FileChannel.open(file, StandardOpenOption.READ), offset);
+    }
+}
@@ -0,0 +1,55 @@
+package investflow.imports;
+
+import investflow.dtos.CreatePortfolioDTO;
+import org.junit.jupiter.api.Test;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PortfolioRecordParserTests {
+
+    private final PortfolioRecordParser parser = new PortfolioRecordParser(JsonMapper.builder().build());
+
+    @Test
+    void shouldParseQuotedNames_whenCsvNameContainsCommas() {
+        CreatePortfolioDTO dto = PortfolioRecordParser.parseCsv("\"Growth, \"\"Aggressive\"\"\",1500.5,36");
+
+        assertThat(dto).isEqualTo(new CreatePortfolioDTO("Growth, \"Aggressive\"", 1500.5, 36));
+    }
+
+    @Test
+    void shouldRejectCsvLine_whenColumnsAreMissing() {
+        assertThatThrownBy(() -> PortfolioRecordParser.parseCsv("Alpha,500"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expected 3 columns");
+    }
+
+    @Test
+    void shouldParseNdjsonLine_whenItIsACreateRequest() {
+        byte[] line = "{\"name\":\"Alpha\",\"monthlyAmount\":500.0,\"durationMonths\":12}   "
+                .getBytes(StandardCharsets.UTF_8);
+
+        assertThat(parser.parse(ImportFormat.NDJSON, line, line.length - 3))
+                .isEqualTo(new CreatePortfolioDTO("Alpha", 500.0, 12));
+    }
+
+    @Test
+    void shouldRejectNdjsonLine_whenJsonIsMalformed() {
+        byte[] line = "{\"name\":".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> parser.parse(ImportFormat.NDJSON, line, line.length))
+                .isInstanceOf(JacksonException.class);
+    }
+
+    @Test
+    void shouldRecognizeHeader_onlyForCsv() {
+        byte[] header = "Name,monthlyAmount,durationMonths".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(parser.isHeader(ImportFormat.CSV, header, header.length)).isTrue();
+        assertThat(parser.isHeader(ImportFormat.NDJSON, header, header.length)).isFalse();
+    }
+}
@@ -0,0 +1,120 @@
+package investflow.outbox;
+
+import investflow.config.OutboxProperties;
+import investflow.dtos.ResponsePortfolioChangeDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.mappers.PortfolioChangeMapper;
+import investflow.models.PortfolioOutboxEvent;
+import investflow.repositories.PortfolioOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PortfolioOutboxRelayTests {
+
+    @Mock
+    private PortfolioOutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final PortfolioChangeMapper changeMapper = new PortfolioChangeMapper(JsonMapper.builder().build());
+
+    private final InMemoryOutboxSink sink = new InMemoryOutboxSink(100);
+
+    private PortfolioOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new PortfolioOutboxRelay(outboxRepository, changeMapper, sink, transactionManager,
+                new OutboxProperties(OutboxProperties.Sink.MEMORY, null, 0, 10, Duration.ofDays(1)));
+    }
+
+    @Test
+    void shouldAssignConsecutiveSequences_whenPublishingNewEvents() {
+        PortfolioOutboxEvent created = createEvent(1L, PortfolioChangeType.CREATED);
+        PortfolioOutboxEvent deleted = createEvent(2L, PortfolioChangeType.DELETED);
+
+        when(outboxRepository.findUnpublished(Limit.of(10))).thenReturn(List.of());
+        when(outboxRepository.findUnsequenced(Limit.of(10))).thenReturn(List.of(created, deleted));
+        when(outboxRepository.findMaxSequence()).thenReturn(41L);
+
+        int published = relay.relayBatch();
+
+        assertThat(published).isEqualTo(2);
+        assertThat(sink.published())
+                .extracting(ResponsePortfolioChangeDTO::sequence, ResponsePortfolioChangeDTO::type)
+                .containsExactly(
+                        tuple(42L, PortfolioChangeType.CREATED),
+                        tuple(43L, PortfolioChangeType.DELETED));
+        assertThat(sink.published().get(0).portfolio().name()).isEqualTo("Conservative Portfolio");
+        verify(outboxRepository).markPublished(eq(List.of(1L, 2L)), any());
+    }
+
+    @Test
+    void shouldRedeliverWithSameSequences_whenEarlierBatchWasNotConfirmed() {
+        PortfolioOutboxEvent pending = createEvent(1L, PortfolioChangeType.UPDATED);
+        pending.setSequence(7L);
+
+        when(outboxRepository.findUnpublished(Limit.of(10))).thenReturn(List.of(pending));
+
+        relay.relayBatch();
+
+        assertThat(sink.published()).extracting(ResponsePortfolioChangeDTO::sequence).containsExactly(7L);
+        verify(outboxRepository, never()).findUnsequenced(any());
+    }
+
+    @Test
+    void shouldLeaveBatchPending_whenSinkFails() {
+        OutboxSink failingSink = changes -> {
+            throw new IllegalStateException("sink unavailable");
+        };
+        PortfolioOutboxRelay failingRelay = new PortfolioOutboxRelay(outboxRepository, changeMapper, failingSink,
+                transactionManager, new OutboxProperties(null, null, 0, 10, null));
+        PortfolioOutboxEvent pending = createEvent(1L, PortfolioChangeType.CREATED);
+        pending.setSequence(1L);
+
+        when(outboxRepository.findUnpublished(Limit.of(10))).thenReturn(List.of(pending));
+
+        assertThatThrownBy(failingRelay::relayBatch).isInstanceOf(IllegalStateException.class);
+
+        verify(outboxRepository, never()).markPublished(anyCollection(), any());
+    }
+
+    @Test
+    void shouldKeepHighestSequence_whenPurgingPublishedEvents() {
+        when(outboxRepository.findUnpublished(Limit.of(10))).thenReturn(List.of());
+        when(outboxRepository.findUnsequenced(Limit.of(10))).thenReturn(List.of());
+        when(outboxRepository.findMaxSequence()).thenReturn(43L);
+
+        relay.relay();
+
+        verify(outboxRepository).deletePublishedBefore(any(), eq(43L));
+    }
+
+    private PortfolioOutboxEvent createEvent(Long id, PortfolioChangeType type) {
+        ResponsePortfolioDTO portfolio = new ResponsePortfolioDTO(5, "Conservative Portfolio", 500.0, 12,
+                LocalDate.of(2024, 1, 31), LocalDate.of(2024, 1, 31), 0L);
+        PortfolioOutboxEvent event = changeMapper.toEvent(type, portfolio);
+        event.setId(id);
+        return event;
+    }
+}
@@ -0,0 +1,68 @@
+package investflow.projections;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class MonteCarloSimulatorTests {
+
+    private final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    @Test
+    void shouldMatchDeterministicProjection_whenVolatilityIsZero() {
+        PercentileSketch outcomes = MonteCarloSimulator.simulate(pool, 500.0, 120, 0.0, 0.0, 2_000, 42L);
+
+        assertThat(outcomes.count()).isEqualTo(2_000);
+        assertThat(outcomes.quantile(0.05)).isCloseTo(60_000.0, within(60_000.0 * PercentileSketch.RELATIVE_ACCURACY));
+        assertThat(outcomes.quantile(0.95)).isCloseTo(60_000.0, within(60_000.0 * PercentileSketch.RELATIVE_ACCURACY));
+    }
+
+    @Test
+    void shouldReturnOrderedPercentiles_whenReturnsAreVolatile() {
+        PercentileSketch outcomes = MonteCarloSimulator.simulate(pool, 500.0, 360, 0.07, 0.15, 20_000, 7L);
+
+        assertThat(outcomes.quantile(0.05)).isLessThan(outcomes.quantile(0.50));
+        assertThat(outcomes.quantile(0.50)).isLessThan(outcomes.quantile(0.95));
+    }
+
+    @Test
+    void shouldReproduceOutcomes_whenSeedIsFixed() {
+        PercentileSketch first = MonteCarloSimulator.simulate(pool, 250.0, 60, 0.05, 0.2, 5_000, 1234L);
+        PercentileSketch second = MonteCarloSimulator.simulate(pool, 250.0, 60, 0.05, 0.2, 5_000, 1234L);
+
+        assertThat(first.quantile(0.5)).isEqualTo(second.quantile(0.5));
+    }
+
+    @Test
+    void shouldStayWithinRelativeAccuracy_whenSketchesAreMerged() {
+        PercentileSketch left = new PercentileSketch();
+        PercentileSketch right = new PercentileSketch();
+        for (int value = 1; value <= 10_000; value++) {
+            (value % 2 == 0 ? left : right).add(value);
+        }
+
+        PercentileSketch merged = left.merge(right);
+
+        assertThat(merged.count()).isEqualTo(10_000);
+        for (int percentile = 0; percentile <= 100; percentile++) {
+            double expected = Math.floor(percentile / 100.0 * 9_999) + 1;
+            assertThat(merged.quantile(percentile / 100.0))
+                    .as("percentile %d", percentile)
+                    .isCloseTo(expected, within(expected * PercentileSketch.RELATIVE_ACCURACY));
+        }
+    }
+
+    @Test
+    void shouldRejectNonFiniteAssumptions() {
+        assertThatThrownBy(() -> MonteCarloSimulator.simulate(pool, 500.0, 12, Double.NaN, 0.1, 1_000, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MonteCarloSimulator.simulate(pool, 500.0, 12, 0.05, Double.POSITIVE_INFINITY, 1_000, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> MonteCarloSimulator.simulate(pool, 500.0, 12, 0.05, Double.NaN, 1_000, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,49 @@
+package investflow.projections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class ProjectionEngineTests {
+
+    @Test
+    void shouldMatchClosedForm_whenScheduleIsComputed() {
+        double monthlyRate = ProjectionEngine.monthlyRate(0.08);
+
+        ProjectionSchedule schedule = ProjectionEngine.schedule(500.0, 0.08, 600);
+
+        assertThat(schedule.months()).isEqualTo(600);
+        assertThat(schedule.finalValue())
+                .isCloseTo(ProjectionEngine.futureValue(500.0, monthlyRate, 600), within(1e-6));
+        assertThat(schedule.totalContributed()).isEqualTo(300_000.0);
+        assertThat(schedule.totalInterest())
+                .isCloseTo(schedule.finalValue() - 300_000.0, within(1e-9));
+    }
+
+    @Test
+    void shouldAccumulateContributionsOnly_whenRateIsZero() {
+        ProjectionSchedule schedule = ProjectionEngine.schedule(1500.0, 0.0, 36);
+
+        assertThat(schedule.finalValue()).isEqualTo(54_000.0);
+        assertThat(schedule.totalInterest()).isZero();
+        assertThat(ProjectionEngine.futureValue(1500.0, 0.0, 36)).isEqualTo(54_000.0);
+    }
+
+    @Test
+    void shouldEarnInterestOnPreviousBalance_whenMonthEnds() {
+        ProjectionSchedule schedule = ProjectionEngine.schedule(100.0, 0.12, 2);
+
+        assertThat(schedule.interest()[0]).isZero();
+        assertThat(schedule.interest()[1]).isCloseTo(1.0, within(1e-12));
+        assertThat(schedule.balance()[1]).isCloseTo(201.0, within(1e-12));
+    }
+
+    @Test
+    void shouldRejectRate_whenItWipesOutTheBalance() {
+        assertThatThrownBy(() -> ProjectionEngine.monthlyRate(-12.0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid annual rate");
+    }
+}
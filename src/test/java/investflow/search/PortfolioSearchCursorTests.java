@@ -0,0 +1,52 @@
+package investflow.search;
+
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.exceptions.InvalidPortfolioRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PortfolioSearchCursorTests {
+
+    private final ResponsePortfolioDTO lastRow = new ResponsePortfolioDTO(
+            42, "Growth | Plus", 500.0, 12, LocalDate.of(2024, 1, 31), LocalDate.of(2024, 2, 1), 0L);
+
+    @Test
+    void shouldRoundTripSortValueAndId_whenNameContainsSeparator() {
+        String token = PortfolioSearchCursor.after(PortfolioSortField.NAME, Sort.Direction.ASC, lastRow).encode();
+
+        PortfolioSearchCursor cursor = PortfolioSearchCursor.decode(token, PortfolioSortField.NAME, Sort.Direction.ASC);
+
+        assertThat(cursor.value()).isEqualTo("Growth | Plus");
+        assertThat(cursor.id()).isEqualTo(42);
+    }
+
+    @Test
+    void shouldParseTypedValue_whenSortingByCreatedAt() {
+        String token = PortfolioSearchCursor.after(PortfolioSortField.CREATED_AT, Sort.Direction.DESC, lastRow).encode();
+
+        PortfolioSearchCursor cursor = PortfolioSearchCursor.decode(token, PortfolioSortField.CREATED_AT, Sort.Direction.DESC);
+
+        assertThat(cursor.value()).isEqualTo(LocalDate.of(2024, 1, 31));
+    }
+
+    @Test
+    void shouldRejectCursor_whenIssuedForAnotherSort() {
+        String token = PortfolioSearchCursor.after(PortfolioSortField.MONTHLY_AMOUNT, Sort.Direction.ASC, lastRow).encode();
+
+        assertThatThrownBy(() -> PortfolioSearchCursor.decode(token, PortfolioSortField.MONTHLY_AMOUNT, Sort.Direction.DESC))
+                .isInstanceOf(InvalidPortfolioRequestException.class);
+        assertThatThrownBy(() -> PortfolioSearchCursor.decode(token, PortfolioSortField.DURATION_MONTHS, Sort.Direction.ASC))
+                .isInstanceOf(InvalidPortfolioRequestException.class);
+    }
+
+    @Test
+    void shouldRejectCursor_whenTokenIsMalformed() {
+        assertThatThrownBy(() -> PortfolioSearchCursor.decode("not a cursor!", PortfolioSortField.ID, Sort.Direction.ASC))
+                .isInstanceOf(InvalidPortfolioRequestException.class);
+    }
+}
@@ -0,0 +1,147 @@
+package investflow.search;
+
+import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.dtos.ResponsePortfolioSearchDTO;
+import investflow.dtos.SearchPortfolioDTO;
+import investflow.repositories.PortfolioRepository;
+import investflow.services.PortfolioService;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs searches against MySQL and checks their plans with {@code EXPLAIN}. Criteria values are
+ * inlined into the SQL for this test only, so the captured statements can be explained as-is.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=investflow.search.PortfolioSearchIT$SqlCapture",
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline",
+        "spring.jpa.show-sql=false"
+})
+@Testcontainers
+public class PortfolioSearchIT {
+
+    static final int SEEDED_PORTFOLIOS = 5_000;
+
+    static final int PAGE_SIZE = 50;
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer mysqlContainer = new MySQLContainer("mysql:8.0").withReuse(false);
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @BeforeEach
+    void seedDatabase() {
+        if (portfolioRepository.count() == SEEDED_PORTFOLIOS) {
+            return;
+        }
+        portfolioRepository.deleteAll();
+
+        List<CreatePortfolioDTO> portfolios = new ArrayList<>(SEEDED_PORTFOLIOS);
+        for (int i = 0; i < SEEDED_PORTFOLIOS; i++) {
+            portfolios.add(new CreatePortfolioDTO("Portfolio %05d".formatted(i), 10.0 + (i % 1000) * 10, 1 + i % 360));
+        }
+        portfolioService.saveAll(portfolios);
+
+        jdbcTemplate.update("update portfolio set created_at = date_sub(current_date, interval (id % 1000) day)");
+        jdbcTemplate.execute("analyze table portfolio");
+    }
+
+    @Test
+    void shouldVisitEveryMatchInOrder_whenFollowingCursors() {
+        SearchPortfolioDTO criteria = new SearchPortfolioDTO(null, 1000.0, 2000.0, null, null, null, null);
+
+        List<ResponsePortfolioDTO> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            ResponsePortfolioSearchDTO page = portfolioService.search(criteria, PortfolioSortField.MONTHLY_AMOUNT,
+                    Sort.Direction.DESC, cursor, PAGE_SIZE);
+            visited.addAll(page.content());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        List<ResponsePortfolioDTO> expected = portfolioRepository.findAllDTOs().stream()
+                .filter(portfolio -> portfolio.monthlyAmount() >= 1000.0 && portfolio.monthlyAmount() <= 2000.0)
+                .sorted(Comparator.comparing(ResponsePortfolioDTO::monthlyAmount)
+                        .thenComparing(ResponsePortfolioDTO::id)
+                        .reversed())
+                .toList();
+        assertThat(visited).isEqualTo(expected);
+    }
+
+    @Test
+    void shouldUseIndexRange_forEverySupportedSearch() {
+        LocalDate today = LocalDate.now();
+        SearchPortfolioDTO noFilter = new SearchPortfolioDTO(null, null, null, null, null, null, null);
+
+        assertIndexedPlans(new SearchPortfolioDTO("Portfolio 012", null, null, null, null, null, null), PortfolioSortField.NAME);
+        assertIndexedPlans(new SearchPortfolioDTO(null, 500.0, 800.0, null, null, null, null), PortfolioSortField.MONTHLY_AMOUNT);
+        assertIndexedPlans(new SearchPortfolioDTO(null, null, null, 12, 24, null, null), PortfolioSortField.DURATION_MONTHS);
+        assertIndexedPlans(new SearchPortfolioDTO(null, null, null, null, null, today.minusDays(30), today), PortfolioSortField.CREATED_AT);
+        assertIndexedPlans(noFilter, PortfolioSortField.ID);
+        assertIndexedPlans(noFilter, PortfolioSortField.MONTHLY_AMOUNT);
+    }
+
+    /**
+     * Explains the first page and the page after it, in both directions, and fails on any full
+     * table scan or filesort.
+     */
+    private void assertIndexedPlans(SearchPortfolioDTO criteria, PortfolioSortField sortField) {
+        for (Sort.Direction direction : Sort.Direction.values()) {
+            SqlCapture.statements.clear();
+            ResponsePortfolioSearchDTO firstPage = portfolioService.search(criteria, sortField, direction, null, PAGE_SIZE);
+            assertThat(firstPage.nextCursor()).as("%s %s needs a second page", sortField, direction).isNotNull();
+            portfolioService.search(criteria, sortField, direction, firstPage.nextCursor(), PAGE_SIZE);
+
+            List<String> searches = SqlCapture.statements.stream()
+                    .filter(sql -> sql.startsWith("select") && sql.contains("from portfolio"))
+                    .toList();
+            assertThat(searches).hasSize(2);
+
+            for (String sql : searches) {
+                for (Map<String, Object> row : jdbcTemplate.queryForList("explain " + sql.replace("?", String.valueOf(PAGE_SIZE)))) {
+                    assertThat(row.get("type")).as("access type of %s", sql).isNotEqualTo("ALL");
+                    assertThat(row.get("key")).as("index used by %s", sql).isNotNull();
+                    assertThat(String.valueOf(row.get("Extra"))).as("extra of %s", sql).doesNotContain("filesort");
+                }
+            }
+        }
+    }
+}
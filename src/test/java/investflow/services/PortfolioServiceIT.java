@@ -1,27 +1,54 @@
 package investflow.services;
 
 import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.PatchPortfolioDTO;
+import investflow.dtos.PortfolioCreatedKeyDTO;
+import investflow.dtos.ResponseBatchDTO;
+import investflow.dtos.ResponseBatchItemDTO;
+import investflow.dtos.ResponseBulkDeleteDTO;
+import investflow.dtos.ResponseAnalyticsDTO;
+import investflow.dtos.ResponsePortfolioChangeDTO;
 import investflow.dtos.ResponsePortfolioDTO;
+import investflow.dtos.UpdatePortfolioDTO;
 import investflow.exceptions.PortfolioAlreadyExistsException;
 import investflow.exceptions.PortfolioNotFoundException;
+import investflow.exceptions.PortfolioVersionConflictException;
 import investflow.mappers.PortfolioResponseMapper;
 import investflow.models.Portfolio;
+import investflow.outbox.InMemoryOutboxSink;
+import investflow.outbox.OutboxSink;
+import investflow.outbox.PortfolioChangeType;
+import investflow.outbox.PortfolioOutboxRelay;
 import investflow.repositories.PortfolioRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.mysql.MySQLContainer;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "investflow.outbox.poll-interval-ms=3600000",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
 @Testcontainers
 public class PortfolioServiceIT {
 
@@ -38,6 +65,24 @@ public class PortfolioServiceIT {
     @Autowired
     private PortfolioResponseMapper portfolioResponseMapper;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PortfolioAnalyticsService analyticsService;
+
+    @Autowired
+    private PortfolioOutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxSink outboxSink;
+
+    @Autowired
+    private PortfolioBulkDeleteService bulkDeleteService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void cleanDatabase() {
         portfolioRepository.deleteAll();
@@ -59,7 +104,7 @@ public class PortfolioServiceIT {
                 .isPresent()
                 .get()
                 .usingRecursiveComparison()
-                .ignoringFields("id", "createdAt", "updatedAt")
+                .ignoringFields("id", "createdAt", "updatedAt", "version")
                 .isEqualTo(portfolioToCreate);
     }
 
@@ -73,6 +118,78 @@ public class PortfolioServiceIT {
                 .hasMessageContaining(existingPortfolioData.name());
     }
 
+    @Test
+    void shouldRejectCaseAndAccentVariants_whenSavingABatch() {
+        // Arrange
+        portfolioService.save(new CreatePortfolioDTO("Café Portfolio", 100.0, 12));
+
+        // Act
+        ResponseBatchDTO result = portfolioService.saveAll(List.of(
+                new CreatePortfolioDTO("CAFE PORTFOLIO", 100.0, 12),
+                new CreatePortfolioDTO("Growth Portfolio", 150.0, 24),
+                new CreatePortfolioDTO("GROWTH portfolio", 150.0, 24)));
+
+        // Assert
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.items())
+                .extracting(ResponseBatchItemDTO::name, item -> item.error() == null)
+                .containsExactly(
+                        tuple("CAFE PORTFOLIO", false),
+                        tuple("Growth Portfolio", true),
+                        tuple("GROWTH portfolio", false));
+        assertThat(portfolioRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCreateSinglePortfolio_whenManyThreadsCreateTheSameName() throws Exception {
+        // Arrange
+        int threads = 16;
+        CreatePortfolioDTO contendedPortfolio = createValidPortfolioDTO();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < threads; i++) {
+            attempts.add(executor.submit(() -> {
+                start.await();
+                try {
+                    portfolioService.save(contendedPortfolio);
+                    return true;
+                } catch (PortfolioAlreadyExistsException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int created = 0;
+        for (Future<Boolean> attempt : attempts) {
+            created += attempt.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(created).isEqualTo(1);
+        assertThat(portfolioRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldInsertWithoutPreCheckQuery_whenCreatingPortfolio() {
+        // Arrange
+        portfolioService.save(createAnotherValidPortfolioDTO());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        portfolioService.save(createValidPortfolioDTO());
+
+        // Assert: the insert is the only round trip besides an occasional id block allocation
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+    }
+
     @Test
     void shouldReturnPortfolioById_whenPortfolioExists() {
         // Arrange
@@ -135,14 +252,66 @@ public class PortfolioServiceIT {
         Portfolio entityToSave = createPortfolioEntity(createValidPortfolioDTO());
         Portfolio persistedPortfolio = portfolioRepository.save(entityToSave);
 
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
         // Act
         portfolioService.deleteById(persistedPortfolio.getId());
 
-        // Assert
+        // Assert: removed by a DELETE statement, without loading the entity
+        assertThat(statistics.getEntityLoadCount()).isZero();
         assertThat(portfolioRepository.findById(persistedPortfolio.getId()))
                 .isEmpty();
     }
 
+    @Test
+    void shouldDeleteInChunks_whenDeletingByIdListAndByCreationDate() {
+        // Arrange
+        analyticsService.resync();
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 1_200; i++) {
+            ids.add(portfolioService.save(new CreatePortfolioDTO("Bulk " + i, 100.0, 12)).id());
+        }
+        List<Integer> firstHalf = new ArrayList<>(ids.subList(0, 600));
+        firstHalf.add(Integer.MAX_VALUE);
+
+        // Act
+        ResponseBulkDeleteDTO byId = bulkDeleteService.deleteAllById(firstHalf);
+        ResponseBulkDeleteDTO byDate = bulkDeleteService.deleteCreatedBefore(LocalDate.now().plusDays(1));
+
+        // Assert
+        assertThat(byId.deleted()).isEqualTo(600);
+        assertThat(byId.chunks()).isEqualTo(2);
+        assertThat(byDate.deleted()).isEqualTo(600);
+        assertThat(byDate.chunks()).isEqualTo(2);
+        assertThat(portfolioRepository.count()).isZero();
+        assertThat(analyticsService.summary().totals().count()).isZero();
+    }
+
+    @Test
+    void shouldWalkKeysInCreationOrder_whenIdsAndDatesDisagree() {
+        // Arrange: the newest id has the oldest creation date
+        LocalDate today = LocalDate.now();
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(portfolioService.save(new CreatePortfolioDTO("Keyed " + i, 100.0, 12)).id());
+        }
+        jdbcTemplate.update("update portfolio set created_at = ? where id = ?", today.minusDays(3), ids.get(3));
+        jdbcTemplate.update("update portfolio set created_at = ? where id = ?", today.minusDays(2), ids.get(0));
+        jdbcTemplate.update("update portfolio set created_at = ? where id = ?", today.minusDays(2), ids.get(1));
+
+        // Act: one key per round, as the bulk delete walks
+        List<PortfolioCreatedKeyDTO> walked = new ArrayList<>();
+        List<PortfolioCreatedKeyDTO> keys = portfolioService.findKeysCreatedBefore(today, null, 1);
+        while (!keys.isEmpty()) {
+            walked.addAll(keys);
+            keys = portfolioService.findKeysCreatedBefore(today, keys.get(0), 1);
+        }
+
+        // Assert
+        assertThat(walked).extracting(PortfolioCreatedKeyDTO::id).containsExactly(ids.get(3), ids.get(0), ids.get(1));
+    }
+
     @Test
     void shouldThrowException_whenPortfolioDoesNotExist() {
         int nonExistentPortfolioId = 999;
@@ -153,6 +322,108 @@ public class PortfolioServiceIT {
                 .hasMessageContaining(String.valueOf(nonExistentPortfolioId));
     }
 
+    @Test
+    void shouldBumpVersionAndRejectStaleWriter_whenUpdatingPortfolio() {
+        // Arrange
+        ResponsePortfolioDTO created = portfolioService.save(createValidPortfolioDTO());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        ResponsePortfolioDTO updated = portfolioService.patch(created.id(),
+                new PatchPortfolioDTO(null, 750.0, null, created.version()));
+
+        // Assert
+        assertThat(updated.version()).isEqualTo(created.version() + 1);
+        assertThat(updated.name()).isEqualTo(created.name());
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(portfolioService.findById(created.id()).monthlyAmount()).isEqualTo(750.0);
+
+        assertThatThrownBy(() -> portfolioService.update(created.id(),
+                new UpdatePortfolioDTO("Balanced Portfolio", 900.0, 24, created.version())))
+                .isInstanceOf(PortfolioVersionConflictException.class);
+        assertThat(portfolioRepository.findById(created.id()).orElseThrow().getMonthlyAmount()).isEqualTo(750.0);
+    }
+
+    @Test
+    void shouldLetExactlyOneWriterWin_whenConcurrentUpdatesShareVersion() throws Exception {
+        // Arrange
+        ResponsePortfolioDTO created = portfolioService.save(createValidPortfolioDTO());
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < threads; i++) {
+            double monthlyAmount = 600.0 + i;
+            attempts.add(executor.submit(() -> {
+                start.await();
+                try {
+                    portfolioService.patch(created.id(), new PatchPortfolioDTO(null, monthlyAmount, null, created.version()));
+                    return true;
+                } catch (PortfolioVersionConflictException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int updated = 0;
+        for (Future<Boolean> attempt : attempts) {
+            updated += attempt.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(updated).isEqualTo(1);
+        assertThat(portfolioRepository.findById(created.id()).orElseThrow().getVersion()).isEqualTo(created.version() + 1);
+    }
+
+    @Test
+    void shouldKeepRunningTotalsInLineWithDatabase_whenPortfoliosAreSavedAndDeleted() {
+        analyticsService.resync();
+
+        ResponsePortfolioDTO conservative = portfolioService.save(createValidPortfolioDTO());
+        portfolioService.save(createAnotherValidPortfolioDTO());
+        portfolioService.saveAll(List.of(new CreatePortfolioDTO("Retirement Portfolio", 200.0, 240)));
+        portfolioService.deleteById(conservative.id());
+
+        ResponseAnalyticsDTO fromDatabase = analyticsService.computeFromDatabase();
+
+        assertThat(fromDatabase.totals().count()).isEqualTo(2L);
+        assertThat(fromDatabase.durations()).hasSize(2);
+        assertThat(analyticsService.summary()).isEqualTo(fromDatabase);
+    }
+
+    @Test
+    void shouldRelayOnlyCommittedChangesInSequence_whenPortfolioIsCreatedAndDeleted() {
+        // Arrange
+        InMemoryOutboxSink sink = (InMemoryOutboxSink) outboxSink;
+        drainOutbox();
+        sink.clear();
+
+        // Act
+        ResponsePortfolioDTO created = portfolioService.save(createValidPortfolioDTO());
+        assertThatThrownBy(() -> portfolioService.save(createValidPortfolioDTO()))
+                .isInstanceOf(PortfolioAlreadyExistsException.class);
+        portfolioService.deleteById(created.id());
+        drainOutbox();
+
+        // Assert
+        List<ResponsePortfolioChangeDTO> changes = sink.published();
+        assertThat(changes).extracting(ResponsePortfolioChangeDTO::type)
+                .containsExactly(PortfolioChangeType.CREATED, PortfolioChangeType.DELETED);
+        assertThat(changes).allSatisfy(change -> assertThat(change.portfolioId()).isEqualTo(created.id()));
+        assertThat(changes.get(1).sequence()).isEqualTo(changes.get(0).sequence() + 1);
+    }
+
+    private void drainOutbox() {
+        while (outboxRelay.relayBatch() > 0) {
+            // publish everything committed so far
+        }
+    }
+
     private CreatePortfolioDTO createValidPortfolioDTO() {
         return new CreatePortfolioDTO("Conservative Portfolio", 500.0, 12);
     }
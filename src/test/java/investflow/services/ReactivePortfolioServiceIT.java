@@ -0,0 +1,75 @@
+package investflow.services;
+
+import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.repositories.PortfolioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the JPA and the R2DBC write paths against the same MySQL database, which share the
+ * table-backed {@code portfolio_seq} and {@code portfolio_outbox_seq} sequences.
+ */
+@SpringBootTest(properties = "investflow.outbox.poll-interval-ms=3600000")
+@ActiveProfiles("reactive")
+@Testcontainers
+public class ReactivePortfolioServiceIT {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer mysqlContainer = new MySQLContainer("mysql:8.0").withReuse(false);
+
+    @DynamicPropertySource
+    static void reactiveProperties(DynamicPropertyRegistry registry) {
+        registry.add("investflow.r2dbc.url", () -> "r2dbc:mysql://" + mysqlContainer.getHost() + ":"
+                + mysqlContainer.getMappedPort(3306) + "/" + mysqlContainer.getDatabaseName());
+        registry.add("investflow.r2dbc.username", mysqlContainer::getUsername);
+        registry.add("investflow.r2dbc.password", mysqlContainer::getPassword);
+    }
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private ReactivePortfolioService reactivePortfolioService;
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldNeverReuseIds_whenJpaAndReactiveSavesInterleave() {
+        // Enough saves for each path to claim several id blocks in turn
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            ResponsePortfolioDTO viaJpa = portfolioService.save(new CreatePortfolioDTO("Jpa " + i, 100.0, 12));
+            ResponsePortfolioDTO viaReactive = reactivePortfolioService
+                    .save(new CreatePortfolioDTO("Reactive " + i, 100.0, 12))
+                    .block();
+            ids.add(viaJpa.id());
+            ids.add(viaReactive.id());
+        }
+
+        assertThat(ids).doesNotHaveDuplicates().allSatisfy(id -> assertThat(id).isPositive());
+        assertThat(portfolioRepository.count()).isEqualTo(ids.size());
+        assertThat(jdbcTemplate.queryForObject("select count(distinct id) from portfolio_outbox", Long.class))
+                .isEqualTo(jdbcTemplate.queryForObject("select count(*) from portfolio_outbox", Long.class))
+                .isGreaterThanOrEqualTo(ids.size());
+    }
+}
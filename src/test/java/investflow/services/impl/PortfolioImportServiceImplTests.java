@@ -0,0 +1,177 @@
+package investflow.services.impl;
+
+import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.ResponseBatchDTO;
+import investflow.dtos.ResponseBatchItemDTO;
+import investflow.dtos.ResponseImportReportDTO;
+import investflow.exceptions.PortfolioImportException;
+import investflow.imports.ImportFormat;
+import investflow.services.PortfolioService;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PortfolioImportServiceImplTests {
+
+    @Mock
+    private PortfolioService portfolioService;
+
+    @TempDir
+    Path directory;
+
+    private final ValidatorFactory validatorFactory = Validation.buildDefaultValidatorFactory();
+
+    private final List<String> savedNames = new ArrayList<>();
+
+    private final List<Integer> chunkSizes = new ArrayList<>();
+
+    @AfterEach
+    void closeValidator() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void shouldCommitInChunks_andReportOffsetAfterLastLine() throws IOException {
+        Path file = write(header() + rows(0, PortfolioImportServiceImpl.CHUNK_SIZE + 500));
+        acceptAll();
+
+        ResponseImportReportDTO report = importService().importFile(file, ImportFormat.CSV, 0);
+
+        verify(portfolioService, times(2)).saveAll(anyList(), any());
+        assertThat(chunkSizes).containsExactly(PortfolioImportServiceImpl.CHUNK_SIZE, 500);
+        assertThat(report.imported()).isEqualTo(PortfolioImportServiceImpl.CHUNK_SIZE + 500);
+        assertThat(report.committedOffset()).isEqualTo(Files.size(file));
+    }
+
+    @Test
+    void shouldImportOnlyRemainingRows_whenResumedFromCommittedOffset() throws IOException {
+        int total = PortfolioImportServiceImpl.CHUNK_SIZE + 10;
+        Path file = write(rows(0, total));
+        when(portfolioService.saveAll(anyList(), any()))
+                .thenAnswer(invocation -> succeed(invocation.getArgument(0), invocation.getArgument(1)))
+                .thenThrow(new QueryTimeoutException("database went away"));
+
+        PortfolioImportException failure = assertThrows(PortfolioImportException.class,
+                () -> importService().importFile(file, ImportFormat.CSV, 0));
+        long firstChunkEnd = rows(0, PortfolioImportServiceImpl.CHUNK_SIZE).length();
+        assertThat(failure.getCommittedOffset()).isEqualTo(firstChunkEnd);
+
+        reset(portfolioService);
+        savedNames.clear();
+        chunkSizes.clear();
+        acceptAll();
+        ResponseImportReportDTO report = importService().importFile(file, ImportFormat.CSV, failure.getCommittedOffset());
+
+        assertThat(report.rowsRead()).isEqualTo(10);
+        assertThat(savedNames).first().isEqualTo("Portfolio " + PortfolioImportServiceImpl.CHUNK_SIZE);
+    }
+
+    @Test
+    void shouldResumeAfterLastCommittedRecord_whenChunkFailsPartWay() throws IOException {
+        int total = PortfolioImportServiceImpl.CHUNK_SIZE + 10;
+        Path file = write(rows(0, total));
+        when(portfolioService.saveAll(anyList(), any()))
+                .thenAnswer(invocation -> succeed(invocation.getArgument(0), invocation.getArgument(1)))
+                .thenAnswer(invocation -> {
+                    // The first four records of the second chunk were committed before the failure
+                    IntConsumer onCommitted = invocation.getArgument(1);
+                    onCommitted.accept(4);
+                    throw new QueryTimeoutException("database went away");
+                });
+
+        PortfolioImportException failure = assertThrows(PortfolioImportException.class,
+                () -> importService().importFile(file, ImportFormat.CSV, 0));
+
+        assertThat(failure.getCommittedOffset())
+                .isEqualTo(rows(0, PortfolioImportServiceImpl.CHUNK_SIZE + 4).length());
+    }
+
+    @Test
+    void shouldRejectBadRecordsOneByOne_andImportTheRest() throws IOException {
+        String content = """
+                {"name":"Alpha","monthlyAmount":500.0,"durationMonths":12}
+                {"name":
+                {"name":"B","monthlyAmount":500.0,"durationMonths":12}
+
+                {"name":"Negative","monthlyAmount":-1.0,"durationMonths":12}
+                {"name":"Duplicate","monthlyAmount":700.0,"durationMonths":24}
+                """;
+        Path file = write(content);
+        when(portfolioService.saveAll(anyList(), any())).thenAnswer(invocation -> {
+            List<CreatePortfolioDTO> chunk = invocation.getArgument(0);
+            List<ResponseBatchItemDTO> items = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                String name = chunk.get(i).name();
+                items.add(new ResponseBatchItemDTO(i, name, null, name.equals("Duplicate") ? "already exists" : null));
+            }
+            return new ResponseBatchDTO(chunk.size() - 1, 1, items);
+        });
+
+        ResponseImportReportDTO report = importService().importFile(file, ImportFormat.NDJSON, 0);
+
+        assertThat(report.rowsRead()).isEqualTo(5);
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.rejected()).isEqualTo(4);
+        assertThat(report.errors()).hasSize(4)
+                .anySatisfy(error -> assertThat(error).startsWith("offset ").contains(": malformed record: "))
+                .anySatisfy(error -> assertThat(error).contains("name"))
+                .anySatisfy(error -> assertThat(error).contains("monthlyAmount"))
+                .contains("offset " + content.indexOf("{\"name\":\"Duplicate\"") + ": already exists");
+    }
+
+    private PortfolioImportServiceImpl importService() {
+        return new PortfolioImportServiceImpl(portfolioService, validatorFactory.getValidator(), JsonMapper.builder().build());
+    }
+
+    private void acceptAll() {
+        when(portfolioService.saveAll(anyList(), any()))
+                .thenAnswer(invocation -> succeed(invocation.getArgument(0), invocation.getArgument(1)));
+    }
+
+    private ResponseBatchDTO succeed(List<CreatePortfolioDTO> chunk, IntConsumer onCommitted) {
+        chunkSizes.add(chunk.size());
+        List<ResponseBatchItemDTO> items = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            savedNames.add(chunk.get(i).name());
+            items.add(new ResponseBatchItemDTO(i, chunk.get(i).name(), null, null));
+        }
+        onCommitted.accept(chunk.size());
+        return new ResponseBatchDTO(chunk.size(), 0, items);
+    }
+
+    private static String header() {
+        return "name,monthlyAmount,durationMonths\n";
+    }
+
+    private static String rows(int from, int to) {
+        StringBuilder rows = new StringBuilder();
+        IntStream.range(from, to).forEach(i -> rows.append("Portfolio ").append(i).append(",500,12\n"));
+        return rows.toString();
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(directory.resolve("portfolios.txt"), content);
+    }
+}
@@ -1,26 +1,51 @@
 package investflow.services.impl;
 
 import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.PatchPortfolioDTO;
+import investflow.dtos.ResponseBatchDTO;
 import investflow.dtos.ResponsePortfolioDTO;
+import investflow.dtos.ResponsePortfolioPageDTO;
+import investflow.dtos.UpdatePortfolioDTO;
+import investflow.events.PortfolioDeletedEvent;
+import investflow.events.PortfolioSavedEvent;
+import investflow.events.PortfolioUpdatedEvent;
+import investflow.exceptions.InvalidPortfolioRequestException;
 import investflow.exceptions.PortfolioAlreadyExistsException;
 import investflow.exceptions.PortfolioNotFoundException;
+import investflow.exceptions.PortfolioVersionConflictException;
 import investflow.mappers.PortfolioResponseMapper;
 import investflow.models.Portfolio;
 import investflow.repositories.PortfolioRepository;
+import investflow.sharding.PortfolioIdGenerator;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +57,21 @@ public class PortfolioServiceImplTests {
     @Mock
     private PortfolioResponseMapper responseMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ObjectProvider<PortfolioIdGenerator> idGenerator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private PortfolioServiceImpl portfolioService;
 
@@ -41,8 +81,7 @@ public class PortfolioServiceImplTests {
         Portfolio portfolioToSave = createPortfolioEntity(createValidPortfolioDTO());
         ResponsePortfolioDTO expectedPortfolio = createResponsePortfolioDTO(portfolioToSave);
 
-        when(portfolioRepository.existsByName((anyString()))).thenReturn(false);
-        when(portfolioRepository.save(any(Portfolio.class))).thenReturn(portfolioToSave);
+        when(portfolioRepository.saveAndFlush(any(Portfolio.class))).thenReturn(portfolioToSave);
         when(responseMapper.toDTO(portfolioToSave)).thenReturn(expectedPortfolio);
 
         // Act
@@ -55,25 +94,107 @@ public class PortfolioServiceImplTests {
                 .ignoringFields("id", "createdAt", "updatedAt")
                 .isEqualTo(expectedPortfolio);
 
-        verify(portfolioRepository).save(any(Portfolio.class));
+        verify(portfolioRepository).saveAndFlush(any(Portfolio.class));
         verify(responseMapper).toDTO(portfolioToSave);
+        verify(eventPublisher).publishEvent(new PortfolioSavedEvent(expectedPortfolio));
     }
 
     @Test
     void shouldRejectPortfolioCreation_whenNameAlreadyExists() {
         CreatePortfolioDTO portfolioWithExistingName = createValidPortfolioDTO();
 
-        when(portfolioRepository.existsByName((portfolioWithExistingName.name()))).thenReturn(true);
+        when(portfolioRepository.saveAndFlush(any(Portfolio.class)))
+                .thenThrow(new DuplicateKeyException("Duplicate entry for key 'portfolio.uk_portfolio_name'"));
 
         assertThatThrownBy(() -> portfolioService.save(portfolioWithExistingName))
                 .isInstanceOf(PortfolioAlreadyExistsException.class)
                 .hasMessage("Portfolio Name Already Exists: " + portfolioWithExistingName.name());
 
-        verify(portfolioRepository).existsByName(portfolioWithExistingName.name());
-        verify(portfolioRepository, never()).save(any());
+        verify(portfolioRepository).saveAndFlush(any(Portfolio.class));
         verifyNoInteractions(responseMapper);
     }
 
+    @Test
+    void shouldPropagateViolation_whenItIsNotANameConflict() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("Column 'name' cannot be null");
+
+        when(portfolioRepository.saveAndFlush(any(Portfolio.class))).thenThrow(violation);
+
+        assertThatThrownBy(() -> portfolioService.save(createValidPortfolioDTO()))
+                .isSameAs(violation);
+    }
+
+    @Test
+    void shouldReportDuplicates_whenSavingBatch() {
+        // Arrange
+        CreatePortfolioDTO takenInDatabase = createValidPortfolioDTO();
+        CreatePortfolioDTO unique = createAnotherValidPortfolioDTO();
+        CreatePortfolioDTO repeatedInBatch = createAnotherValidPortfolioDTO();
+        Portfolio savedPortfolio = createPortfolioEntity(unique);
+        ResponsePortfolioDTO expectedPortfolio = createResponsePortfolioDTO(savedPortfolio);
+
+        when(portfolioRepository.findExistingNames(anyCollection())).thenReturn(Set.of(takenInDatabase.name()));
+        when(portfolioRepository.saveAll(anyList())).thenReturn(List.of(savedPortfolio));
+        when(responseMapper.toDTO(savedPortfolio)).thenReturn(expectedPortfolio);
+
+        // Act
+        ResponseBatchDTO result = portfolioService.saveAll(List.of(takenInDatabase, unique, repeatedInBatch));
+
+        // Assert
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(2);
+        assertThat(result.items().get(0).error()).isEqualTo("Portfolio Name Already Exists: " + takenInDatabase.name());
+        assertThat(result.items().get(1).portfolio()).isEqualTo(expectedPortfolio);
+        assertThat(result.items().get(2).error()).isEqualTo("Portfolio Name Already Exists: " + repeatedInBatch.name());
+
+        verify(portfolioRepository).findExistingNames(anyCollection());
+        verify(portfolioRepository).flush();
+        verify(entityManager).clear();
+    }
+
+    @Test
+    void shouldRetryRowByRow_whenChunkViolatesConstraint() {
+        // Arrange: the second name was taken concurrently, after the existing-names check
+        CreatePortfolioDTO unique = createValidPortfolioDTO();
+        CreatePortfolioDTO takenConcurrently = createAnotherValidPortfolioDTO();
+        Portfolio savedPortfolio = createPortfolioEntity(unique);
+        ResponsePortfolioDTO expectedPortfolio = createResponsePortfolioDTO(savedPortfolio);
+        DuplicateKeyException duplicate = new DuplicateKeyException("Duplicate entry for key 'portfolio.uk_portfolio_name'");
+
+        when(portfolioRepository.saveAll(anyList()))
+                .thenThrow(duplicate)
+                .thenReturn(List.of(savedPortfolio))
+                .thenThrow(duplicate);
+        when(responseMapper.toDTO(savedPortfolio)).thenReturn(expectedPortfolio);
+
+        List<Integer> committed = new ArrayList<>();
+
+        // Act
+        ResponseBatchDTO result = portfolioService.saveAll(List.of(unique, takenConcurrently), committed::add);
+
+        // Assert
+        assertThat(committed).containsExactly(1, 2, 2);
+        assertThat(result.succeeded()).isEqualTo(1);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.items().get(0).portfolio()).isEqualTo(expectedPortfolio);
+        assertThat(result.items().get(1).error()).isEqualTo("Portfolio Name Already Exists: " + takenConcurrently.name());
+
+        verify(portfolioRepository, times(3)).saveAll(anyList());
+        verify(transactionManager, times(1)).commit(any());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(eventPublisher, times(1)).publishEvent(any(PortfolioSavedEvent.class));
+    }
+
+    @Test
+    void shouldRejectBatch_whenItExceedsMaximumSize() {
+        List<CreatePortfolioDTO> oversizedBatch = Collections.nCopies(PortfolioServiceImpl.MAX_BATCH_SIZE + 1, createValidPortfolioDTO());
+
+        assertThatThrownBy(() -> portfolioService.saveAll(oversizedBatch))
+                .isInstanceOf(InvalidPortfolioRequestException.class);
+
+        verifyNoInteractions(portfolioRepository);
+    }
+
     @Test
     void shouldReturnPortfolio_WhenPortfolioExists() {
         // Arrange
@@ -81,8 +202,7 @@ public class PortfolioServiceImplTests {
         Portfolio storedPortfolio = createPortfolioEntity(createValidPortfolioDTO());
         ResponsePortfolioDTO expectedPortfolio = createResponsePortfolioDTO(storedPortfolio);
 
-        when(responseMapper.toDTO(storedPortfolio)).thenReturn(expectedPortfolio);
-        when(portfolioRepository.findById(portfolioId)).thenReturn(Optional.of(storedPortfolio));
+        when(portfolioRepository.findDTOById(portfolioId)).thenReturn(Optional.of(expectedPortfolio));
 
         // Act
         ResponsePortfolioDTO actualPortfolio = portfolioService.findById(portfolioId);
@@ -94,21 +214,21 @@ public class PortfolioServiceImplTests {
                 .ignoringFields("id", "createdAt", "updatedAt")
                 .isEqualTo(expectedPortfolio);
 
-        verify(portfolioRepository).findById(portfolioId);
-        verify(responseMapper).toDTO(storedPortfolio);
+        verify(portfolioRepository).findDTOById(portfolioId);
+        verifyNoInteractions(responseMapper);
     }
 
     @Test
     void shouldFailToFindPortfolio_whenPortfolioDoesNotExist() {
         int unknownPortfolioId = 999;
 
-        when(portfolioRepository.findById(unknownPortfolioId)).thenReturn(Optional.empty());
+        when(portfolioRepository.findDTOById(unknownPortfolioId)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> portfolioService.findById(unknownPortfolioId))
                 .isInstanceOf(PortfolioNotFoundException.class)
                 .hasMessage("Portfolio Not Found: " + unknownPortfolioId);
 
-        verify(portfolioRepository).findById(unknownPortfolioId);
+        verify(portfolioRepository).findDTOById(unknownPortfolioId);
         verifyNoInteractions(responseMapper);
     }
 
@@ -121,11 +241,7 @@ public class PortfolioServiceImplTests {
         Portfolio secondPortfolio = createPortfolioEntity(createAnotherValidPortfolioDTO());
         ResponsePortfolioDTO secondExpectedPortfolio = createResponsePortfolioDTO(secondPortfolio);
 
-        List<Portfolio> storedPortfolios = List.of(firstPortfolio, secondPortfolio);
-
-        when(portfolioRepository.findAll()).thenReturn(storedPortfolios);
-        when(responseMapper.toDTO(firstPortfolio)).thenReturn(firstExpectedPortfolio);
-        when(responseMapper.toDTO(secondPortfolio)).thenReturn(secondExpectedPortfolio);
+        when(portfolioRepository.findAllDTOs()).thenReturn(List.of(firstExpectedPortfolio, secondExpectedPortfolio));
 
         // Act
         Iterable<ResponsePortfolioDTO> actualPortfolios = portfolioService.findAll();
@@ -137,49 +253,215 @@ public class PortfolioServiceImplTests {
                 .usingRecursiveFieldByFieldElementComparator()
                 .containsExactlyInAnyOrder(firstExpectedPortfolio, secondExpectedPortfolio);
 
-        verify(portfolioRepository).findAll();
-        verify(responseMapper, times(2)).toDTO(any(Portfolio.class));
+        verify(portfolioRepository).findAllDTOs();
+        verifyNoInteractions(responseMapper);
     }
 
     @Test
     void shouldReturnNoPortfolios_whenNoneExist() {
-        when(portfolioRepository.findAll()).thenReturn(Collections.emptyList());
+        when(portfolioRepository.findAllDTOs()).thenReturn(Collections.emptyList());
 
         Iterable<ResponsePortfolioDTO> actualPortfolios = portfolioService.findAll();
 
         assertThat(actualPortfolios).isEmpty();
 
-        verify(portfolioRepository).findAll();
+        verify(portfolioRepository).findAllDTOs();
         verifyNoInteractions(responseMapper);
     }
 
+    @Test
+    void shouldReturnNextCursor_whenPageIsFull() {
+        // Arrange
+        Portfolio firstPortfolio = createPortfolioEntity(createValidPortfolioDTO());
+        Portfolio secondPortfolio = createPortfolioEntity(createAnotherValidPortfolioDTO());
+        secondPortfolio.setId(2);
+
+        when(portfolioRepository.findDTOsByIdGreaterThan(0, Limit.of(2)))
+                .thenReturn(List.of(createResponsePortfolioDTO(firstPortfolio), createResponsePortfolioDTO(secondPortfolio)));
+
+        // Act
+        ResponsePortfolioPageDTO page = portfolioService.findAll(null, 2);
+
+        // Assert
+        assertThat(page.content()).hasSize(2);
+        assertThat(page.nextCursor()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturnNoCursor_whenPageIsNotFull() {
+        // Arrange
+        Portfolio storedPortfolio = createPortfolioEntity(createValidPortfolioDTO());
+
+        when(portfolioRepository.findDTOsByIdGreaterThan(5, Limit.of(10)))
+                .thenReturn(List.of(createResponsePortfolioDTO(storedPortfolio)));
+
+        // Act
+        ResponsePortfolioPageDTO page = portfolioService.findAll(5, 10);
+
+        // Assert
+        assertThat(page.content()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldStreamProjectedPortfolios_whenStreamingAll() {
+        // Arrange
+        ResponsePortfolioDTO expectedPortfolio = createResponsePortfolioDTO(createPortfolioEntity(createValidPortfolioDTO()));
+
+        when(portfolioRepository.streamAllDTOs()).thenReturn(Stream.of(expectedPortfolio));
+
+        // Act
+        List<ResponsePortfolioDTO> actualPortfolios;
+        try (Stream<ResponsePortfolioDTO> stream = portfolioService.streamAll()) {
+            actualPortfolios = stream.toList();
+        }
+
+        // Assert
+        assertThat(actualPortfolios).containsExactly(expectedPortfolio);
+        verifyNoInteractions(responseMapper);
+    }
+
+    @Test
+    void shouldUpdateManagedPortfolio_whenVersionMatches() {
+        // Arrange
+        Portfolio storedPortfolio = createPortfolioEntity(createValidPortfolioDTO());
+        storedPortfolio.setVersion(3L);
+        ResponsePortfolioDTO previous = createResponsePortfolioDTO(storedPortfolio);
+
+        when(portfolioRepository.findById(1)).thenReturn(Optional.of(storedPortfolio));
+        when(responseMapper.toDTO(storedPortfolio)).thenAnswer(invocation -> createResponsePortfolioDTO(storedPortfolio));
+
+        // Act
+        ResponsePortfolioDTO updated = portfolioService.update(1, new UpdatePortfolioDTO("Balanced Portfolio", 750.0, 24, 3L));
+
+        // Assert
+        assertThat(updated.name()).isEqualTo("Balanced Portfolio");
+        assertThat(updated.monthlyAmount()).isEqualTo(750.0);
+        assertThat(updated.durationMonths()).isEqualTo(24);
+
+        verify(portfolioRepository).flush();
+        verify(portfolioRepository, never()).save(any(Portfolio.class));
+        verify(eventPublisher).publishEvent(new PortfolioUpdatedEvent(previous, updated));
+    }
+
+    @Test
+    void shouldOnlyChangeProvidedFields_whenPatching() {
+        // Arrange
+        Portfolio storedPortfolio = createPortfolioEntity(createValidPortfolioDTO());
+        storedPortfolio.setVersion(0L);
+
+        when(portfolioRepository.findById(1)).thenReturn(Optional.of(storedPortfolio));
+        when(responseMapper.toDTO(storedPortfolio)).thenAnswer(invocation -> createResponsePortfolioDTO(storedPortfolio));
+
+        // Act
+        ResponsePortfolioDTO patched = portfolioService.patch(1, new PatchPortfolioDTO(null, 900.0, null, 0L));
+
+        // Assert
+        assertThat(patched.name()).isEqualTo("Conservative Portfolio");
+        assertThat(patched.monthlyAmount()).isEqualTo(900.0);
+        assertThat(patched.durationMonths()).isEqualTo(12);
+        verify(portfolioRepository).flush();
+    }
+
+    @Test
+    void shouldRejectUpdate_whenVersionIsStale() {
+        Portfolio storedPortfolio = createPortfolioEntity(createValidPortfolioDTO());
+        storedPortfolio.setVersion(4L);
+
+        when(portfolioRepository.findById(1)).thenReturn(Optional.of(storedPortfolio));
+
+        assertThatThrownBy(() -> portfolioService.patch(1, new PatchPortfolioDTO(null, 900.0, null, 3L)))
+                .isInstanceOf(PortfolioVersionConflictException.class);
+
+        assertThat(storedPortfolio.getMonthlyAmount()).isEqualTo(500.0);
+        verify(portfolioRepository, never()).flush();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldRejectUpdate_whenConcurrentWriterWinsBeforeFlush() {
+        Portfolio storedPortfolio = createPortfolioEntity(createValidPortfolioDTO());
+        storedPortfolio.setVersion(0L);
+
+        when(portfolioRepository.findById(1)).thenReturn(Optional.of(storedPortfolio));
+        doThrow(new ObjectOptimisticLockingFailureException(Portfolio.class, 1)).when(portfolioRepository).flush();
+
+        assertThatThrownBy(() -> portfolioService.update(1, new UpdatePortfolioDTO("Balanced Portfolio", 750.0, 24, 0L)))
+                .isInstanceOf(PortfolioVersionConflictException.class);
+
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void shouldDeletePortfolio_WhenPortfolioExists() {
         // Arrange
         int existingPortfolioId = 1;
+        ResponsePortfolioDTO existingPortfolio = createResponsePortfolioDTO(createPortfolioEntity(createValidPortfolioDTO()));
 
-        when(portfolioRepository.existsById(existingPortfolioId)).thenReturn(true);
+        when(portfolioRepository.findDTOsByIdInForUpdate(List.of(existingPortfolioId)))
+                .thenReturn(List.of(existingPortfolio));
+        when(portfolioRepository.deleteByIds(List.of(existingPortfolioId))).thenReturn(1);
 
         // Act
         portfolioService.deleteById(existingPortfolioId);
 
         // Assert
-        verify(portfolioRepository).existsById(existingPortfolioId);
-        verify(portfolioRepository).deleteById(existingPortfolioId);
+        verify(portfolioRepository).findDTOsByIdInForUpdate(List.of(existingPortfolioId));
+        verify(portfolioRepository).deleteByIds(List.of(existingPortfolioId));
         verifyNoMoreInteractions(portfolioRepository);
+        verify(eventPublisher).publishEvent(new PortfolioDeletedEvent(existingPortfolio));
     }
 
     @Test
     void shouldThrowException_whenDeletingNonExistentPortfolio() {
         int missingPortfolioId = 999;
-        when(portfolioRepository.existsById(missingPortfolioId)).thenReturn(false);
+        when(portfolioRepository.findDTOsByIdInForUpdate(List.of(missingPortfolioId))).thenReturn(List.of());
 
         assertThatThrownBy(() -> portfolioService.deleteById(missingPortfolioId))
                 .isInstanceOf(PortfolioNotFoundException.class)
                 .hasMessage("Portfolio Not Found: " + missingPortfolioId);
 
-        verify(portfolioRepository).existsById(missingPortfolioId);
+        verify(portfolioRepository, never()).deleteByIds(anyCollection());
         verify(portfolioRepository, never()).deleteById(anyInt());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldDeleteOnlyExistingPortfolios_whenDeletingByIdList() {
+        // Arrange
+        ResponsePortfolioDTO first = new ResponsePortfolioDTO(1, "First", 100.0, 12, null, null, 0L);
+        ResponsePortfolioDTO third = new ResponsePortfolioDTO(3, "Third", 300.0, 36, null, null, 2L);
+        Cache cache = mock(Cache.class);
+
+        when(portfolioRepository.findDTOsByIdInForUpdate(List.of(1, 2, 3))).thenReturn(List.of(first, third));
+        when(portfolioRepository.deleteByIds(List.of(1, 3))).thenReturn(2);
+        when(cacheManager.getCache("portfolios")).thenReturn(cache);
+
+        // Act
+        int deleted = portfolioService.deleteAllById(List.of(1, 2, 3));
+
+        // Assert
+        assertThat(deleted).isEqualTo(2);
+        verify(portfolioRepository).deleteByIds(List.of(1, 3));
+        verify(cache).evict(1);
+        verify(cache).evict(3);
+        verify(eventPublisher).publishEvent(new PortfolioDeletedEvent(first));
+        verify(eventPublisher).publishEvent(new PortfolioDeletedEvent(third));
+        verifyNoMoreInteractions(eventPublisher);
+    }
+
+    @Test
+    void shouldFailWithoutPublishingEvents_whenDeleteCountDiffersFromLockedRows() {
+        ResponsePortfolioDTO first = new ResponsePortfolioDTO(1, "First", 100.0, 12, null, null, 0L);
+        ResponsePortfolioDTO second = new ResponsePortfolioDTO(2, "Second", 200.0, 24, null, null, 1L);
+
+        when(portfolioRepository.findDTOsByIdInForUpdate(List.of(1, 2))).thenReturn(List.of(first, second));
+        when(portfolioRepository.deleteByIds(List.of(1, 2))).thenReturn(1);
+
+        assertThatThrownBy(() -> portfolioService.deleteAllById(List.of(1, 2)))
+                .isInstanceOf(IncorrectUpdateSemanticsDataAccessException.class);
+
+        verifyNoInteractions(eventPublisher);
     }
 
     private CreatePortfolioDTO createValidPortfolioDTO() {
@@ -206,7 +488,8 @@ public class PortfolioServiceImplTests {
                 entity.getMonthlyAmount(),
                 entity.getDurationMonths(),
                 entity.getCreatedAt(),
-                entity.getUpdatedAt()
+                entity.getUpdatedAt(),
+                entity.getVersion()
         );
     }
 }
@@ -0,0 +1,56 @@
+package investflow.services.impl;
+
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.dtos.ResponseSimulationDTO;
+import investflow.exceptions.InvalidPortfolioRequestException;
+import investflow.services.PortfolioService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProjectionServiceImplTests {
+
+    @Mock
+    private PortfolioService portfolioService;
+
+    private final ForkJoinPool simulationPool = new ForkJoinPool(2);
+
+    @AfterEach
+    void shutdownPool() {
+        simulationPool.shutdown();
+    }
+
+    @Test
+    void shouldSimulateOnDedicatedPool() {
+        when(portfolioService.findById(1)).thenReturn(new ResponsePortfolioDTO(1, "Conservative Portfolio", 500.0, 12,
+                LocalDate.of(2024, 1, 30), LocalDate.of(2024, 1, 30), 0L));
+
+        ResponseSimulationDTO simulation = new ProjectionServiceImpl(portfolioService, simulationPool)
+                .simulate(1, 5_000, 0.05, 0.1, 42L);
+
+        assertThat(simulation.p50()).isPositive();
+        assertThat(simulationPool.getPoolSize()).isPositive();
+    }
+
+    @Test
+    void shouldRejectNonFiniteAssumptions_withoutLoadingPortfolio() {
+        ProjectionServiceImpl projectionService = new ProjectionServiceImpl(portfolioService, simulationPool);
+
+        assertThatThrownBy(() -> projectionService.simulate(1, 1_000, Double.NaN, 0.1, null))
+                .isInstanceOf(InvalidPortfolioRequestException.class);
+        assertThatThrownBy(() -> projectionService.simulate(1, 1_000, 0.05, Double.POSITIVE_INFINITY, null))
+                .isInstanceOf(InvalidPortfolioRequestException.class);
+
+        verifyNoInteractions(portfolioService);
+    }
+}
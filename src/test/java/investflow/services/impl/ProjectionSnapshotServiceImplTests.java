@@ -0,0 +1,149 @@
+package investflow.services.impl;
+
+import investflow.config.ProjectionSnapshotProperties;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.dtos.ResponseProjectionDTO;
+import investflow.dtos.ResponseProjectionRebuildDTO;
+import investflow.events.PortfolioDeletedEvent;
+import investflow.models.PortfolioProjection;
+import investflow.repositories.PortfolioProjectionRepository;
+import investflow.repositories.PortfolioRepository;
+import investflow.services.PortfolioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProjectionSnapshotServiceImplTests {
+
+    @Mock
+    private PortfolioService portfolioService;
+
+    @Mock
+    private PortfolioRepository portfolioRepository;
+
+    @Mock
+    private PortfolioProjectionRepository projectionRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Executor executor;
+
+    private ProjectionSnapshotServiceImpl snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        snapshotService = new ProjectionSnapshotServiceImpl(portfolioService, portfolioRepository, projectionRepository,
+                jdbcTemplate, executor, new ProjectionSnapshotProperties(0.06, 1, 10, 2));
+    }
+
+    @Test
+    void shouldServeStoredSnapshot_whenVersionAndRateMatch() {
+        ResponsePortfolioDTO portfolio = createPortfolio(1, 3L);
+        PortfolioProjection stored = ProjectionSnapshotServiceImpl.compute(portfolio, 0.06);
+
+        when(portfolioService.findById(1)).thenReturn(portfolio);
+        when(projectionRepository.findById(1)).thenReturn(Optional.of(stored));
+
+        ResponseProjectionDTO projection = snapshotService.findSnapshot(1);
+
+        assertThat(projection.finalValue()).isEqualTo(stored.getFinalValue());
+        assertThat(projection.annualRate()).isEqualTo(0.06);
+        verifyNoInteractions(executor);
+    }
+
+    @Test
+    void shouldRecomputeAndScheduleRefresh_whenSnapshotIsFromOlderVersion() {
+        ResponsePortfolioDTO portfolio = createPortfolio(1, 4L);
+        PortfolioProjection outdated = ProjectionSnapshotServiceImpl.compute(createPortfolio(1, 3L), 0.06);
+        outdated.setFinalValue(-1.0);
+
+        when(portfolioService.findById(1)).thenReturn(portfolio);
+        when(projectionRepository.findById(1)).thenReturn(Optional.of(outdated));
+
+        ResponseProjectionDTO projection = snapshotService.findSnapshot(1);
+
+        assertThat(projection.finalValue()).isEqualTo(ProjectionSnapshotServiceImpl.compute(portfolio, 0.06).getFinalValue());
+        verify(executor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void shouldRecomputeEveryChunkAtNewRate_whenRebuilding() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+        when(portfolioRepository.findDTOsByIdGreaterThan(0, Limit.of(2)))
+                .thenReturn(List.of(createPortfolio(1, 0L), createPortfolio(2, 0L)));
+        when(portfolioRepository.findDTOsByIdGreaterThan(2, Limit.of(2)))
+                .thenReturn(List.of(createPortfolio(3, 0L)));
+
+        ResponseProjectionRebuildDTO result = snapshotService.rebuild(0.1);
+
+        assertThat(result.portfolios()).isEqualTo(3);
+        assertThat(snapshotService.annualRate()).isEqualTo(0.1);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(ProjectionSnapshotServiceImpl.UPSERT), batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactlyInAnyOrder(2, 1);
+        assertThat(batches.getAllValues().get(0).get(0)[2]).isEqualTo(0.1);
+        verify(jdbcTemplate).update(ProjectionSnapshotServiceImpl.DELETE_ORPHANS);
+        verify(jdbcTemplate).update(ProjectionSnapshotServiceImpl.UPSERT_RATE, 0.1);
+    }
+
+    @Test
+    void shouldDeleteSnapshotWithoutLoadingIt_whenPortfolioIsDeleted() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        snapshotService.onDeleted(new PortfolioDeletedEvent(createPortfolio(1, 3L)));
+
+        verify(jdbcTemplate).update(ProjectionSnapshotServiceImpl.DELETE, 1);
+        verifyNoInteractions(projectionRepository);
+    }
+
+    @Test
+    void shouldAdoptStoredRate_whenAnotherInstanceRebuilt() {
+        when(jdbcTemplate.queryForList(ProjectionSnapshotServiceImpl.SELECT_RATE, Double.class))
+                .thenReturn(List.of(0.09));
+
+        snapshotService.refreshRate();
+
+        assertThat(snapshotService.annualRate()).isEqualTo(0.09);
+    }
+
+    @Test
+    void shouldKeepConfiguredRate_whenNoneIsStored() {
+        when(jdbcTemplate.queryForList(ProjectionSnapshotServiceImpl.SELECT_RATE, Double.class))
+                .thenReturn(List.of());
+
+        snapshotService.refreshRate();
+
+        assertThat(snapshotService.annualRate()).isEqualTo(0.06);
+    }
+
+    private ResponsePortfolioDTO createPortfolio(int id, Long version) {
+        return new ResponsePortfolioDTO(id, "Portfolio " + id, 500.0, 120,
+                LocalDate.of(2024, 1, 31), LocalDate.of(2024, 1, 31), version);
+    }
+}
@@ -0,0 +1,186 @@
+package investflow.services.impl;
+
+import investflow.config.CacheConfig;
+import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.events.PortfolioDeletedEvent;
+import investflow.events.PortfolioSavedEvent;
+import investflow.exceptions.PortfolioAlreadyExistsException;
+import investflow.exceptions.PortfolioNotFoundException;
+import investflow.mappers.PortfolioChangeMapper;
+import investflow.repositories.ReactivePortfolioRepository;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.test.StepVerifier;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the reactive service against an in-memory H2 database over R2DBC.
+ */
+public class ReactivePortfolioServiceImplTests {
+
+    private static final ConnectionFactory connectionFactory =
+            ConnectionFactories.get("r2dbc:h2:mem:///reactive-portfolios?options=DB_CLOSE_DELAY=-1");
+
+    private final DatabaseClient databaseClient = DatabaseClient.create(connectionFactory);
+
+    private final TransactionalOperator transactionalOperator =
+            TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+
+    private final List<Object> publishedEvents = new CopyOnWriteArrayList<>();
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PORTFOLIOS);
+
+    private final ReactivePortfolioServiceImpl portfolioService = new ReactivePortfolioServiceImpl(
+            new ReactivePortfolioRepository(databaseClient, transactionalOperator),
+            transactionalOperator,
+            new PortfolioChangeMapper(JsonMapper.builder().build()),
+            publishedEvents::add,
+            cacheManager);
+
+    @BeforeEach
+    void createSchema() {
+        execute("create table if not exists portfolio (id int primary key, name varchar(50) not null, "
+                + "monthly_amount double, duration_months int not null, created_at date, updated_at date, version bigint, "
+                + "constraint uk_portfolio_name unique (name))");
+        execute("create table if not exists portfolio_seq (next_val bigint)");
+        execute("create table if not exists portfolio_outbox (id bigint primary key, sequence bigint, "
+                + "portfolio_id int not null, type varchar(16) not null, payload clob not null, "
+                + "occurred_at timestamp(6) not null, published_at timestamp(6))");
+        execute("create table if not exists portfolio_outbox_seq (next_val bigint)");
+        execute("delete from portfolio");
+        execute("delete from portfolio_outbox");
+        execute("delete from portfolio_seq");
+        execute("delete from portfolio_outbox_seq");
+        execute("insert into portfolio_seq values (1)");
+        execute("insert into portfolio_outbox_seq values (1)");
+    }
+
+    @Test
+    void shouldCreateAndFindPortfolio_whenNameIsUnique() {
+        ResponsePortfolioDTO created = portfolioService.save(createValidPortfolioDTO()).block();
+
+        assertThat(created).isNotNull();
+        StepVerifier.create(portfolioService.findById(created.id()))
+                .expectNext(created)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldHandOutWholeIdBlock_whenCreatingPortfolios() {
+        ResponsePortfolioDTO first = portfolioService.save(createValidPortfolioDTO()).block();
+        ResponsePortfolioDTO second = portfolioService.save(createAnotherValidPortfolioDTO()).block();
+
+        // Like Hibernate's pooled optimizer, the initial value starts a block reaching up to the next value
+        assertThat(first.id()).isEqualTo(1);
+        assertThat(second.id()).isEqualTo(2);
+        assertThat(queryLong("select next_val from portfolio_seq")).isEqualTo(101L);
+    }
+
+    @Test
+    void shouldClaimBlockEndingAtValueRead_likePooledOptimizer() {
+        // JPA has claimed blocks up to 200; the value 201 is the top of the next block
+        execute("update portfolio_seq set next_val = 201");
+
+        ResponsePortfolioDTO created = portfolioService.save(createValidPortfolioDTO()).block();
+
+        assertThat(created.id()).isEqualTo(152);
+        assertThat(queryLong("select next_val from portfolio_seq")).isEqualTo(251L);
+    }
+
+    @Test
+    void shouldWriteOutboxPublishEventsAndEvictCache_whenPortfolioIsCreatedAndDeleted() {
+        ResponsePortfolioDTO created = portfolioService.save(createValidPortfolioDTO()).block();
+        cacheManager.getCache(CacheConfig.PORTFOLIOS).put(created.id(), created);
+
+        portfolioService.deleteById(created.id()).block();
+
+        assertThat(publishedEvents).containsExactly(
+                new PortfolioSavedEvent(created), new PortfolioDeletedEvent(created));
+        assertThat(cacheManager.getCache(CacheConfig.PORTFOLIOS).get(created.id())).isNull();
+        assertThat(queryLong("select count(*) from portfolio_outbox where portfolio_id = " + created.id()))
+                .isEqualTo(2L);
+    }
+
+    @Test
+    void shouldPublishNothing_whenNameIsTaken() {
+        portfolioService.save(createValidPortfolioDTO()).block();
+        publishedEvents.clear();
+
+        StepVerifier.create(portfolioService.save(createValidPortfolioDTO()))
+                .expectError(PortfolioAlreadyExistsException.class)
+                .verify();
+
+        assertThat(publishedEvents).isEmpty();
+        assertThat(queryLong("select count(*) from portfolio_outbox")).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldFailWithAlreadyExists_whenNameIsTaken() {
+        portfolioService.save(createValidPortfolioDTO()).block();
+
+        StepVerifier.create(portfolioService.save(createValidPortfolioDTO()))
+                .expectError(PortfolioAlreadyExistsException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldPropagateViolation_whenItIsNotANameConflict() {
+        ResponsePortfolioDTO created = portfolioService.save(createValidPortfolioDTO()).block();
+        // Hands the next save an id that is already taken
+        execute("update portfolio set id = " + (created.id() + 1) + " where id = " + created.id());
+
+        StepVerifier.create(portfolioService.save(createAnotherValidPortfolioDTO()))
+                .expectErrorMatches(e -> e instanceof DataIntegrityViolationException
+                        && !(e instanceof PortfolioAlreadyExistsException))
+                .verify();
+    }
+
+    @Test
+    void shouldStreamPortfoliosInIdOrder_whenSubscriberRequestsOneAtATime() {
+        ResponsePortfolioDTO first = portfolioService.save(createValidPortfolioDTO()).block();
+        ResponsePortfolioDTO second = portfolioService.save(createAnotherValidPortfolioDTO()).block();
+
+        StepVerifier.create(portfolioService.findAll(), 1)
+                .expectNext(first)
+                .thenRequest(1)
+                .expectNext(second)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldFailWithNotFound_whenDeletingMissingPortfolio() {
+        StepVerifier.create(portfolioService.deleteById(999))
+                .expectError(PortfolioNotFoundException.class)
+                .verify();
+    }
+
+    private void execute(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+
+    private Long queryLong(String sql) {
+        return databaseClient.sql(sql).map(row -> row.get(0, Long.class)).one().block();
+    }
+
+    private CreatePortfolioDTO createValidPortfolioDTO() {
+        return new CreatePortfolioDTO("Conservative Portfolio", 500.0, 12);
+    }
+
+    private CreatePortfolioDTO createAnotherValidPortfolioDTO() {
+        return new CreatePortfolioDTO("Aggressive Portfolio", 1500.0, 36);
+    }
+}
@@ -0,0 +1,204 @@
+package investflow.services.impl;
+
+import investflow.dtos.CreatePortfolioDTO;
+import investflow.dtos.PatchPortfolioDTO;
+import investflow.dtos.PortfolioPageStampDTO;
+import investflow.dtos.PortfolioStampDTO;
+import investflow.dtos.ResponseBatchDTO;
+import investflow.dtos.ResponseBatchItemDTO;
+import investflow.dtos.ResponsePortfolioDTO;
+import investflow.dtos.ResponsePortfolioPageDTO;
+import investflow.exceptions.PortfolioAlreadyExistsException;
+import investflow.repositories.PortfolioRepository;
+import investflow.services.PortfolioService;
+import investflow.sharding.PortfolioShardRouter;
+import investflow.sharding.PortfolioShards;
+import investflow.sharding.ShardContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ShardedPortfolioServiceTests {
+
+    private static final int SHARDS = 2;
+
+    private final PortfolioService delegate = mock(PortfolioService.class);
+
+    private final PortfolioShardRouter router = new PortfolioShardRouter(SHARDS, Map.of(), 4);
+
+    private final PortfolioRepository portfolioRepository = mock(PortfolioRepository.class);
+
+    private final ShardedPortfolioService service = new ShardedPortfolioService(delegate, portfolioRepository, router);
+
+    private final List<List<ResponsePortfolioDTO>> rowsByShard = List.of(new ArrayList<>(), new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        IntStream.rangeClosed(1, 20).forEach(id -> rowsByShard.get(router.shardOfId(id)).add(portfolio(id, "p" + id)));
+
+        when(delegate.findAll(any(), anyInt())).thenAnswer(invocation -> {
+            Integer afterId = invocation.getArgument(0);
+            int size = invocation.getArgument(1);
+            List<ResponsePortfolioDTO> rows = rowsByShard.get(ShardContext.current()).stream()
+                    .filter(row -> afterId == null || row.id() > afterId)
+                    .toList();
+            List<ResponsePortfolioDTO> page = rows.stream().limit(size).toList();
+            return new ResponsePortfolioPageDTO(page, page.size() == size ? page.get(page.size() - 1).id() : null);
+        });
+        when(delegate.saveAll(anyList(), any())).thenAnswer(invocation -> {
+            List<CreatePortfolioDTO> dtos = invocation.getArgument(0);
+            IntConsumer onCommitted = invocation.getArgument(1);
+            int shard = ShardContext.current();
+            onCommitted.accept(dtos.size());
+            List<ResponseBatchItemDTO> items = IntStream.range(0, dtos.size())
+                    .mapToObj(index -> new ResponseBatchItemDTO(index, dtos.get(index).name(),
+                            portfolio(PortfolioShards.idOf(shard, 0), dtos.get(index).name()), null))
+                    .toList();
+            return new ResponseBatchDTO(items.size(), 0, items);
+        });
+        when(delegate.deleteAllById(anyCollection())).thenAnswer(invocation -> {
+            Collection<Integer> ids = invocation.getArgument(0);
+            assertThat(ids).allMatch(id -> router.shardOfId(id) == ShardContext.current());
+            return ids.size();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.close();
+    }
+
+    @Test
+    void shouldMergeShardPagesInIdOrder() {
+        ResponsePortfolioPageDTO first = service.findAll(null, 7);
+        ResponsePortfolioPageDTO second = service.findAll(first.nextCursor(), 7);
+        ResponsePortfolioPageDTO last = service.findAll(second.nextCursor(), 7);
+
+        assertThat(first.content()).extracting(ResponsePortfolioDTO::id).containsExactly(1, 2, 3, 4, 5, 6, 7);
+        assertThat(second.content()).extracting(ResponsePortfolioDTO::id).containsExactly(8, 9, 10, 11, 12, 13, 14);
+        assertThat(last.content()).extracting(ResponsePortfolioDTO::id).containsExactly(15, 16, 17, 18, 19, 20);
+        assertThat(last.nextCursor()).isNull();
+        assertThat(service.streamAll()).extracting(ResponsePortfolioDTO::id)
+                .containsExactlyElementsOf(IntStream.rangeClosed(1, 20).boxed().toList());
+    }
+
+    @Test
+    void shouldMergePageStamps_exactlyAsPagesAreMerged() {
+        when(delegate.findPageStamp(any(), anyInt())).thenAnswer(invocation -> {
+            ResponsePortfolioPageDTO page = delegate.findAll(invocation.getArgument(0), invocation.getArgument(1));
+            return new PortfolioPageStampDTO(page.content().stream()
+                    .map(row -> new PortfolioStampDTO(row.id(), row.version(), row.updatedAt()))
+                    .toList(), page.nextCursor() != null);
+        });
+
+        for (Integer after : Arrays.asList(null, 7, 14, 20)) {
+            ResponsePortfolioPageDTO page = service.findAll(after, 7);
+            PortfolioPageStampDTO stamp = service.findPageStamp(after, 7);
+
+            assertThat(stamp.content()).extracting(PortfolioStampDTO::id)
+                    .containsExactlyElementsOf(page.content().stream().map(ResponsePortfolioDTO::id).toList());
+            assertThat(stamp.more()).isEqualTo(page.nextCursor() != null);
+        }
+    }
+
+    @Test
+    void shouldSaveEachItemOnItsNamesShard_andKeepInputIndexes() {
+        List<CreatePortfolioDTO> dtos = IntStream.range(0, 10)
+                .mapToObj(index -> new CreatePortfolioDTO("Portfolio " + index, 100.0, 12))
+                .toList();
+
+        ResponseBatchDTO result = service.saveAll(dtos);
+
+        assertThat(result.succeeded()).isEqualTo(10);
+        for (int index = 0; index < dtos.size(); index++) {
+            ResponseBatchItemDTO item = result.items().get(index);
+            assertThat(item.index()).isEqualTo(index);
+            assertThat(item.name()).isEqualTo(dtos.get(index).name());
+            assertThat(item.portfolio().id() / PortfolioShards.BUCKETS).isEqualTo(router.shardOfName(item.name()));
+        }
+    }
+
+    @Test
+    void shouldReportItemsAsCommitted_onlyOnceEveryShardHasPassedThem() {
+        List<CreatePortfolioDTO> dtos = IntStream.range(0, 10)
+                .mapToObj(index -> new CreatePortfolioDTO("Portfolio " + index, 100.0, 12))
+                .toList();
+        // The last shard is joined last, so every other shard has reported by the time its failure surfaces
+        int failingShard = SHARDS - 1;
+        List<Integer> failingShardIndexes = IntStream.range(0, dtos.size())
+                .filter(index -> router.shardOfName(dtos.get(index).name()) == failingShard)
+                .boxed()
+                .toList();
+        when(delegate.saveAll(anyList(), any())).thenAnswer(invocation -> {
+            List<CreatePortfolioDTO> shardDtos = invocation.getArgument(0);
+            IntConsumer onCommitted = invocation.getArgument(1);
+            if (ShardContext.current() == failingShard) {
+                onCommitted.accept(1);
+                throw new QueryTimeoutException("shard went away");
+            }
+            onCommitted.accept(shardDtos.size());
+            return new ResponseBatchDTO(shardDtos.size(), 0, List.of());
+        });
+        List<Integer> reported = new CopyOnWriteArrayList<>();
+
+        assertThatThrownBy(() -> service.saveAll(dtos, reported::add)).isInstanceOf(QueryTimeoutException.class);
+
+        // The failing shard's second item is the first one that may not be committed
+        assertThat(reported).isNotEmpty();
+        assertThat(Collections.max(reported)).isEqualTo(failingShardIndexes.get(1));
+    }
+
+    @Test
+    void shouldDeleteEachIdOnItsOwnShard() {
+        assertThat(service.deleteAllById(IntStream.rangeClosed(1, 9).boxed().toList())).isEqualTo(9);
+
+        verify(delegate, times(SHARDS)).deleteAllById(anyCollection());
+    }
+
+    @Test
+    void shouldRejectName_whenARenameMovedItOntoAnotherShard() {
+        String renamed = "Renamed Portfolio";
+        int nameShard = router.shardOfName(renamed);
+        int otherShard = 1 - nameShard;
+        when(portfolioRepository.findExistingNames(anyCollection())).thenAnswer(invocation ->
+                ShardContext.current() == otherShard ? Set.of(renamed) : Set.of());
+
+        assertThatThrownBy(() -> service.save(new CreatePortfolioDTO("RENAMED portfolio", 100.0, 12)))
+                .isInstanceOf(PortfolioAlreadyExistsException.class);
+
+        ResponseBatchDTO result = service.saveAll(List.of(
+                new CreatePortfolioDTO(renamed, 100.0, 12), new CreatePortfolioDTO("Fresh", 100.0, 12)));
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.items().get(0).error()).isNotNull();
+        assertThat(result.items().get(1).portfolio()).isNotNull();
+
+        int idOnNameShard = IntStream.rangeClosed(1, 20).filter(id -> router.shardOfId(id) == nameShard)
+                .findFirst().orElseThrow();
+        assertThatThrownBy(() -> service.patch(idOnNameShard, new PatchPortfolioDTO(renamed, null, null, 0L)))
+                .isInstanceOf(PortfolioAlreadyExistsException.class);
+        verify(delegate, never()).save(any());
+        verify(delegate, never()).patch(anyInt(), any());
+    }
+
+    private static ResponsePortfolioDTO portfolio(int id, String name) {
+        return new ResponsePortfolioDTO(id, name, 100.0, 12, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1), 0L);
+    }
+}
@@ -0,0 +1,44 @@
+package investflow.sharding;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PortfolioIdGeneratorTests {
+
+    private final JdbcDataSource dataSource = new JdbcDataSource();
+
+    @BeforeEach
+    void setUp() {
+        dataSource.setURL("jdbc:h2:mem:id-blocks;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("drop table if exists portfolio_id_block");
+        jdbc.execute("create table portfolio_id_block (bucket int primary key, next_val bigint not null)");
+    }
+
+    @Test
+    void shouldSeedNewBucketAboveHighestIdOnAnyShard() {
+        // The highest id lives on another shard after a rebalance; the home shard may hold none
+        AtomicInteger maxIdReads = new AtomicInteger();
+        PortfolioIdGenerator generator = new PortfolioIdGenerator(dataSource, () -> {
+            maxIdReads.incrementAndGet();
+            return 6_400;
+        });
+        int bucket = PortfolioShards.bucketOf("Alpha");
+
+        int first = generator.nextId("Alpha");
+        int second = generator.nextId("Alpha");
+
+        assertThat(first).isEqualTo(PortfolioShards.idOf(6_400 / PortfolioShards.BUCKETS + 1, bucket));
+        assertThat(second).isEqualTo(first + PortfolioShards.BUCKETS);
+        assertThat(maxIdReads).hasValue(1);
+        assertThat(new JdbcTemplate(dataSource).queryForObject(
+                "select next_val from portfolio_id_block where bucket = ?", Long.class, bucket))
+                .isEqualTo(6_400 / PortfolioShards.BUCKETS + 1 + PortfolioIdGenerator.BLOCK_SIZE);
+    }
+}
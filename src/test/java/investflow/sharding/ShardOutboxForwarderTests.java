@@ -0,0 +1,83 @@
+package investflow.sharding;
+
+import investflow.models.PortfolioOutboxEvent;
+import investflow.outbox.PortfolioChangeType;
+import investflow.repositories.PortfolioOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ShardOutboxForwarderTests {
+
+    @Mock
+    private PortfolioOutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final PortfolioShardRouter router = new PortfolioShardRouter(2, Map.of(), 1);
+
+    @AfterEach
+    void tearDown() {
+        router.close();
+    }
+
+    @Test
+    void shouldCopyEventsHome_beforeDeletingThemFromTheirShard() {
+        PortfolioOutboxEvent event = new PortfolioOutboxEvent(7L, null, 3, PortfolioChangeType.CREATED, "{}",
+                Instant.parse("2026-01-01T00:00:00Z"), null);
+        List<Integer> shardsSeen = new ArrayList<>();
+        when(outboxRepository.findUnsequencedForUpdate(Limit.of(10))).thenAnswer(invocation -> {
+            shardsSeen.add(ShardContext.current());
+            return List.of(event);
+        });
+        when(outboxRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            shardsSeen.add(ShardContext.current());
+            return invocation.getArgument(0);
+        });
+
+        int forwarded = new ShardOutboxForwarder(outboxRepository, router, transactionManager, 10).forwardBatch(1);
+
+        assertThat(forwarded).isEqualTo(1);
+        assertThat(shardsSeen).containsExactly(1, ShardContext.HOME_SHARD);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PortfolioOutboxEvent>> copies = ArgumentCaptor.forClass(List.class);
+        InOrder inOrder = inOrder(outboxRepository);
+        inOrder.verify(outboxRepository).saveAll(copies.capture());
+        inOrder.verify(outboxRepository).deleteAllInBatch(List.of(event));
+        assertThat(copies.getValue()).singleElement().satisfies(copy -> {
+            assertThat(copy.getId()).isNull();
+            assertThat(copy.getPortfolioId()).isEqualTo(3);
+            assertThat(copy.getOccurredAt()).isEqualTo(event.getOccurredAt());
+        });
+    }
+
+    @Test
+    void shouldLeaveEventsOnTheShard_whenTheHomeCopyFails() {
+        PortfolioOutboxEvent event = new PortfolioOutboxEvent(7L, null, 3, PortfolioChangeType.DELETED, "{}",
+                Instant.now(), null);
+        when(outboxRepository.findUnsequencedForUpdate(Limit.of(10))).thenReturn(List.of(event));
+        when(outboxRepository.saveAll(anyList())).thenThrow(new IllegalStateException("home shard down"));
+
+        new ShardOutboxForwarder(outboxRepository, router, transactionManager, 10).forward();
+
+        verify(outboxRepository, never()).deleteAllInBatch(anyList());
+    }
+}
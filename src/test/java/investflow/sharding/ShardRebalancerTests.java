@@ -0,0 +1,66 @@
+package investflow.sharding;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ShardRebalancerTests {
+
+    private static final int ROWS = 2_500;
+
+    private final PortfolioShardRouter router = new PortfolioShardRouter(2, Map.of(), 2);
+
+    private ShardRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ShardRoutingDataSource(List.of(database("shard-0"), database("shard-1")));
+        new JdbcTemplate(dataSource.shard(0)).batchUpdate(ShardRebalancer.INSERT, IntStream.rangeClosed(1, ROWS)
+                .mapToObj(id -> new Object[] {id, "Portfolio " + id, 100.0, 12,
+                        LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1), 0L})
+                .toList());
+    }
+
+    @AfterEach
+    void tearDown() {
+        router.close();
+    }
+
+    @Test
+    void shouldMoveRowsToTheShardOfTheirBucket() {
+        ShardRebalancer rebalancer = new ShardRebalancer(dataSource, router);
+
+        assertThat(rebalancer.rebalance()).isEqualTo(ROWS / 2);
+
+        for (int shard = 0; shard < dataSource.shardCount(); shard++) {
+            List<Integer> ids = new JdbcTemplate(dataSource.shard(shard))
+                    .queryForList("select id from portfolio order by id", Integer.class);
+            int expectedShard = shard;
+            assertThat(ids).hasSize(ROWS / 2).allMatch(id -> router.shardOfId(id) == expectedShard);
+        }
+        assertThat(new JdbcTemplate(dataSource.shard(1)).queryForObject(
+                "select name from portfolio where id = 1", String.class)).isEqualTo("Portfolio 1");
+        assertThat(rebalancer.rebalance()).isZero();
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:rebalance-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("drop table if exists portfolio");
+        jdbc.execute("create table portfolio (id int primary key, name varchar(50) not null unique, "
+                + "monthly_amount double, duration_months int not null, created_at date, updated_at date, "
+                + "version bigint not null)");
+        return dataSource;
+    }
+}